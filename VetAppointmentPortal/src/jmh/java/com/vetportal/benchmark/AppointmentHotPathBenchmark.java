@@ -0,0 +1,117 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AppointmentDAO calls every screen makes, on a generated table of {@code appointments} rows:
+ * a primary key lookup, an attribute search for one provider's day, a whole day's schedule,
+ * the double-booking check and an insert.
+ * <p>
+ * Run a different size with {@code -p appointments=250000}. Compare the numbers against a run on the
+ * previous release before upgrading a dependency or changing the schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class AppointmentHotPathBenchmark {
+
+    // Inserts go far past the generated schedule so they never collide with it
+    private static final LocalDate FIRST_INSERT_DATE = LocalDate.of(2100, 1, 1);
+
+    @Param({"1000", "100000"})
+    public int appointments;
+
+    private BenchmarkDatabase database;
+    private List<Integer> vets;
+    private int bookedDays;
+    private Employee insertProvider;
+    private Pet insertPet;
+    private int inserts;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+        vets = database.insertSyntheticAppointments(appointments);
+        bookedDays = Math.max(1, appointments / vets.size() / BenchmarkDatabase.SLOTS_PER_DAY);
+
+        insertProvider = database.employeeDAO.findByID(vets.get(0)).orElseThrow();
+        insertPet = database.petDAO.findByID(1).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Appointment> findByID() {
+        return database.appointmentDAO.findByID(1 + random.nextInt(appointments));
+    }
+
+    @Benchmark
+    public List<Appointment> findAllByAttributes() {
+        return database.appointmentDAO.findAllByAttributes(Map.of(
+                "provider", String.valueOf(randomVet()),
+                "date", AppointmentDAO.formatDate(randomDate())));
+    }
+
+    @Benchmark
+    public List<Appointment> findAllAppointmentsByDate() {
+        return database.appointmentDAO.findAllAppointmentsByDate(randomDate());
+    }
+
+    @Benchmark
+    public boolean isProviderSlotTaken() {
+        LocalTime time = BenchmarkDatabase.slotTime(random.nextInt(BenchmarkDatabase.SLOTS_PER_DAY));
+        return database.appointmentDAO.isProviderSlotTaken(randomVet(), randomDate(), time, null);
+    }
+
+    @Benchmark
+    public boolean create() {
+        int n = inserts++;
+        Appointment appointment = new Appointment(null,
+                FIRST_INSERT_DATE.plusDays(n / BenchmarkDatabase.SLOTS_PER_DAY),
+                BenchmarkDatabase.slotTime(n % BenchmarkDatabase.SLOTS_PER_DAY),
+                insertProvider, AppointmentType.CHECKUP, insertPet, insertPet.getOwner());
+        return database.appointmentDAO.create(appointment);
+    }
+
+    private int randomVet() {
+        return vets.get(random.nextInt(vets.size()));
+    }
+
+    private LocalDate randomDate() {
+        return BenchmarkDatabase.SYNTHETIC_START_DATE.plusDays(random.nextInt(bookedDays));
+    }
+}
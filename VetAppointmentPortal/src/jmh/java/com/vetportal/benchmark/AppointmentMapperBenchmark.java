@@ -0,0 +1,121 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.mapper.AppointmentMapper;
+import com.vetportal.mapper.AppointmentWithJoinMapper;
+import com.vetportal.mapper.EntityMapper;
+import com.vetportal.mapper.IdentityMap;
+import com.vetportal.model.Appointment;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps {@code rows} appointments with each of the two appointment mappers, one unit of work per call
+ * as the services do.
+ * <p>
+ * {@code appointmentMapper} reads the Appointment table and looks up each row's provider and pet
+ * (which the identity map answers after the first time they are seen); {@code joinMapper} reads
+ * AppointmentDetailView, where they arrive in the same row. The {@code read*} cases step through the same
+ * rows without mapping them, so the difference is the cost of the mapping itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class AppointmentMapperBenchmark {
+
+    private static final String TABLE_SQL = "SELECT * FROM Appointment ORDER BY appointment_id LIMIT ?";
+    private static final String VIEW_SQL = "SELECT * FROM AppointmentDetailView ORDER BY appointment_id LIMIT ?";
+
+    @Param({"10000"})
+    public int appointments;
+
+    @Param({"100"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private AppointmentMapper appointmentMapper;
+    private AppointmentWithJoinMapper joinMapper;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+        database.insertSyntheticAppointments(appointments);
+
+        appointmentMapper = new AppointmentMapper(database.employeeDAO, database.petDAO);
+        joinMapper = new AppointmentWithJoinMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public int readTableRows() throws SQLException {
+        return readOnly(TABLE_SQL);
+    }
+
+    @Benchmark
+    public void appointmentMapper(Blackhole blackhole) throws SQLException {
+        map(TABLE_SQL, appointmentMapper, blackhole);
+    }
+
+    @Benchmark
+    public int readViewRows() throws SQLException {
+        return readOnly(VIEW_SQL);
+    }
+
+    @Benchmark
+    public void joinMapper(Blackhole blackhole) throws SQLException {
+        map(VIEW_SQL, joinMapper, blackhole);
+    }
+
+    private int readOnly(String sql) throws SQLException {
+        int sum = 0;
+        try (Connection connection = database.getPool().getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, rows);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    sum += rs.getInt("appointment_id");
+                }
+            }
+        }
+        return sum;
+    }
+
+    private void map(String sql, EntityMapper<Appointment> mapper, Blackhole blackhole) throws SQLException {
+        try (IdentityMap.Scope unitOfWork = IdentityMap.open();
+             Connection connection = database.getPool().getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, rows);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(mapper.mapResultSetToEntity(rs));
+                }
+            }
+        }
+    }
+}
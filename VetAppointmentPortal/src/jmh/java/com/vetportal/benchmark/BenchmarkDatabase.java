@@ -0,0 +1,133 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.ConnectionProfile;
+import com.vetportal.util.DatabaseInitializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A throwaway copy of the application database for benchmarks.
+ * Creates the schema and seed data in a temp file so benchmarks never touch vetappointmentportal.db,
+ * and wires up the DAOs against a pool opened on it.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+
+    public static final LocalDate SYNTHETIC_START_DATE = LocalDate.of(2030, 1, 1);
+    public static final int SLOTS_PER_DAY = 20;
+
+    private final Path file;
+    private final ConnectionPool pool;
+
+    public final CustomerDAO customerDAO;
+    public final EmployeeDAO employeeDAO;
+    public final PetDAO petDAO;
+    public final AppointmentDAO appointmentDAO;
+
+    /**
+     * Creates and seeds a new database.
+     *
+     * @param profile the PRAGMA profile the pool applies to its connections
+     * @throws SQLException if the database cannot be created
+     * @throws IOException if the temp file or the SQL scripts cannot be read
+     */
+    public BenchmarkDatabase(ConnectionProfile profile) throws SQLException, IOException {
+        file = Files.createTempFile("vetportal-bench", ".db");
+        pool = new ConnectionPool("jdbc:sqlite:" + file, ConnectionPool.DEFAULT_MAX_READERS,
+                ConnectionPool.DEFAULT_BORROW_TIMEOUT_MILLIS, profile);
+
+        try (Connection connection = pool.getWriteConnection()) {
+            DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+        }
+
+        customerDAO = new CustomerDAO(pool);
+        employeeDAO = new EmployeeDAO(pool);
+        petDAO = new PetDAO(pool, customerDAO);
+        appointmentDAO = new AppointmentDAO(pool, employeeDAO, petDAO);
+    }
+
+    /**
+     * Books {@code count} extra checkups spread over every veterinarian in the seed data.
+     * Each vet is booked solid, 20 half-hour slots a day from 08:00, on consecutive days
+     * starting at {@link #SYNTHETIC_START_DATE}.
+     *
+     * @param count the number of appointments to insert
+     * @return the ids of the veterinarians that were booked
+     * @throws SQLException if the inserts fail
+     */
+    public List<Integer> insertSyntheticAppointments(int count) throws SQLException {
+        List<Integer> vets = new ArrayList<>();
+        List<Integer> pets = new ArrayList<>();
+
+        try (Connection connection = pool.getWriteConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                ResultSet rs = statement.executeQuery("SELECT employee_id FROM Employee WHERE role = 'VETERINARIAN'");
+                while (rs.next()) {
+                    vets.add(rs.getInt(1));
+                }
+                rs = statement.executeQuery("SELECT pet_id FROM Pet");
+                while (rs.next()) {
+                    pets.add(rs.getInt(1));
+                }
+            }
+
+            String sql = "INSERT INTO Appointment (appointment_date, time, provider, appointment_type, pet) "
+                    + "VALUES (?, ?, ?, 'CHECKUP', ?)";
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < count; i++) {
+                    int slotIndex = i / vets.size();
+                    statement.setString(1, AppointmentDAO.formatDate(SYNTHETIC_START_DATE.plusDays(slotIndex / SLOTS_PER_DAY)));
+                    statement.setString(2, AppointmentDAO.formatTime(slotTime(slotIndex % SLOTS_PER_DAY)));
+                    statement.setInt(3, vets.get(i % vets.size()));
+                    statement.setInt(4, pets.get(i % pets.size()));
+                    statement.addBatch();
+
+                    if ((i + 1) % 10_000 == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        return vets;
+    }
+
+    /**
+     * @param slot a slot number from 0 to {@link #SLOTS_PER_DAY} - 1
+     * @return the start time of that half-hour slot
+     */
+    public static LocalTime slotTime(int slot) {
+        return LocalTime.of(8, 0).plusMinutes(30L * slot);
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + "-wal"));
+        Files.deleteIfExists(Path.of(file + "-shm"));
+    }
+}
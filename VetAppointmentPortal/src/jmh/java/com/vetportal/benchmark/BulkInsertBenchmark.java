@@ -0,0 +1,77 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.model.Customer;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importing {@code rows} customers one create() at a time, each in its own transaction, against
+ * a single createAll() call that sends them in JDBC batches inside one transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private int nextCustomer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public int createOneByOne() {
+        int created = 0;
+        for (Customer customer : nextCustomers()) {
+            if (database.customerDAO.create(customer)) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    @Benchmark
+    public List<Integer> createAll() {
+        return database.customerDAO.createAll(nextCustomers());
+    }
+
+    private List<Customer> nextCustomers() {
+        List<Customer> customers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int n = nextCustomer++;
+            customers.add(new Customer(null, "Bulk", "Customer" + n, n + " Bulk St",
+                    "bulk-" + n, "bulk" + n + "@example.com"));
+        }
+        return customers;
+    }
+}
@@ -0,0 +1,63 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.model.Customer;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row BaseDAO operations through the connection pool: a primary key lookup and an insert.
+ * Measures the per-call overhead of building the SQL and preparing the statement as much as
+ * the work SQLite does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class DaoCrudBenchmark {
+
+    private BenchmarkDatabase database;
+    private int customerCount;
+    private int nextCustomer;
+    private int lookups;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+        customerCount = database.customerDAO.findAll().size();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> findByID() {
+        return database.customerDAO.findByID(1 + (lookups++ % customerCount));
+    }
+
+    @Benchmark
+    public boolean create() {
+        int n = nextCustomer++;
+        Customer customer = new Customer(null, "Bench", "Customer" + n, n + " Bench St",
+                "bench-" + n, "bench" + n + "@example.com");
+        return database.customerDAO.create(customer);
+    }
+}
@@ -0,0 +1,103 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provider double-booking check on a table of a million appointments.
+ * <p>
+ * {@code dateFunction} is the query AppointmentDAO.isProviderSlotTaken used to run, with the date
+ * column wrapped in date(), which can only use the unique index to find the provider's rows and then
+ * has to test every one of them. {@code canonicalColumns} is the current DAO method, which compares the
+ * raw stored date and time and seeks straight to the slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SlotCheckBenchmark {
+
+    private static final String DATE_FUNCTION_SQL = """
+            SELECT 1 FROM Appointment
+            WHERE provider = ? AND date(appointment_date) = ? AND time = ?
+            AND appointment_id != ?
+            LIMIT 1
+            """;
+
+    @Param({"1000000"})
+    public int appointments;
+
+    private BenchmarkDatabase database;
+    private List<Integer> vets;
+    private int bookedDays;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+        vets = database.insertSyntheticAppointments(appointments);
+        bookedDays = appointments / vets.size() / BenchmarkDatabase.SLOTS_PER_DAY;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean dateFunction() throws SQLException {
+        try (Connection connection = database.getPool().getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(DATE_FUNCTION_SQL)) {
+            statement.setInt(1, randomVet());
+            statement.setString(2, AppointmentDAO.formatDate(randomDate()));
+            statement.setString(3, AppointmentDAO.formatTime(randomTime()));
+            statement.setInt(4, 0);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean canonicalColumns() {
+        return database.appointmentDAO.isProviderSlotTaken(randomVet(), randomDate(), randomTime(), null);
+    }
+
+    private int randomVet() {
+        return vets.get(random.nextInt(vets.size()));
+    }
+
+    private LocalDate randomDate() {
+        return BenchmarkDatabase.SYNTHETIC_START_DATE.plusDays(random.nextInt(bookedDays));
+    }
+
+    private LocalTime randomTime() {
+        return BenchmarkDatabase.slotTime(random.nextInt(BenchmarkDatabase.SLOTS_PER_DAY));
+    }
+}
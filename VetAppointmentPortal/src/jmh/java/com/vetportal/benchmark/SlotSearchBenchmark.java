@@ -0,0 +1,76 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.AvailableSlot;
+import com.vetportal.service.EmployeeService;
+import com.vetportal.service.SlotSearchService;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-available search across all veterinarians on a table of a million appointments
+ * (about fifteen years of fully booked days).
+ * <p>
+ * {@code fullyBookedMonth} starts on a random day inside the booked history, so the whole 30-day
+ * window has to be read and nothing is found. {@code nextFreeAfterHistory} starts two days before
+ * the booked history ends and returns the first five free slots after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SlotSearchBenchmark {
+
+    @Param({"1000000"})
+    public int appointments;
+
+    private BenchmarkDatabase database;
+    private SlotSearchService slotSearchService;
+    private int bookedDays;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+        List<Integer> vets = database.insertSyntheticAppointments(appointments);
+        bookedDays = appointments / vets.size() / BenchmarkDatabase.SLOTS_PER_DAY;
+        slotSearchService = new SlotSearchService(database.getPool(), new EmployeeService(database.getPool()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public List<AvailableSlot> fullyBookedMonth() {
+        LocalDate from = BenchmarkDatabase.SYNTHETIC_START_DATE.plusDays(random.nextInt(bookedDays - 30));
+        return slotSearchService.findNextAvailable(AppointmentType.SURGERY, from.atStartOfDay(), 5).getData();
+    }
+
+    @Benchmark
+    public List<AvailableSlot> nextFreeAfterHistory() {
+        LocalDate from = BenchmarkDatabase.SYNTHETIC_START_DATE.plusDays(bookedDays - 2);
+        return slotSearchService.findNextAvailable(AppointmentType.SURGERY, from.atStartOfDay(), 5).getData();
+    }
+}
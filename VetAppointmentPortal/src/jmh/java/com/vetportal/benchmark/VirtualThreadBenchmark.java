@@ -0,0 +1,108 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
+import com.vetportal.service.CustomerService;
+import com.vetportal.service.EmployeeService;
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of concurrent customer, pet, employee and appointment lookups run through {@link AsyncServices},
+ * on a fixed pool of platform threads (the default) versus one virtual thread per call.
+ * <p>
+ * Both draw from the same connection pool, which caps the queries actually running at
+ * {@link ConnectionPool#DEFAULT_MAX_READERS}. The virtual case needs Java 21: run it with
+ * {@code -Pbenchmark,java21} on a JDK 21, otherwise its setup fails and only the platform case reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final LocalDate SEEDED_DATE = LocalDate.of(2025, 5, 10);
+    private static final int CUSTOMERS = 15;
+    private static final int EMPLOYEES = 15;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"16", "256"})
+    public int lookups;
+
+    private BenchmarkDatabase database;
+    private AsyncServices asyncServices;
+    private CustomerService customerService;
+    private EmployeeService employeeService;
+    private AppointmentService appointmentService;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new BenchmarkDatabase(ConnectionProfile.defaults());
+        ConnectionPool pool = database.getPool();
+        customerService = new CustomerService(pool);
+        employeeService = new EmployeeService(pool);
+        appointmentService = new AppointmentService(pool);
+
+        // The same sizing ServiceManager uses for the fixed pool
+        asyncServices = "virtual".equals(executor)
+                ? new AsyncServices(AsyncServices.newVirtualThreadExecutor(), Runnable::run)
+                : new AsyncServices(Executors.newFixedThreadPool(ConnectionPool.DEFAULT_MAX_READERS), Runnable::run);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        asyncServices.close();
+        database.close();
+    }
+
+    @Benchmark
+    public void concurrentLookups(Blackhole blackhole) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[lookups];
+        for (int i = 0; i < lookups; i++) {
+            calls[i] = submitLookup(i);
+        }
+        for (CompletableFuture<?> call : calls) {
+            blackhole.consume(call.join());
+        }
+    }
+
+    private CompletableFuture<?> submitLookup(int i) {
+        int customerId = i % CUSTOMERS + 1;
+        switch (i % 4) {
+            case 0:
+                return asyncServices.supply(() -> customerService.findCustomerByAttributes(
+                        Map.of("phone", String.format("555-%04d", customerId))));
+            case 1:
+                return asyncServices.supply(() -> customerService.findPetsByCustomerId(customerId));
+            case 2:
+                return asyncServices.supply(() -> employeeService.findEmployeeByID(i % EMPLOYEES + 1));
+            default:
+                return asyncServices.supply(() -> appointmentService.findAppointmentsByDate(SEEDED_DATE));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.vetportal.benchmark;
+
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.util.ConnectionProfile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads of AppointmentDetailView running while another thread books appointments in a loop.
+ * <p>
+ * The DELETE case uses SQLite's stock settings (rollback journal, synchronous=FULL), the WAL case
+ * uses {@link ConnectionProfile#defaults()}. With a rollback journal every commit briefly locks
+ * readers out of the file; in WAL mode readers keep going against the last committed snapshot.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class WalConcurrencyBenchmark {
+
+    private static final LocalDate SEEDED_DATE = LocalDate.of(2025, 5, 12);
+    private static final LocalDate FIRST_BOOKING_DATE = LocalDate.of(2030, 1, 1);
+    private static final int SLOTS_PER_DAY = 96; // every quarter hour
+
+    @Param({"DELETE", "WAL"})
+    public String journalMode;
+
+    private BenchmarkDatabase database;
+    private Employee veterinarian;
+    private Pet pet;
+    private final AtomicInteger bookings = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ConnectionProfile profile = "WAL".equals(journalMode)
+                ? ConnectionProfile.defaults()
+                : ConnectionProfile.defaults()
+                        .setJournalMode("DELETE")
+                        .setSynchronous("FULL")
+                        .setCacheSizeKib(2_000)
+                        .setMmapSizeBytes(0)
+                        .setTempStore("DEFAULT");
+        database = new BenchmarkDatabase(profile);
+
+        veterinarian = database.employeeDAO.findByID(4).orElseThrow();
+        pet = database.petDAO.findByID(1).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public List<Appointment> readDay() {
+        return database.appointmentDAO.findAllAppointmentsByDate(SEEDED_DATE);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public boolean bookAppointment() {
+        // Every booking gets its own slot so the unique (provider, date, time) constraint never fires
+        int n = bookings.getAndIncrement();
+        LocalDate date = FIRST_BOOKING_DATE.plusDays(n / SLOTS_PER_DAY);
+        LocalTime time = LocalTime.MIDNIGHT.plusMinutes(15L * (n % SLOTS_PER_DAY));
+
+        Appointment appointment = new Appointment(null, date, time, veterinarian, AppointmentType.CHECKUP, pet, null);
+        return database.appointmentDAO.create(appointment);
+    }
+}
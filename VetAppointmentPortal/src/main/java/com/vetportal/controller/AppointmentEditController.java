@@ -1,10 +1,12 @@
 package com.vetportal.controller;
 
+import com.vetportal.dto.LookupStatus;
 import com.vetportal.dto.ServiceResponse;
 import com.vetportal.model.Appointment;
 import com.vetportal.model.Employee;
 import com.vetportal.model.Pet;
 import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
 import com.vetportal.service.CustomerService;
 import com.vetportal.service.EmployeeService;
 import com.vetportal.service.ServiceManager;
@@ -37,10 +39,12 @@ public class AppointmentEditController implements Initializable {
     @FXML private ComboBox<String> timeComboBox;
     @FXML private ComboBox<Pet> petComboBox;
     @FXML private ComboBox<Employee> providerComboBox;
+    @FXML private Button saveButton;
 
     private AppointmentService appointmentService;
     private EmployeeService employeeService;
     private CustomerService customerService;
+    private AsyncServices asyncServices;
     private Appointment appointment;
     private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -54,6 +58,7 @@ public class AppointmentEditController implements Initializable {
         appointmentService = serviceManager.getAppointmentService();
         employeeService = serviceManager.getEmployeeService();
         customerService = serviceManager.getCustomerService();
+        asyncServices = serviceManager.getAsyncServices();
 
         // Set up time combo box with appointment time slots (30 minute increments)
         setupTimeComboBox();
@@ -95,7 +100,13 @@ public class AppointmentEditController implements Initializable {
      * Loads all providers into the provider combo box.
      */
     private void loadProviders() {
-        ServiceResponse<List<Employee>> response = employeeService.getAllEmployees();
+        asyncServices.call(employeeService::getAllEmployees, this::showProviders);
+    }
+
+    /**
+     * Fills the provider combo box and selects the appointment's provider.
+     */
+    private void showProviders(ServiceResponse<List<Employee>> response) {
         if (response.isSuccess()) {
             providerComboBox.setItems(FXCollections.observableArrayList(response.getData()));
             providerComboBox.setConverter(new StringConverter<Employee>() {
@@ -112,6 +123,14 @@ public class AppointmentEditController implements Initializable {
                     return null; // Only needed because abstract
                 }
             });
+
+            // Select the correct provider
+            for (Employee provider : providerComboBox.getItems()) {
+                if (provider.getID().equals(appointment.getProvider().getID())) {
+                    providerComboBox.setValue(provider);
+                    break;
+                }
+            }
         } else {
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load providers", response.getMessage());
         }
@@ -124,28 +143,41 @@ public class AppointmentEditController implements Initializable {
         if (appointment.getPet() != null && appointment.getPet().getOwner() != null) {
             int customerId = appointment.getPet().getOwner().getID(); // Pull customerid through petid to get all pets
 
-            ServiceResponse<List<Pet>> response = customerService.findPetsByCustomerId(customerId);
+            asyncServices.call(() -> customerService.findPetsByCustomerId(customerId), this::showPets);
+        }
+    }
 
-            if (response.isSuccess()) {
-                ObservableList<Pet> pets = FXCollections.observableArrayList(response.getData());
-                petComboBox.setItems(pets);
-                petComboBox.setConverter(new StringConverter<Pet>() {
-                    @Override
-                    public String toString(Pet pet) {
-                        if (pet == null) {
-                            return null;
-                        }
-                        return pet.getName() + " (" + pet.getSpecies() + ", " + pet.getBreed() + ")";
+    /**
+     * Fills the pet combo box and selects the appointment's pet.
+     */
+    private void showPets(ServiceResponse<List<Pet>> response) {
+        if (response.isSuccess()) {
+            ObservableList<Pet> pets = FXCollections.observableArrayList(response.getData());
+            petComboBox.setItems(pets);
+            petComboBox.setConverter(new StringConverter<Pet>() {
+                @Override
+                public String toString(Pet pet) {
+                    if (pet == null) {
+                        return null;
                     }
+                    return pet.getName() + " (" + pet.getSpecies() + ", " + pet.getBreed() + ")";
+                }
 
-                    @Override
-                    public Pet fromString(String string) {
-                        return null; // Only needed because abstract
-                    }
-                });
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load pets", response.getMessage());
+                @Override
+                public Pet fromString(String string) {
+                    return null; // Only needed because abstract
+                }
+            });
+
+            // Select the correct pet
+            for (Pet pet : petComboBox.getItems()) {
+                if (pet.getID().equals(appointment.getPet().getID())) {
+                    petComboBox.setValue(pet);
+                    break;
+                }
             }
+        } else {
+            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load pets", response.getMessage());
         }
     }
 
@@ -156,22 +188,7 @@ public class AppointmentEditController implements Initializable {
         appointmentIdField.setText(String.valueOf(appointment.getID()));
         datePicker.setValue(appointment.getDate());
         timeComboBox.setValue(appointment.getTime().format(timeFormatter));
-
-        // Select the correct pet
-        for (Pet pet : petComboBox.getItems()) {
-            if (pet.getID().equals(appointment.getPet().getID())) {
-                petComboBox.setValue(pet);
-                break;
-            }
-        }
-
-        // Select the correct provider
-        for (Employee provider : providerComboBox.getItems()) {
-            if (provider.getID().equals(appointment.getProvider().getID())) {
-                providerComboBox.setValue(provider);
-                break;
-            }
-        }
+        // The pet and provider are selected once their lists have loaded
     }
 
     /**
@@ -190,12 +207,39 @@ public class AppointmentEditController implements Initializable {
         Pet pet = petComboBox.getValue();
         Employee provider = providerComboBox.getValue();
 
+        // The slot check and the update run in the background; the button stays disabled until they are over
+        // so the appointment is not saved twice
+        saveButton.setDisable(true);
+        asyncServices.call(() -> saveAppointment(date, time, pet, provider), response -> {
+            saveButton.setDisable(false);
+            if (response.isSuccess()) {
+                showAlert(Alert.AlertType.INFORMATION, "Success",
+                        "Appointment Updated",
+                        "The appointment has been successfully updated.");
+
+                // Return to the appointment search view
+                FXUtil.setPage("/fxml/AppointmentSearch.fxml");
+            } else if (response.getStatus() == LookupStatus.CONFLICT) {
+                showAlert(Alert.AlertType.ERROR, "Scheduling Conflict",
+                        "Provider Already Booked",
+                        response.getMessage());
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to Update Appointment",
+                        response.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Moves the appointment to the given slot unless the provider is already booked then.
+     *
+     * @return the updated appointment, or a CONFLICT response if the slot is taken
+     */
+    private ServiceResponse<Appointment> saveAppointment(LocalDate date, LocalTime time, Pet pet, Employee provider) {
         // Check if the provider is already booked at this time (excluding this appointment)
         if (appointmentService.isProviderSlotTaken(provider.getID(), date, time, appointment.getID())) {
-            showAlert(Alert.AlertType.ERROR, "Scheduling Conflict",
-                    "Provider Already Booked",
-                    "The selected provider already has an appointment at this time.");
-            return;
+            return ServiceResponse.conflict("The selected provider already has an appointment at this time.");
         }
 
         // Update appointment object
@@ -205,19 +249,7 @@ public class AppointmentEditController implements Initializable {
         appointment.setProvider(provider);
 
         // Save the updated appointment
-        ServiceResponse<Appointment> response = appointmentService.updateAppointment(appointment);
-        if (response.isSuccess()) {
-            showAlert(Alert.AlertType.INFORMATION, "Success",
-                    "Appointment Updated",
-                    "The appointment has been successfully updated.");
-
-            // Return to the appointment search view
-            FXUtil.setPage("/fxml/AppointmentSearch.fxml");
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Error",
-                    "Failed to Update Appointment",
-                    response.getMessage());
-        }
+        return appointmentService.updateAppointment(appointment);
     }
 
     /**
@@ -1,12 +1,15 @@
 package com.vetportal.controller;
 
+import com.vetportal.dto.Page;
 import com.vetportal.dto.ServiceResponse;
 import com.vetportal.model.Appointment;
 import com.vetportal.model.Employee;
 import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
 import com.vetportal.service.EmployeeService;
 import com.vetportal.service.ServiceManager;
 import com.vetportal.util.FXUtil;
+import com.vetportal.util.PagedTableLoader;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
@@ -19,6 +22,8 @@ import javafx.scene.control.*;
 import java.net.URL;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import javafx.util.StringConverter;
 import com.vetportal.dto.LookupStatus;
 
@@ -43,7 +48,10 @@ public class AppointmentSearchController implements Initializable {
 
     private AppointmentService appointmentService;
     private EmployeeService employeeService;
+    private AsyncServices asyncServices;
     private ObservableList<Appointment> appointmentList;
+    private PagedTableLoader<Appointment> appointmentPages;
+    private CompletableFuture<Void> searchLoad;
 
     /**
      * Initializes the controller class.
@@ -54,7 +62,11 @@ public class AppointmentSearchController implements Initializable {
         ServiceManager serviceManager = ServiceManager.getInstance();
         appointmentService = serviceManager.getAppointmentService();
         employeeService = serviceManager.getEmployeeService();
+        asyncServices = serviceManager.getAsyncServices();
         appointmentList = FXCollections.observableArrayList();
+        appointmentPages = new PagedTableLoader<>(appointmentTable, appointmentService::findAppointmentsPage,
+                Page.DEFAULT_SIZE, asyncServices, response -> showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to load appointments", response.getMessage()));
 
         // Initialize table columns
         idColumn.setCellValueFactory(cellData ->
@@ -94,7 +106,13 @@ public class AppointmentSearchController implements Initializable {
      * Loads all providers into the provider combo box.
      */
     private void loadProviders() {
-        ServiceResponse<List<Employee>> response = employeeService.getAllEmployees();
+        asyncServices.call(employeeService::getAllEmployees, this::showProviders);
+    }
+
+    /**
+     * Fills the provider combo box with the loaded providers.
+     */
+    private void showProviders(ServiceResponse<List<Employee>> response) {
         if (response.isSuccess()) {
             providerComboBox.setItems(FXCollections.observableArrayList(response.getData()));
             providerComboBox.setConverter(new StringConverter<Employee>() {
@@ -117,23 +135,11 @@ public class AppointmentSearchController implements Initializable {
     }
 
     /**
-     * Loads all appointments into the table.
+     * Loads the first page of appointments into the table; later pages load as the table is scrolled.
      */
     private void loadAllAppointments() {
-        ServiceResponse<List<Appointment>> response = appointmentService.getAllAppointments();
-        if (response.isSuccess()) {
-            appointmentList.clear();
-            appointmentList.addAll(response.getData());
-            appointmentTable.setItems(appointmentList);
-        } else {
-            // If no appointments found, clear the table but don't show error
-            if (response.getStatus() == LookupStatus.NOT_FOUND) {
-                appointmentList.clear();
-                appointmentTable.setItems(appointmentList);
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load appointments", response.getMessage());
-            }
-        }
+        cancelSearch();
+        appointmentPages.reload();
     }
 
     /**
@@ -171,24 +177,39 @@ public class AppointmentSearchController implements Initializable {
      * Searches appointments by date.
      */
     private void searchByDate(LocalDate date) {
-        ServiceResponse<List<Appointment>> response = appointmentService.findAppointmentsByDate(date);
-        handleSearchResponse(response, "date");
+        search(() -> appointmentService.findAppointmentsByDate(date), "date");
     }
 
     /**
      * Searches appointments by provider ID.
      */
     private void searchByProvider(int providerId) {
-        ServiceResponse<List<Appointment>> response = appointmentService.findAppointmentsByProviderId(providerId);
-        handleSearchResponse(response, "provider");
+        search(() -> appointmentService.findAppointmentsByProviderId(providerId), "provider");
     }
 
     /**
      * Searches appointments by pet ID.
      */
     private void searchByPet(int petId) {
-        ServiceResponse<List<Appointment>> response = appointmentService.findAppointmentsByPetId(petId);
-        handleSearchResponse(response, "pet");
+        search(() -> appointmentService.findAppointmentsByPetId(petId), "pet");
+    }
+
+    /**
+     * Runs a search in the background, replacing any search still running.
+     */
+    private void search(Supplier<ServiceResponse<List<Appointment>>> query, String searchType) {
+        cancelSearch();
+        searchLoad = asyncServices.call(query, response -> handleSearchResponse(response, searchType));
+    }
+
+    /**
+     * Drops the results of a search still running, so they cannot replace newer ones.
+     */
+    private void cancelSearch() {
+        if (searchLoad != null) {
+            searchLoad.cancel(false);
+            searchLoad = null;
+        }
     }
 
     /**
@@ -262,17 +283,21 @@ public class AppointmentSearchController implements Initializable {
 
             // Delete the appointment
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                ServiceResponse<Boolean> response = appointmentService.deleteAppointment(selectedAppointment.getID());
-                if (response.isSuccess() && response.getData()) {
-                    appointmentList.remove(selectedAppointment);
-                    showAlert(Alert.AlertType.INFORMATION, "Success",
-                            "Appointment Deleted",
-                            "The appointment has been successfully deleted.");
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error",
-                            "Failed to Delete Appointment",
-                            response.getMessage());
-                }
+                // Disabled until the delete is over so it is not sent twice
+                deleteButton.setDisable(true);
+                asyncServices.call(() -> appointmentService.deleteAppointment(selectedAppointment.getID()), response -> {
+                    deleteButton.setDisable(appointmentTable.getSelectionModel().getSelectedItem() == null);
+                    if (response.isSuccess() && response.getData()) {
+                        appointmentTable.getItems().remove(selectedAppointment);
+                        showAlert(Alert.AlertType.INFORMATION, "Success",
+                                "Appointment Deleted",
+                                "The appointment has been successfully deleted.");
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error",
+                                "Failed to Delete Appointment",
+                                response.getMessage());
+                    }
+                });
             }
         } else {
             showAlert(Alert.AlertType.WARNING, "Selection Required",
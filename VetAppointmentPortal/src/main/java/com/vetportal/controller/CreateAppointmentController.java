@@ -4,12 +4,18 @@ import com.vetportal.dto.LookupStatus;
 import com.vetportal.dto.ServiceResponse;
 import com.vetportal.model.Appointment;
 import com.vetportal.model.AppointmentType;
+import com.vetportal.model.AvailableSlot;
 import com.vetportal.model.Customer;
 import com.vetportal.model.Employee;
 import com.vetportal.model.Pet;
+import com.vetportal.model.SlotGrid;
 import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
 import com.vetportal.service.CustomerService;
 import com.vetportal.service.EmployeeService;
+import com.vetportal.service.ServiceManager;
+import com.vetportal.service.SlotSearchService;
+import com.vetportal.service.TransactionTemplate;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -22,12 +28,12 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.net.URL;
-import java.sql.Connection;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public class CreateAppointmentController implements Initializable {
 
@@ -54,34 +60,40 @@ public class CreateAppointmentController implements Initializable {
     @FXML private Label titleLabel;
     @FXML private Button saveButton;
     @FXML private Button lookupCustomerButton;
+    @FXML private Button firstAvailableButton;
 
     // Services
     private CustomerService customerService;
     private EmployeeService employeeService;
     private AppointmentService appointmentService;
-
-    // Database connection
-    private Connection dbConnection;
+    private SlotSearchService slotSearchService;
+    private TransactionTemplate transactionTemplate;
+    private AsyncServices asyncServices;
 
     // State tracking
     private Customer selectedCustomer;
     private Pet selectedPet;
     private boolean isCustomerDataModified = false;
     private boolean isPetDataModified = false;
+    private CompletableFuture<Void> timesLoad;
+    // Time to select once the free times arrive, set by "first available"
+    private String timeToSelect;
 
     /**
-     * Set the database connection and initialize services
-     * @param connection active database connection
+     * Set the shared services used by this form
+     * @param serviceManager the application's service manager
      */
-    public void setConnection(Connection connection) {
-        this.dbConnection = connection;
-        this.customerService = new CustomerService(connection);
-        this.employeeService = new EmployeeService(connection);
-        this.appointmentService = new AppointmentService(connection);
-
-        // After setting connection, load data that requires DB access
+    public void setServiceManager(ServiceManager serviceManager) {
+        this.customerService = serviceManager.getCustomerService();
+        this.employeeService = serviceManager.getEmployeeService();
+        this.appointmentService = serviceManager.getAppointmentService();
+        this.slotSearchService = serviceManager.getSlotSearchService();
+        this.transactionTemplate = serviceManager.getTransactionTemplate();
+        this.asyncServices = serviceManager.getAsyncServices();
+
+        // After setting services, load data that requires DB access
         loadProviders();
-        System.out.println("Controller ready, providers loaded");
+        System.out.println("Controller ready, loading providers");
 
         // Setup customer lookup button
         setupCustomerLookup();
@@ -123,6 +135,9 @@ public class CreateAppointmentController implements Initializable {
 
         // Add listener to the save button
         saveButton.setOnAction(this::handleSaveButton);
+
+        // Fill in the earliest free slot with any eligible provider
+        firstAvailableButton.setOnAction(event -> handleFirstAvailable());
     }
 
     /**
@@ -181,8 +196,14 @@ public class CreateAppointmentController implements Initializable {
         Map<String, String> attributes = new HashMap<>();
         attributes.put("phone", phone);
 
-        ServiceResponse<Customer> response = customerService.findCustomerByAttributes(attributes);
+        asyncServices.call(() -> customerService.findCustomerByAttributes(attributes), this::showCustomerLookup);
+    }
 
+    /**
+     * Show the result of a customer lookup
+     * @param response the lookup response
+     */
+    private void showCustomerLookup(ServiceResponse<Customer> response) {
         if (response.getStatus() == LookupStatus.SUCCESS && response.getData() != null) {
             // Customer found, populate fields
             selectedCustomer = response.getData();
@@ -224,8 +245,14 @@ public class CreateAppointmentController implements Initializable {
             return;
         }
 
-        ServiceResponse<List<Pet>> response = customerService.findPetsByCustomerId(customer.getID());
+        asyncServices.call(() -> customerService.findPetsByCustomerId(customer.getID()), this::showCustomerPets);
+    }
 
+    /**
+     * Show the pets of the selected customer
+     * @param response the pets lookup response
+     */
+    private void showCustomerPets(ServiceResponse<List<Pet>> response) {
         if (response.getStatus() == LookupStatus.SUCCESS && response.getData() != null) {
             ObservableList<Pet> pets = FXCollections.observableArrayList(response.getData());
             petSelector.setItems(pets);
@@ -412,59 +439,59 @@ public class CreateAppointmentController implements Initializable {
             return;
         }
 
-        try {
-            ServiceResponse<List<Employee>> response = employeeService.getAllEmployees();
-
-            if (response.getStatus() == LookupStatus.SUCCESS && response.getData() != null) {
-                ObservableList<Employee> providers = FXCollections.observableArrayList(response.getData());
-                System.out.println("Loaded " + providers.size() + " providers");
-
-                // Set the items in the ComboBox
-                providerSelector.setItems(providers);
-
-                // Set a cell factory to display provider names
-                providerSelector.setCellFactory(param -> new ListCell<Employee>() {
-                    @Override
-                    protected void updateItem(Employee employee, boolean empty) {
-                        super.updateItem(employee, empty);
-                        if (empty || employee == null) {
-                            setText(null);
-                        } else {
-                            setText(employee.getFirstName() + " " + employee.getLastName());
-                        }
-                    }
-                });
-
-                // Set converter for displaying selected value
-                providerSelector.setConverter(new javafx.util.StringConverter<Employee>() {
-                    @Override
-                    public String toString(Employee employee) {
-                        if (employee == null) {
-                            return null;
-                        }
-                        return employee.getFirstName() + " " + employee.getLastName();
+        asyncServices.call(employeeService::getAllEmployees, this::showProviders);
+    }
+
+    /**
+     * Populates the provider selector with the loaded providers
+     * @param response the providers lookup response
+     */
+    private void showProviders(ServiceResponse<List<Employee>> response) {
+        if (response.getStatus() == LookupStatus.SUCCESS && response.getData() != null) {
+            ObservableList<Employee> providers = FXCollections.observableArrayList(response.getData());
+            System.out.println("Loaded " + providers.size() + " providers");
+
+            // Set the items in the ComboBox
+            providerSelector.setItems(providers);
+
+            // Set a cell factory to display provider names
+            providerSelector.setCellFactory(param -> new ListCell<Employee>() {
+                @Override
+                protected void updateItem(Employee employee, boolean empty) {
+                    super.updateItem(employee, empty);
+                    if (empty || employee == null) {
+                        setText(null);
+                    } else {
+                        setText(employee.getFirstName() + " " + employee.getLastName());
                     }
+                }
+            });
 
-                    @Override
-                    public Employee fromString(String string) {
-                        // This might not be needed for ComboBox
+            // Set converter for displaying selected value
+            providerSelector.setConverter(new javafx.util.StringConverter<Employee>() {
+                @Override
+                public String toString(Employee employee) {
+                    if (employee == null) {
                         return null;
                     }
-                });
+                    return employee.getFirstName() + " " + employee.getLastName();
+                }
 
-                // Select the first provider if available
-                if (!providers.isEmpty()) {
-                    providerSelector.getSelectionModel().selectFirst();
+                @Override
+                public Employee fromString(String string) {
+                    // This might not be needed for ComboBox
+                    return null;
                 }
-            } else {
-                System.err.println("Error loading providers: " +
-                        (response.getMessage() != null ? response.getMessage() : "No data returned"));
-                showAlert(AlertType.ERROR, "Error", "Failed to load providers", response.getMessage());
+            });
+
+            // Select the first provider if available
+            if (!providers.isEmpty()) {
+                providerSelector.getSelectionModel().selectFirst();
             }
-        } catch (Exception e) {
-            System.err.println("Exception when loading providers: " + e.getMessage());
-            e.printStackTrace();
-            showAlert(AlertType.ERROR, "Error", "Exception when loading providers", e.getMessage());
+        } else {
+            System.err.println("Error loading providers: " +
+                    (response.getMessage() != null ? response.getMessage() : "No data returned"));
+            showAlert(AlertType.ERROR, "Error", "Failed to load providers", response.getMessage());
         }
     }
 
@@ -486,12 +513,8 @@ public class CreateAppointmentController implements Initializable {
      * These will be filtered based on availability later
      */
     private void setupTimeSlots() {
-        List<String> timeSlots = IntStream.rangeClosed(8, 17)
-                .boxed()
-                .flatMap(hour -> List.of(
-                        String.format("%02d:00", hour),
-                        String.format("%02d:30", hour)
-                ).stream())
+        List<String> timeSlots = SlotGrid.DEFAULT.getTimes().stream()
+                .map(LocalTime::toString) // HH:MM
                 .collect(Collectors.toList());
 
         ObservableList<String> times = FXCollections.observableArrayList(timeSlots);
@@ -510,86 +533,192 @@ public class CreateAppointmentController implements Initializable {
             return;
         }
 
-        // Generate all possible time slots
-        List<String> allTimeSlots = IntStream.rangeClosed(8, 17)
-                .boxed()
-                .flatMap(hour -> List.of(
-                        String.format("%02d:00", hour),
-                        String.format("%02d:30", hour)
-                ).stream())
-                .collect(Collectors.toList());
-
-        // Create a filtered list of available times
-        List<String> availableTimes = new ArrayList<>();
-
-        for (String timeSlot : allTimeSlots) {
-            String[] timeParts = timeSlot.split(":");
-            LocalTime time = LocalTime.of(Integer.parseInt(timeParts[0]), Integer.parseInt(timeParts[1]));
-
-            // Check if the slot is available (not taken)
-            boolean isSlotTaken = appointmentService.isProviderSlotTaken(
-                    provider.getID(),
-                    date,
-                    time,
-                    null // No appointment ID to exclude since we're creating a new one
-            );
+        // Only the latest date/provider choice matters
+        if (timesLoad != null) {
+            timesLoad.cancel(false);
+        }
+        // One query for the provider's whole day instead of one per slot
+        timesLoad = asyncServices.call(
+                () -> appointmentService.findFreeSlots(provider.getID(), date, SlotGrid.DEFAULT),
+                this::showAvailableTimes);
+    }
 
-            if (!isSlotTaken) {
-                availableTimes.add(timeSlot);
-            }
+    /**
+     * Show the free times of the selected provider and date
+     * @param response the free slots response
+     */
+    private void showAvailableTimes(ServiceResponse<List<LocalTime>> response) {
+        String time = timeToSelect;
+        timeToSelect = null;
+        if (!response.isSuccess()) {
+            // The list still holds the previous provider and date's times, none of them checked for this choice
+            appointmentTime.getItems().clear();
+            showAlert(AlertType.ERROR, "Error", "Failed to load available times", response.getMessage());
+            return;
         }
 
+        List<String> availableTimes = response.getData().stream()
+                .map(LocalTime::toString) // HH:MM
+                .collect(Collectors.toList());
+
         // Update the time combobox with available slots
         ObservableList<String> times = FXCollections.observableArrayList(availableTimes);
         appointmentTime.setItems(times);
 
-        // Select the first available time if any exist
-        if (!times.isEmpty()) {
+        // Select the requested time, or the first available time if any exist
+        if (time != null && times.contains(time)) {
+            appointmentTime.getSelectionModel().select(time);
+        } else if (!times.isEmpty()) {
             appointmentTime.getSelectionModel().selectFirst();
         }
     }
 
+    /**
+     * Finds the earliest free slot for the selected appointment type, starting from the selected date
+     * (or now, if that is later), and selects its date, provider and time in the form
+     */
+    private void handleFirstAvailable() {
+        if (slotSearchService == null || appointmentType.getValue() == null) {
+            return;
+        }
+
+        AppointmentType type = AppointmentType.valueOf(appointmentType.getValue());
+        LocalDateTime from = LocalDateTime.now();
+        if (appointmentDate.getValue() != null && appointmentDate.getValue().isAfter(from.toLocalDate())) {
+            from = appointmentDate.getValue().atStartOfDay();
+        }
+
+        LocalDateTime searchFrom = from;
+        asyncServices.call(() -> slotSearchService.findNextAvailable(type, searchFrom, 1),
+                response -> showFirstAvailable(type, response));
+    }
+
+    /**
+     * Select the date, provider and time of the earliest free slot found
+     * @param type the appointment type searched for
+     * @param response the slot search response
+     */
+    private void showFirstAvailable(AppointmentType type, ServiceResponse<List<AvailableSlot>> response) {
+        if (!response.isSuccess()) {
+            showAlert(AlertType.ERROR, "Error", "Failed to search for free slots", response.getMessage());
+            return;
+        }
+        if (response.getData().isEmpty()) {
+            showAlert(AlertType.INFORMATION, "No Free Slots", null,
+                    "No provider is free for a " + type.name() + " appointment in the next "
+                            + SlotSearchService.DEFAULT_SEARCH_DAYS + " days.");
+            return;
+        }
+
+        AvailableSlot slot = response.getData().get(0);
+
+        // Changing the date and provider refreshes the time list, which selects this time when it arrives
+        timeToSelect = slot.getTime().toString();
+        appointmentDate.setValue(slot.getDate());
+        providerSelector.getItems().stream()
+                .filter(employee -> employee.getID().equals(slot.getProvider().getID()))
+                .findFirst()
+                .ifPresent(employee -> providerSelector.getSelectionModel().select(employee));
+        if (timesLoad == null || timesLoad.isDone()) {
+            // Same date and provider as before, so the list is already current
+            appointmentTime.getSelectionModel().select(timeToSelect);
+            timeToSelect = null;
+        }
+    }
+
     /**
      * Handle the save button click event
      * @param event action event
      */
     private void handleSaveButton(ActionEvent event) {
         if (validateForm()) {
-            try {
+            SaveForm form = readSaveForm();
+
+            // The save holds the write connection from the first lookup to the appointment insert, so it runs in
+            // the background; the button stays disabled until it is over so the form is not saved twice
+            saveButton.setDisable(true);
+            // Customer, pet and appointment are saved together or not at all
+            asyncServices.call(() -> ServiceResponse.success(transactionTemplate.execute(status -> {
                 // Create or update customer if needed
-                ServiceResponse<Customer> customerResponse = createOrUpdateCustomer();
+                ServiceResponse<Customer> customerResponse = createOrUpdateCustomer(form);
                 if (customerResponse.getStatus() != LookupStatus.SUCCESS) {
-                    showAlert(AlertType.ERROR, "Customer Error", "Failed to create/update customer",
+                    status.setRollbackOnly();
+                    return new SaveFailure("Customer Error", "Failed to create/update customer",
                             customerResponse.getMessage());
-                    return;
                 }
                 Customer customer = customerResponse.getData();
 
                 // Create or update pet if needed
-                ServiceResponse<Pet> petResponse = createOrUpdatePet(customer);
+                ServiceResponse<Pet> petResponse = createOrUpdatePet(form, customer);
                 if (petResponse.getStatus() != LookupStatus.SUCCESS) {
-                    showAlert(AlertType.ERROR, "Pet Error", "Failed to create/update pet",
-                            petResponse.getMessage());
-                    return;
+                    status.setRollbackOnly();
+                    return new SaveFailure("Pet Error", "Failed to create/update pet", petResponse.getMessage());
                 }
                 Pet pet = petResponse.getData();
 
                 // Create the appointment
-                ServiceResponse<Appointment> appointmentResponse = createAppointment(pet);
+                ServiceResponse<Appointment> appointmentResponse = createAppointment(form, pet);
                 if (appointmentResponse.getStatus() != LookupStatus.SUCCESS) {
-                    showAlert(AlertType.ERROR, "Appointment Error", "Failed to create appointment",
+                    status.setRollbackOnly();
+                    return new SaveFailure("Appointment Error", "Failed to create appointment",
                             appointmentResponse.getMessage());
-                    return;
                 }
+                return null;
+            })), this::showSaveResult);
+        }
+    }
 
-                showAlert(AlertType.INFORMATION, "Success", "Appointment Created",
-                        "The appointment has been successfully created.");
-                closeForm();
+    /**
+     * Show the outcome of a save, once its transaction is over
+     * @param response the save response, holding the failed step if the save was rolled back
+     */
+    private void showSaveResult(ServiceResponse<SaveFailure> response) {
+        saveButton.setDisable(false);
 
-            } catch (Exception e) {
-                showAlert(AlertType.ERROR, "Error", "Failed to create appointment", e.getMessage());
-            }
+        // The save threw, and its transaction was rolled back
+        if (!response.isSuccess()) {
+            showAlert(AlertType.ERROR, "Error", "Failed to create appointment", response.getMessage());
+            return;
+        }
+
+        SaveFailure failure = response.getData();
+        if (failure != null) {
+            showAlert(AlertType.ERROR, failure.title(), failure.header(), failure.message());
+            return;
         }
+
+        showAlert(AlertType.INFORMATION, "Success", "Appointment Created",
+                "The appointment has been successfully created.");
+        closeForm();
+    }
+
+    /**
+     * Read the values a save needs from the form; controls are only read on the JavaFX Application Thread
+     * @return the form's current values
+     */
+    private SaveForm readSaveForm() {
+        return new SaveForm(selectedCustomer, isCustomerDataModified,
+                customerFirstName.getText(), customerLastName.getText(), customerEmail.getText(), customerPhone.getText(),
+                selectedPet, isPetDataModified,
+                petName.getText(), petSpecies.getText(), petBreed.getText(), petBirthDate.getValue(),
+                providerSelector.getValue(), appointmentDate.getValue(), appointmentTime.getValue(),
+                appointmentType.getValue());
+    }
+
+    /**
+     * The form's values at the moment save was clicked
+     */
+    private record SaveForm(Customer selectedCustomer, boolean customerModified,
+                            String customerFirstName, String customerLastName, String customerEmail, String customerPhone,
+                            Pet selectedPet, boolean petModified,
+                            String petName, String petSpecies, String petBreed, LocalDate petBirthDate,
+                            Employee provider, LocalDate appointmentDate, String appointmentTime, String appointmentType) {
+    }
+
+    /**
+     * The alert to show for the step of a save that failed
+     */
+    private record SaveFailure(String title, String header, String message) {
     }
 
     /**
@@ -629,17 +758,18 @@ public class CreateAppointmentController implements Initializable {
 
     /**
      * Create a new customer or update an existing one only if data has been modified
+     * @param form the form's values
      * @return a ServiceResponse containing the Customer object or error
      */
-    private ServiceResponse<Customer> createOrUpdateCustomer() {
+    private ServiceResponse<Customer> createOrUpdateCustomer(SaveForm form) {
         // If we have a selected customer and the data hasn't been modified, just return it
-        if (selectedCustomer != null && !isCustomerDataModified) {
-            return ServiceResponse.success(selectedCustomer);
+        if (form.selectedCustomer() != null && !form.customerModified()) {
+            return ServiceResponse.success(form.selectedCustomer());
         }
 
         // Otherwise, we need to create or update the customer
         Map<String, String> attributes = new HashMap<>();
-        attributes.put("email", customerEmail.getText());
+        attributes.put("email", form.customerEmail());
 
         ServiceResponse<Customer> response = customerService.findCustomerByAttributes(attributes);
 
@@ -650,18 +780,18 @@ public class CreateAppointmentController implements Initializable {
             // Update customer info if needed
             boolean needsUpdate = false;
 
-            if (!customer.getFirstName().equals(customerFirstName.getText())) {
-                customer.setFirstName(customerFirstName.getText());
+            if (!customer.getFirstName().equals(form.customerFirstName())) {
+                customer.setFirstName(form.customerFirstName());
                 needsUpdate = true;
             }
 
-            if (!customer.getLastName().equals(customerLastName.getText())) {
-                customer.setLastName(customerLastName.getText());
+            if (!customer.getLastName().equals(form.customerLastName())) {
+                customer.setLastName(form.customerLastName());
                 needsUpdate = true;
             }
 
-            if (!customer.getPhone().equals(customerPhone.getText())) {
-                customer.setPhone(customerPhone.getText());
+            if (!customer.getPhone().equals(form.customerPhone())) {
+                customer.setPhone(form.customerPhone());
                 needsUpdate = true;
             }
 
@@ -677,11 +807,11 @@ public class CreateAppointmentController implements Initializable {
             // Create new customer
             Customer customer = new Customer(
                     null,
-                    customerFirstName.getText(),
-                    customerLastName.getText(),
+                    form.customerFirstName(),
+                    form.customerLastName(),
                     "", // Address is not collected in this form
-                    customerPhone.getText(),
-                    customerEmail.getText()
+                    form.customerPhone(),
+                    form.customerEmail()
             );
 
             return customerService.createCustomer(customer);
@@ -690,12 +820,15 @@ public class CreateAppointmentController implements Initializable {
 
     /**
      * Create a new pet or update an existing one only if data has been modified
+     * @param form the form's values
      * @param owner the pet's owner
      * @return a ServiceResponse containing the Pet object or error
      */
-    private ServiceResponse<Pet> createOrUpdatePet(Customer owner) {
+    private ServiceResponse<Pet> createOrUpdatePet(SaveForm form, Customer owner) {
+        Pet selectedPet = form.selectedPet();
+
         // If we have a selected pet and the data hasn't been modified, just return it
-        if (selectedPet != null && !isPetDataModified) {
+        if (selectedPet != null && !form.petModified()) {
             return ServiceResponse.success(selectedPet);
         }
 
@@ -704,23 +837,23 @@ public class CreateAppointmentController implements Initializable {
             // Update pet info if needed
             boolean needsUpdate = false;
 
-            if (!selectedPet.getName().equals(petName.getText())) {
-                selectedPet.setName(petName.getText());
+            if (!selectedPet.getName().equals(form.petName())) {
+                selectedPet.setName(form.petName());
                 needsUpdate = true;
             }
 
-            if (!selectedPet.getSpecies().equals(petSpecies.getText())) {
-                selectedPet.setSpecies(petSpecies.getText());
+            if (!selectedPet.getSpecies().equals(form.petSpecies())) {
+                selectedPet.setSpecies(form.petSpecies());
                 needsUpdate = true;
             }
 
-            if (!selectedPet.getBreed().equals(petBreed.getText())) {
-                selectedPet.setBreed(petBreed.getText());
+            if (!selectedPet.getBreed().equals(form.petBreed())) {
+                selectedPet.setBreed(form.petBreed());
                 needsUpdate = true;
             }
 
-            if (!selectedPet.getBirthDate().equals(petBirthDate.getValue())) {
-                selectedPet.setBirthDate(petBirthDate.getValue());
+            if (!selectedPet.getBirthDate().equals(form.petBirthDate())) {
+                selectedPet.setBirthDate(form.petBirthDate());
                 needsUpdate = true;
             }
 
@@ -739,25 +872,25 @@ public class CreateAppointmentController implements Initializable {
 
         if (petsResponse.getStatus() == LookupStatus.SUCCESS) {
             for (Pet existingPet : petsResponse.getData()) {
-                if (existingPet.getName().equals(petName.getText())) {
+                if (existingPet.getName().equals(form.petName())) {
                     // Pet exists, use it
                     Pet pet = existingPet;
 
                     // Update pet info if needed
                     boolean needsUpdate = false;
 
-                    if (!pet.getSpecies().equals(petSpecies.getText())) {
-                        pet.setSpecies(petSpecies.getText());
+                    if (!pet.getSpecies().equals(form.petSpecies())) {
+                        pet.setSpecies(form.petSpecies());
                         needsUpdate = true;
                     }
 
-                    if (!pet.getBreed().equals(petBreed.getText())) {
-                        pet.setBreed(petBreed.getText());
+                    if (!pet.getBreed().equals(form.petBreed())) {
+                        pet.setBreed(form.petBreed());
                         needsUpdate = true;
                     }
 
-                    if (!pet.getBirthDate().equals(petBirthDate.getValue())) {
-                        pet.setBirthDate(petBirthDate.getValue());
+                    if (!pet.getBirthDate().equals(form.petBirthDate())) {
+                        pet.setBirthDate(form.petBirthDate());
                         needsUpdate = true;
                     }
 
@@ -776,10 +909,10 @@ public class CreateAppointmentController implements Initializable {
         // Pet not found, create a new one
         Pet pet = new Pet(
                 null,
-                petName.getText(),
-                petSpecies.getText(),
-                petBreed.getText(),
-                petBirthDate.getValue(),
+                form.petName(),
+                form.petSpecies(),
+                form.petBreed(),
+                form.petBirthDate(),
                 owner
         );
 
@@ -788,28 +921,29 @@ public class CreateAppointmentController implements Initializable {
 
     /**
      * Create a new appointment
+     * @param form the form's values
      * @param pet the pet for the appointment
      * @return a ServiceResponse containing the Appointment object or error
      */
-    private ServiceResponse<Appointment> createAppointment(Pet pet) {
+    private ServiceResponse<Appointment> createAppointment(SaveForm form, Pet pet) {
         // Get selected provider
-        Employee provider = providerSelector.getValue();
+        Employee provider = form.provider();
         if (provider == null) {
             return ServiceResponse.notFound("No provider selected");
         }
 
         // Parse time string to LocalTime
-        String timeStr = appointmentTime.getValue();
+        String timeStr = form.appointmentTime();
         String[] timeParts = timeStr.split(":");
         LocalTime time = LocalTime.of(Integer.parseInt(timeParts[0]), Integer.parseInt(timeParts[1]));
 
         // Convert string appointment type to enum
-        AppointmentType type = AppointmentType.valueOf(appointmentType.getValue());
+        AppointmentType type = AppointmentType.valueOf(form.appointmentType());
 
         //create appointment object
         Appointment appointment = new Appointment(
                 null,
-                appointmentDate.getValue(),
+                form.appointmentDate(),
                 time,
                 provider,
                 type,
@@ -820,7 +954,7 @@ public class CreateAppointmentController implements Initializable {
         // Double-check if provider is still available (in case it changed while form was open)
         boolean isSlotTaken = appointmentService.isProviderSlotTaken(
                 provider.getID(),
-                appointmentDate.getValue(),
+                form.appointmentDate(),
                 time,
                 null // No appointment ID to exclude since we're creating a new one
         );
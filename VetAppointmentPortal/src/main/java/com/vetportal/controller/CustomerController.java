@@ -2,8 +2,10 @@ package com.vetportal.controller;
 
 import com.vetportal.model.*;
 import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
 import com.vetportal.service.ServiceManager;
 import com.vetportal.service.CustomerService;
+import com.vetportal.dto.LookupStatus;
 import com.vetportal.dto.ServiceResponse;
 
 import javafx.beans.property.SimpleObjectProperty;
@@ -27,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class CustomerController {
     @FXML private TextField customerLookupField;
@@ -52,11 +55,19 @@ public class CustomerController {
     @FXML private Circle profileImage;
 
     private CustomerService customerService;
+    private AsyncServices asyncServices;
     private Customer currentCustomer;
 
+    // Calls still loading; a newer lookup cancels them, so a slow answer about the previous customer
+    // cannot replace what is shown for the current one
+    private CompletableFuture<Void> lookupLoad;
+    private CompletableFuture<Void> petsLoad;
+    private CompletableFuture<Void> appointmentsLoad;
+
     @FXML
     public void initialize() {
         customerService = ServiceManager.getInstance().getCustomerService();
+        asyncServices = ServiceManager.getInstance().getAsyncServices();
 
         // Set up double-click handler for appointments table
         appointmentsTableView.setOnMouseClicked(event -> {
@@ -111,27 +122,32 @@ public class CustomerController {
 
         Optional<ButtonType> result = confirmDialog.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            // Call the existing deleteCustomer method in the service
-            boolean success = customerService.deleteCustomer(currentCustomer.getID());
-
-            if (success) {
-                // Clear the customer information and reset the UI
-                currentCustomer = null;
-                hideCustomerInfo();
-
-                // Show the customer lookup fields again
-                enterPrompt.setVisible(true);
-                customerLookupField.setVisible(true);
-                searchButton.setVisible(true);
-                addNewCustomerButton.setVisible(true);
-
-                // Clear the lookup field
-                customerLookupField.setText("");
-
-                showAlert("Customer deleted successfully!");
-            } else {
-                showAlert("Error deleting customer");
-            }
+            int customerID = currentCustomer.getID();
+
+            // The delete cascades to the customer's pets and appointments, so it runs in the background;
+            // the button stays disabled until it is over so it is not sent twice
+            deleteCustomerButton.setDisable(true);
+            asyncServices.call(() -> ServiceResponse.success(customerService.deleteCustomer(customerID)), response -> {
+                deleteCustomerButton.setDisable(false);
+                if (response.isSuccess() && response.getData()) {
+                    // Clear the customer information and reset the UI
+                    currentCustomer = null;
+                    hideCustomerInfo();
+
+                    // Show the customer lookup fields again
+                    enterPrompt.setVisible(true);
+                    customerLookupField.setVisible(true);
+                    searchButton.setVisible(true);
+                    addNewCustomerButton.setVisible(true);
+
+                    // Clear the lookup field
+                    customerLookupField.setText("");
+
+                    showAlert("Customer deleted successfully!");
+                } else {
+                    showAlert("Error deleting customer");
+                }
+            });
         }
     }
 
@@ -156,15 +172,17 @@ public class CustomerController {
             newPet.setOwner(currentCustomer);
 
             // Create the pet using the service
-            ServiceResponse<Pet> response = customerService.createPet(newPet);
-
-            if (response.isSuccess()) {
-                // Refresh the pets table to display the new pet
-                loadPets(currentCustomer.getID());
-                showAlert("Pet added successfully!");
-            } else {
-                showAlert("Error adding pet: " + response.getMessage());
-            }
+            addPetButton.setDisable(true);
+            asyncServices.call(() -> customerService.createPet(newPet), response -> {
+                addPetButton.setDisable(false);
+                if (response.isSuccess()) {
+                    // Refresh the pets table to display the new pet
+                    reloadPets();
+                    showAlert("Pet added successfully!");
+                } else {
+                    showAlert("Error adding pet: " + response.getMessage());
+                }
+            });
         }
     }
 
@@ -176,8 +194,15 @@ public class CustomerController {
         }
 
         // Get all pets for the dropdown
-        ServiceResponse<List<Pet>> petsResponse = customerService.findPetsByCustomerId(currentCustomer.getID());
+        int customerID = currentCustomer.getID();
+        asyncServices.call(() -> customerService.findPetsByCustomerId(customerID), this::editPet);
+    }
 
+    /**
+     * Lets the user pick one of the customer's pets and edit it
+     * @param petsResponse the customer's pets
+     */
+    private void editPet(ServiceResponse<List<Pet>> petsResponse) {
         if (!petsResponse.isSuccess() || petsResponse.getData().isEmpty()) {
             showAlert("No pets found for this customer");
             return;
@@ -196,15 +221,17 @@ public class CustomerController {
                 updatedPet.setOwner(selectedPet.getOwner());
 
                 // Update the pet using the CustomerService
-                boolean success = customerService.updatePet(updatedPet);
-
-                if (success) {
-                    // Refresh the pets table
-                    loadPets(currentCustomer.getID());
-                    showAlert("Pet updated successfully!");
-                } else {
-                    showAlert("Error updating pet information");
-                }
+                editPetButton.setDisable(true);
+                asyncServices.call(() -> ServiceResponse.success(customerService.updatePet(updatedPet)), response -> {
+                    editPetButton.setDisable(false);
+                    if (response.isSuccess() && response.getData()) {
+                        // Refresh the pets table
+                        reloadPets();
+                        showAlert("Pet updated successfully!");
+                    } else {
+                        showAlert("Error updating pet information");
+                    }
+                });
             }
         }
     }
@@ -217,8 +244,15 @@ public class CustomerController {
         }
 
         // Get all pets for the dropdown
-        ServiceResponse<List<Pet>> petsResponse = customerService.findPetsByCustomerId(currentCustomer.getID());
+        int customerID = currentCustomer.getID();
+        asyncServices.call(() -> customerService.findPetsByCustomerId(customerID), this::deletePet);
+    }
 
+    /**
+     * Lets the user pick one of the customer's pets and delete it
+     * @param petsResponse the customer's pets
+     */
+    private void deletePet(ServiceResponse<List<Pet>> petsResponse) {
         if (!petsResponse.isSuccess() || petsResponse.getData().isEmpty()) {
             showAlert("No pets found for this customer");
             return;
@@ -237,15 +271,17 @@ public class CustomerController {
             Optional<ButtonType> result = confirmDialog.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 // Call the existing deletePet method in the service
-                boolean success = customerService.deletePet(selectedPet.getID());
-
-                if (success) {
-                    // Refresh the pets table
-                    loadPets(currentCustomer.getID());
-                    showAlert("Pet deleted successfully!");
-                } else {
-                    showAlert("Error deleting pet");
-                }
+                deletePetButton.setDisable(true);
+                asyncServices.call(() -> ServiceResponse.success(customerService.deletePet(selectedPet.getID())), response -> {
+                    deletePetButton.setDisable(false);
+                    if (response.isSuccess() && response.getData()) {
+                        // Refresh the pets table
+                        reloadPets();
+                        showAlert("Pet deleted successfully!");
+                    } else {
+                        showAlert("Error deleting pet");
+                    }
+                });
             }
         }
     }
@@ -535,54 +571,78 @@ public class CustomerController {
 
     @FXML
     private void handleCustomerByPhone() {
-        Customer customer = fetchCustomerByPhone();
-        if (customer != null) {
-            currentCustomer = customer;
-            displayCustomerInfo(customer);
-        } else {
-            hideCustomerInfo();
+        String phone = customerLookupField.getText();
+
+        if (phone == null || phone.trim().isEmpty()) {
+            showAlert("Please enter a phone number");
+            return;
         }
+
+        // Create a map with the phone field
+        Map<String, String> fields = new HashMap<>();
+        fields.put("phone", phone);
+
+        cancel(lookupLoad);
+        lookupLoad = asyncServices.call(() -> customerService.findCustomerByAttributes(fields), response -> {
+            if (response.isSuccess()) {
+                currentCustomer = response.getData();
+                displayCustomerInfo(currentCustomer);
+            } else {
+                showAlert(response.getMessage());  // show the error
+                hideCustomerInfo();
+            }
+        });
     }
 
     @FXML
     private void handleAddNewCustomer() {
         Customer newCustomer = showCustomerDialog(null, "Add New Customer");
         if (newCustomer != null) {
-            // Check if customer already exists with this phone or email
-            Map<String, String> phoneCheck = new HashMap<>();
-            phoneCheck.put("phone", newCustomer.getPhone());
-
-            Map<String, String> emailCheck = new HashMap<>();
-            emailCheck.put("email", newCustomer.getEmail());
-
-            ServiceResponse<Customer> phoneResponse = customerService.findCustomerByAttributes(phoneCheck);
-            ServiceResponse<Customer> emailResponse = customerService.findCustomerByAttributes(emailCheck);
-
-            if (phoneResponse.isSuccess()) {
-                showAlert("A customer with this phone number already exists!");
-                return;
-            }
-
-            if (emailResponse.isSuccess()) {
-                showAlert("A customer with this email already exists!");
-                return;
-            }
-
-            // Create the customer using the service
-            ServiceResponse<Customer> response = customerService.createCustomer(newCustomer);
+            // The duplicate checks and the insert run in the background; the button stays disabled until
+            // they are over so the customer is not added twice
+            addNewCustomerButton.setDisable(true);
+            asyncServices.call(() -> createCustomerIfNew(newCustomer), response -> {
+                addNewCustomerButton.setDisable(false);
+                if (response.isSuccess()) {
+                    // If successful, set as current customer and display info
+                    currentCustomer = response.getData();
+                    displayCustomerInfo(currentCustomer);
+
+                    // Show success message
+                    showAlert("Customer added successfully!");
+                } else if (response.getStatus() == LookupStatus.CONFLICT) {
+                    showAlert(response.getMessage());
+                } else {
+                    // Show error message
+                    showAlert("Error adding customer: " + response.getMessage());
+                }
+            });
+        }
+    }
 
-            if (response.isSuccess()) {
-                // If successful, set as current customer and display info
-                currentCustomer = response.getData();
-                displayCustomerInfo(currentCustomer);
+    /**
+     * Creates the customer unless one already exists with the same phone or email
+     * @param newCustomer the customer to create
+     * @return the created customer, or a CONFLICT response naming the field already in use
+     */
+    private ServiceResponse<Customer> createCustomerIfNew(Customer newCustomer) {
+        // Check if customer already exists with this phone or email
+        Map<String, String> phoneCheck = new HashMap<>();
+        phoneCheck.put("phone", newCustomer.getPhone());
+
+        Map<String, String> emailCheck = new HashMap<>();
+        emailCheck.put("email", newCustomer.getEmail());
+
+        if (customerService.findCustomerByAttributes(phoneCheck).isSuccess()) {
+            return ServiceResponse.conflict("A customer with this phone number already exists!");
+        }
 
-                // Show success message
-                showAlert("Customer added successfully!");
-            } else {
-                // Show error message
-                showAlert("Error adding customer: " + response.getMessage());
-            }
+        if (customerService.findCustomerByAttributes(emailCheck).isSuccess()) {
+            return ServiceResponse.conflict("A customer with this email already exists!");
         }
+
+        // Create the customer using the service
+        return customerService.createCustomer(newCustomer);
     }
 
     @FXML
@@ -598,21 +658,26 @@ public class CustomerController {
             updatedCustomer.setID(currentCustomer.getID());
 
             // Update the customer using the service
-            boolean success = customerService.updateCustomer(updatedCustomer);
-
-            if (success) {
-                // Update the current customer reference
-                currentCustomer = updatedCustomer;
-
-                // Refresh the customer info display
-                displayCustomerInfo(currentCustomer);
-
-                // Show success message
-                showAlert("Customer updated successfully!");
-            } else {
-                // Show error message
-                showAlert("Error updating customer information");
-            }
+            editCustomerButton.setDisable(true);
+            asyncServices.call(() -> ServiceResponse.success(customerService.updateCustomer(updatedCustomer)), response -> {
+                editCustomerButton.setDisable(false);
+                if (response.isSuccess() && response.getData()) {
+                    // Another customer may have been looked up while the update was running
+                    if (currentCustomer != null && currentCustomer.getID().equals(updatedCustomer.getID())) {
+                        // Update the current customer reference
+                        currentCustomer = updatedCustomer;
+
+                        // Refresh the customer info display
+                        displayCustomerInfo(currentCustomer);
+                    }
+
+                    // Show success message
+                    showAlert("Customer updated successfully!");
+                } else {
+                    // Show error message
+                    showAlert("Error updating customer information");
+                }
+            });
         }
     }
 
@@ -747,40 +812,35 @@ public class CustomerController {
         return result.orElse(null);
     }
 
-    private Customer fetchCustomerByPhone() {
-        String phone = customerLookupField.getText();
-
-        if (phone == null || phone.trim().isEmpty()) {
-            showAlert("Please enter a phone number");
-            return null;
-        }
-
-        // Create a map with the phone field
-        Map<String, String> fields = new HashMap<>();
-        fields.put("phone", phone);
+    private void loadPets(int customerID) {
+        cancel(petsLoad);
+        petsLoad = asyncServices.call(() -> customerService.findPetsByCustomerId(customerID), response -> {
+            if (response.isSuccess()) {
+                List<Pet> pets = response.getData();
+                ObservableList<Pet> petData = FXCollections.observableArrayList(pets);
+                petsTableView.setItems(petData);
 
-        ServiceResponse<Customer> response = customerService.findCustomerByAttributes(fields);
+            } else {
+                // Clear the table if there was an error
+                petsTableView.setItems(FXCollections.observableArrayList());
+                showAlert("Error loading pets: " + response.getMessage());
+            }
+        });
+    }
 
-        if (response.isSuccess()) {
-            return response.getData();  // gets the customer object if it exists
-        } else {
-            showAlert(response.getMessage());  // show the error
-            return null;
+    // The customer shown may have changed, or been deleted, while a pet write was running
+    private void reloadPets() {
+        if (currentCustomer != null) {
+            loadPets(currentCustomer.getID());
         }
     }
 
-    private void loadPets(int customerID) {
-        ServiceResponse<List<Pet>> response = customerService.findPetsByCustomerId(customerID);
-
-        if (response.isSuccess()) {
-            List<Pet> pets = response.getData();
-            ObservableList<Pet> petData = FXCollections.observableArrayList(pets);
-            petsTableView.setItems(petData);
-
-        } else {
-            // Clear the table if there was an error
-            petsTableView.setItems(FXCollections.observableArrayList());
-            showAlert("Error loading pets: " + response.getMessage());
+    /**
+     * Drops the result of a call still running, so it cannot replace a newer one.
+     */
+    private static void cancel(CompletableFuture<Void> load) {
+        if (load != null) {
+            load.cancel(false);
         }
     }
 
@@ -817,41 +877,33 @@ public class CustomerController {
     }
 
     private void loadAppointmentsForCustomer(int CustomerID) {
-        ServiceResponse<List<Pet>> petsResponse = customerService.findPetsByCustomerId(CustomerID);
-
-        if (!petsResponse.isSuccess() || petsResponse.getData().isEmpty()) {
-            //no pets or error getting pets
-            appointmentsLabel.setText("Appointments:");
-            appointmentsLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
-            return;
-        }
-
-        //initialize appointment list
-        ObservableList<Appointment> allAppointments = FXCollections.observableArrayList();
-
         //get AppointmentService from ServiceManager
         AppointmentService appointmentService = ServiceManager.getInstance().getAppointmentService();
 
-        //for each pet, get appointments and add to the list
-        for (Pet pet : petsResponse.getData()) {
-            ServiceResponse<List<Appointment>> response = appointmentService.findAppointmentsByPetId(pet.getID());
-
-            if (response.isSuccess()) {
-                allAppointments.addAll(response.getData());
+        // The appointments of all the customer's pets come back from one query
+        cancel(appointmentsLoad);
+        appointmentsLoad = asyncServices.call(() -> appointmentService.findAppointmentsByCustomerId(CustomerID), response -> {
+            if (response.getStatus() == LookupStatus.DB_ERROR) {
+                appointmentsLabel.setText("Appointments:");
+                appointmentsLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+                return;
             }
-        }
 
-        // Set items to the table
-        appointmentsTableView.setItems(allAppointments);
+            // Set items to the table (none if the customer has no appointments)
+            ObservableList<Appointment> allAppointments = response.isSuccess()
+                    ? FXCollections.observableArrayList(response.getData())
+                    : FXCollections.observableArrayList();
+            appointmentsTableView.setItems(allAppointments);
 
-        // Show a message if no appointments are found
-        if (allAppointments.isEmpty()) {
-            appointmentsLabel.setText("No appointments found for this customer");
-            appointmentsLabel.setStyle("-fx-font-size: 14px;");
-        } else {
-            appointmentsLabel.setText("Appointments:");
-            appointmentsLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
-        }
+            // Show a message if no appointments are found
+            if (allAppointments.isEmpty()) {
+                appointmentsLabel.setText("No appointments found for this customer");
+                appointmentsLabel.setStyle("-fx-font-size: 14px;");
+            } else {
+                appointmentsLabel.setText("Appointments:");
+                appointmentsLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+            }
+        });
     }
 
     private void fillAppointmentTable() {
@@ -2,6 +2,7 @@ package com.vetportal.controller;
 
 import com.vetportal.model.*;
 import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
 import com.vetportal.service.EmployeeService;
 import com.vetportal.service.ServiceManager;
 import com.vetportal.dto.ServiceResponse;
@@ -56,6 +57,7 @@ public class EmployeeController {
 
     private EmployeeService employeeService;
     private AppointmentService appointmentService;
+    private AsyncServices asyncServices;
     private Employee currentEmployee;
 
     @FXML
@@ -63,6 +65,7 @@ public class EmployeeController {
         // Get service instances
         employeeService = ServiceManager.getInstance().getEmployeeService();
         appointmentService = ServiceManager.getInstance().getAppointmentService();
+        asyncServices = ServiceManager.getInstance().getAsyncServices();
 
         // Set up double-click handler for appointments
         appointmentsTableView.setOnMouseClicked(event -> {
@@ -100,20 +103,23 @@ public class EmployeeController {
     private void handleAddNewEmployee() {
         Employee newEmployee = showEmployeeDialog(null, "Add New Employee");
         if (newEmployee != null) {
-            // Create the employee using the service
-            ServiceResponse<Employee> response = employeeService.createEmployee(newEmployee);
-
-            if (response.isSuccess()) {
-                // If successful, set as current employee and display info
-                currentEmployee = response.getData();
-                displayEmployeeInfo(currentEmployee);
-
-                // Show success message
-                showAlert("Employee added successfully!");
-            } else {
-                // Show error message
-                showAlert("Error adding employee: " + response.getMessage());
-            }
+            // Create the employee using the service, in the background; the button stays disabled
+            // until it is over so the employee is not added twice
+            addNewEmployeeButton.setDisable(true);
+            asyncServices.call(() -> employeeService.createEmployee(newEmployee), response -> {
+                addNewEmployeeButton.setDisable(false);
+                if (response.isSuccess()) {
+                    // If successful, set as current employee and display info
+                    currentEmployee = response.getData();
+                    displayEmployeeInfo(currentEmployee);
+
+                    // Show success message
+                    showAlert("Employee added successfully!");
+                } else {
+                    // Show error message
+                    showAlert("Error adding employee: " + response.getMessage());
+                }
+            });
         }
     }
 
@@ -130,21 +136,26 @@ public class EmployeeController {
             updatedEmployee.setID(currentEmployee.getID());
 
             // Update the employee using the service
-            boolean success = employeeService.updateEmployee(updatedEmployee);
-
-            if (success) {
-                // Update the current employee reference
-                currentEmployee = updatedEmployee;
-
-                // Refresh the employee info display
-                displayEmployeeInfo(currentEmployee);
-
-                // Show success message
-                showAlert("Employee updated successfully!");
-            } else {
-                // Show error message
-                showAlert("Error updating employee information");
-            }
+            editEmployeeButton.setDisable(true);
+            asyncServices.call(() -> ServiceResponse.success(employeeService.updateEmployee(updatedEmployee)), response -> {
+                editEmployeeButton.setDisable(false);
+                if (response.isSuccess() && response.getData()) {
+                    // Another employee may have been looked up while the update was running
+                    if (currentEmployee != null && currentEmployee.getID().equals(updatedEmployee.getID())) {
+                        // Update the current employee reference
+                        currentEmployee = updatedEmployee;
+
+                        // Refresh the employee info display
+                        displayEmployeeInfo(currentEmployee);
+                    }
+
+                    // Show success message
+                    showAlert("Employee updated successfully!");
+                } else {
+                    // Show error message
+                    showAlert("Error updating employee information");
+                }
+            });
         }
     }
 
@@ -165,25 +176,28 @@ public class EmployeeController {
         java.util.Optional<ButtonType> result = confirmDialog.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             // Call the delete method in the service
-            boolean success = employeeService.deleteEmployee(currentEmployee.getID());
-
-            if (success) {
-                // Reset UI to initial state
-                currentEmployee = null;
-                hideEmployeeInfo();
-
-                // Show the lookup field again
-                enterPrompt.setVisible(true);
-                employeeLookupField.setVisible(true);
-                searchButton.setVisible(true);
-
-                // Clear the lookup field
-                employeeLookupField.setText("");
-
-                showAlert("Employee deleted successfully!");
-            } else {
-                showAlert("Error deleting employee");
-            }
+            int employeeID = currentEmployee.getID();
+            deleteEmployeeButton.setDisable(true);
+            asyncServices.call(() -> ServiceResponse.success(employeeService.deleteEmployee(employeeID)), response -> {
+                deleteEmployeeButton.setDisable(false);
+                if (response.isSuccess() && response.getData()) {
+                    // Reset UI to initial state
+                    currentEmployee = null;
+                    hideEmployeeInfo();
+
+                    // Show the lookup field again
+                    enterPrompt.setVisible(true);
+                    employeeLookupField.setVisible(true);
+                    searchButton.setVisible(true);
+
+                    // Clear the lookup field
+                    employeeLookupField.setText("");
+
+                    showAlert("Employee deleted successfully!");
+                } else {
+                    showAlert("Error deleting employee");
+                }
+            });
         }
     }
 
@@ -445,8 +459,10 @@ public class EmployeeController {
     }
 
     private void fetchEmployeeById(int employeeId) {
-        ServiceResponse<Employee> response = employeeService.findEmployeeByID(employeeId);
+        asyncServices.call(() -> employeeService.findEmployeeByID(employeeId), this::showEmployeeLookup);
+    }
 
+    private void showEmployeeLookup(ServiceResponse<Employee> response) {
         if (response.isSuccess()) {
             currentEmployee = response.getData();
             displayEmployeeInfo(currentEmployee);
@@ -457,8 +473,11 @@ public class EmployeeController {
     }
 
     private void loadAppointmentsForEmployee(int employeeId) {
-        ServiceResponse<List<Appointment>> response = appointmentService.findAppointmentsByProviderId(employeeId);
+        asyncServices.call(() -> appointmentService.findAppointmentsByProviderId(employeeId),
+                this::showEmployeeAppointments);
+    }
 
+    private void showEmployeeAppointments(ServiceResponse<List<Appointment>> response) {
         if (response.isSuccess()) {
             List<Appointment> appointments = response.getData();
             ObservableList<Appointment> appointmentData = FXCollections.observableArrayList(appointments);
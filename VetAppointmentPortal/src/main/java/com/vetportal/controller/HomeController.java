@@ -1,14 +1,18 @@
 package com.vetportal.controller;
 
-import com.vetportal.dto.ServiceResponse;
+import com.vetportal.dto.DashboardSnapshot;
+import com.vetportal.dto.Page;
 import com.vetportal.model.Appointment;
 import com.vetportal.model.Customer;
 import com.vetportal.model.Employee;
 import com.vetportal.model.Pet;
 import com.vetportal.service.AppointmentService;
+import com.vetportal.service.AsyncServices;
 import com.vetportal.service.CustomerService;
+import com.vetportal.service.DashboardService;
 import com.vetportal.service.EmployeeService;
 import com.vetportal.service.ServiceManager;
+import com.vetportal.util.PagedTableLoader;
 
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -17,13 +21,16 @@ import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
-import java.sql.Connection;
+import java.lang.System.Logger.Level;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class HomeController {
 
+    private static final System.Logger LOGGER = System.getLogger(HomeController.class.getName());
+
     @FXML private TableView<Appointment> todayTable;
     @FXML private TableColumn<Appointment, Integer> Appointment_ID;
     @FXML private TableColumn<Appointment, LocalDate> Date;
@@ -43,21 +50,34 @@ public class HomeController {
 
     @FXML private DatePicker todayDatePicker;
     @FXML private Label todayLabel;
+    @FXML private Label customersLabel;
+    @FXML private Label employeesLabel;
 
     private AppointmentService appointmentService;
     private CustomerService customerService;
     private EmployeeService employeeService;
+    private DashboardService dashboardService;
+    private AsyncServices asyncServices;
+    private PagedTableLoader<Customer> customerPages;
+    private PagedTableLoader<Employee> employeePages;
+    private CompletableFuture<Void> dashboardLoad;
+    private CompletableFuture<Void> todayLoad;
 
     @FXML
     public void initialize() {
-        // Get the AppointmentService instance
+        // Get the shared service instances
         ServiceManager serviceManager = ServiceManager.getInstance();
         appointmentService = serviceManager.getAppointmentService();
-
-        // Get connection and create services for customer and employee
-        Connection connection = serviceManager.getConnection();
-        customerService = new CustomerService(connection);
-        employeeService = new EmployeeService(connection);
+        customerService = serviceManager.getCustomerService();
+        employeeService = serviceManager.getEmployeeService();
+        dashboardService = serviceManager.getDashboardService();
+        asyncServices = serviceManager.getAsyncServices();
+        customerPages = new PagedTableLoader<>(customersTable, customerService::findCustomersPage, Page.DEFAULT_SIZE,
+                asyncServices, response -> showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to load customers", response.getMessage()));
+        employeePages = new PagedTableLoader<>(employeesTable, employeeService::findEmployeesPage, Page.DEFAULT_SIZE,
+                asyncServices, response -> showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to load employees", response.getMessage()));
 
         // Set up all tables
         setupAppointmentTable();
@@ -69,9 +89,7 @@ public class HomeController {
         todayDatePicker.setValue(today);
 
         // Load data for all tables
-        loadTodayAppointments(today);
-        loadCustomers();
-        loadEmployees();
+        loadDashboard(today);
 
         // Add listener to date picker
         todayDatePicker.valueProperty().addListener((observable, oldValue, newValue) -> {
@@ -124,67 +142,83 @@ public class HomeController {
                 new SimpleStringProperty(cellData.getValue().getPhone()));
     }
 
-    private void loadTodayAppointments(LocalDate date) {
+    // One snapshot fills all three tables; it is reused if the home page was shown moments ago.
+    // Picking a date while it loads clears dashboardLoad: the snapshot then only fills the customers and
+    // employees, so it cannot replace the date picker's appointments with its own.
+    private void loadDashboard(LocalDate date) {
         todayLabel.setText("Appointments for " + date);
 
-        // Load scheduled appointments
-        ServiceResponse<List<Appointment>> response =
-                appointmentService.findAppointmentsByDate(date);
-
-        if (response.isSuccess()) {
-            List<Appointment> appointments = response.getData();
-            ObservableList<Appointment> appointmentData =
-                    FXCollections.observableArrayList(appointments);
-            todayTable.setItems(appointmentData);
-        } else {
-            todayTable.setItems(FXCollections.observableArrayList());
-        }
-    }
+        dashboardLoad = asyncServices.call(() -> dashboardService.getSnapshot(date), response -> {
+            boolean fillAppointments = dashboardLoad != null;
+            dashboardLoad = null;
+            if (!response.isSuccess()) {
+                // Only logged: the tables are loaded one by one instead, and those loads report their own failures
+                LOGGER.log(Level.WARNING, "Failed to load dashboard: {0}", response.getMessage());
+                if (fillAppointments) {
+                    loadTodayAppointments(date);
+                }
+                loadCustomers();
+                loadEmployees();
+                return;
+            }
 
-    private void loadCustomers() {
-        try {
-            // Get all employees to use their Service Response pattern
-            ServiceResponse<List<Employee>> employeeResponse = employeeService.getAllEmployees();
-
-            if (employeeResponse.isSuccess()) {
-                List<Customer> allCustomers = customerService.getAllCustomers();
-                if (allCustomers != null) {
-                    ObservableList<Customer> customerData =
-                            FXCollections.observableArrayList(allCustomers);
-                    customersTable.setItems(customerData);
+            DashboardSnapshot snapshot = response.getData();
+            if (fillAppointments) {
+                if (snapshot.getAppointmentCount() > snapshot.getAppointments().size()) {
+                    // The snapshot only holds the first page of a busy day; the table lists the whole day
+                    loadTodayAppointments(date);
                 } else {
-                    System.err.println("Failed to load customers: No customers found");
-                    customersTable.setItems(FXCollections.observableArrayList());
+                    todayLabel.setText("Appointments for " + date + " (" + snapshot.getAppointmentCount() + ")");
+                    todayTable.setItems(FXCollections.observableArrayList(snapshot.getAppointments()));
                 }
-            } else {
-                System.err.println("Failed to initialize services");
-                customersTable.setItems(FXCollections.observableArrayList());
             }
-        } catch (Exception e) {
-            System.err.println("Error loading customers: " + e.getMessage());
-            e.printStackTrace();
-            customersTable.setItems(FXCollections.observableArrayList());
-        }
+            customersLabel.setText("Customers (" + snapshot.getCustomerCount() + ")");
+            customerPages.show(snapshot.getCustomers());
+            employeesLabel.setText("Employees (" + snapshot.getEmployeeCount() + ")");
+            employeePages.show(snapshot.getEmployees());
+        });
     }
 
-    private void loadEmployees() {
-        try {
-            // Use the getAllEmployees method from EmployeeService
-            ServiceResponse<List<Employee>> response = employeeService.getAllEmployees();
+    private void loadTodayAppointments(LocalDate date) {
+        todayLabel.setText("Appointments for " + date);
+
+        // A newer date replaces the one still loading, and the dashboard's appointments
+        if (todayLoad != null) {
+            todayLoad.cancel(false);
+        }
+        dashboardLoad = null;
 
+        // Load scheduled appointments
+        todayLoad = asyncServices.call(() -> appointmentService.findAppointmentsByDate(date), response -> {
             if (response.isSuccess()) {
-                List<Employee> employees = response.getData();
-                ObservableList<Employee> employeeData =
-                        FXCollections.observableArrayList(employees);
-                employeesTable.setItems(employeeData);
+                List<Appointment> appointments = response.getData();
+                ObservableList<Appointment> appointmentData =
+                        FXCollections.observableArrayList(appointments);
+                todayTable.setItems(appointmentData);
+                todayLabel.setText("Appointments for " + date + " (" + appointments.size() + ")");
             } else {
-                System.err.println("Failed to load employees: " + response.getMessage());
-                employeesTable.setItems(FXCollections.observableArrayList());
+                todayTable.setItems(FXCollections.observableArrayList());
             }
-        } catch (Exception e) {
-            System.err.println("Error loading employees: " + e.getMessage());
-            e.printStackTrace();
-            employeesTable.setItems(FXCollections.observableArrayList());
-        }
+        });
+    }
+
+    // Only the first page is read here; the rest load as the table is scrolled
+    private void loadCustomers() {
+        customerPages.reload();
+    }
+
+    private void loadEmployees() {
+        employeePages.reload();
+    }
+
+    /**
+     * Shows an alert dialog with the specified parameters.
+     */
+    private void showAlert(Alert.AlertType type, String title, String header, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(header);
+        alert.setContentText(content);
+        alert.showAndWait();
     }
-}
\ No newline at end of file
+}
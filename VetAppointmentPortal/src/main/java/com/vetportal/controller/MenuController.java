@@ -14,7 +14,6 @@ import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 import javafx.util.Duration;
 
-import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -68,11 +67,9 @@ public class MenuController {
     public void showCreateAppointment() {
         CreateAppointmentController controller = FXUtil.setCustomPage("/fxml/CreateAppointment.fxml");
 
-        // Now you have the controller, set the connection
+        // Now you have the controller, hand it the shared services
         if (controller != null) {
-            // Get connection from ServiceManager or another source
-            Connection conn = ServiceManager.getInstance().getConnection();
-            controller.setConnection(conn);
+            controller.setServiceManager(ServiceManager.getInstance());
         }
     }
 
@@ -4,15 +4,23 @@ import com.vetportal.exception.AppointmentConflictException;
 import com.vetportal.exception.DataAccessException;
 import com.vetportal.mapper.AppointmentMapper;
 import com.vetportal.mapper.AppointmentWithJoinMapper;
+import com.vetportal.mapper.EntityMapper;
 import com.vetportal.model.Appointment;
 import com.vetportal.model.Employee;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.QueryInstrumentation;
 
+import java.lang.System.Logger.Level;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,25 +30,71 @@ import java.util.Optional;
  * Extends the BaseDAO functionality to support Appointment table specific implementation
  *
  * Overrides the create, update, and delete methods of parent class.
+ * All queries read from AppointmentDetailView, which joins in the provider, pet and owner,
+ * so loading N appointments takes one query instead of one per appointment plus two lookups per row.
+ *
+ * When constructed with a {@link ScheduleIndex}, provider conflict checks are answered from the index
+ * and every create, update and delete is recorded in it.
  */
 public class AppointmentDAO extends BaseDAO<Appointment> {
+    // Appointment dates and times are stored as text in exactly these forms so equality filters
+    // can compare the raw columns and use the (provider, appointment_date, time) index
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
     private final EmployeeDAO employeeDAO;
     private final PetDAO petDAO;
     private final AppointmentWithJoinMapper joinMapper;
+    // null when conflict checks go to the database
+    private final ScheduleIndex scheduleIndex;
 
     public AppointmentDAO(Connection connection, EmployeeDAO employeeDAO, PetDAO petDAO) {
         super(connection, new AppointmentMapper(employeeDAO, petDAO));
         this.employeeDAO = employeeDAO;
         this.petDAO = petDAO;
         this.joinMapper = new AppointmentWithJoinMapper();
+        this.scheduleIndex = null;
+    }
+
+    public AppointmentDAO(ConnectionProvider connectionProvider, EmployeeDAO employeeDAO, PetDAO petDAO) {
+        this(connectionProvider, employeeDAO, petDAO, null);
+    }
+
+    public AppointmentDAO(ConnectionProvider connectionProvider, EmployeeDAO employeeDAO, PetDAO petDAO,
+                          ScheduleIndex scheduleIndex) {
+        super(connectionProvider, new AppointmentMapper(employeeDAO, petDAO));
+        this.employeeDAO = employeeDAO;
+        this.petDAO = petDAO;
+        this.joinMapper = new AppointmentWithJoinMapper();
+        this.scheduleIndex = scheduleIndex;
+    }
+
+
+    @Override
+    protected String getSelectSource() {
+        return "AppointmentDetailView";
     }
 
+    @Override
+    protected EntityMapper<Appointment> getSelectMapper() {
+        return joinMapper;
+    }
 
     @Override
     protected List<String> getOrderedAttributes() {
         return List.of("appointment_date", "time", "provider", "appointment_type", "pet");
     }
 
+    // Listings run in schedule order along idx_appointment_date_time, whose entries end in the rowid
+    @Override
+    protected List<String> getPageKeyColumns() {
+        return List.of("appointment_date", "time", "appointment_id");
+    }
+
+    @Override
+    protected Object[] getPageKey(Appointment appointment) {
+        return new Object[]{formatDate(appointment.getDate()), formatTime(appointment.getTime()), appointment.getID()};
+    }
+
     @Override
     protected void setCreateStatement(PreparedStatement statement, Appointment appointment) throws SQLException {
         setNonIdAttributes(statement, appointment);
@@ -54,8 +108,8 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
 
     // These lines shared between previous two methods. prevents unnecessary duplication
     protected void setNonIdAttributes(PreparedStatement statement, Appointment appointment) throws SQLException {
-        statement.setString(1, appointment.getDate().toString());
-        statement.setString(2, appointment.getTime().toString());
+        statement.setString(1, formatDate(appointment.getDate()));
+        statement.setString(2, formatTime(appointment.getTime()));
         statement.setInt(3, appointment.getProvider().getID());
         statement.setString(4, appointment.getAppointmentType().name());
         statement.setInt(5, appointment.getPet().getID());
@@ -78,13 +132,23 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
         Employee provider = appointment.getProvider();
 
         // DB constraint specifies that only Vets can perform non-vaccine appointments
-        if (!"VETERINARIAN".equals(provider.getRole().name()) &&
-                !"VACCINATION".equals(appointment.getAppointmentType().name())) {
+        if (!appointment.getAppointmentType().canBePerformedBy(provider.getRole())) {
             throw new AppointmentConflictException("Only veterinarians can perform non-vaccination appointments.");
         }
 
+        // With an index the common double booking is caught without a round trip;
+        // the UNIQUE constraint still guards against anything the index has not seen
+        if (scheduleIndex != null && scheduleIndex.isTaken(
+                provider.getID(), appointment.getDate(), appointment.getTime(), null)) {
+            throw new AppointmentConflictException("This provider already has an appointment at this time.");
+        }
+
         try {
-            return super.create(appointment);
+            boolean created = super.create(appointment);
+            if (created && scheduleIndex != null) {
+                scheduleIndex.recordCreate(appointment);
+            }
+            return created;
 
         } catch (DataAccessException e) {
 
@@ -96,6 +160,75 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
     }
 
 
+    /**
+     * Inserts the appointments in one transaction, checking each provider's role first.
+     *
+     * @param appointments the appointments to insert, in order
+     * @param batchSize the number of rows sent to SQLite per executeBatch call
+     * @return the IDs assigned to the appointments, in the same order
+     * @throws DataAccessException if a database error occurs; none of the appointments are inserted
+     * @throws AppointmentConflictException if a provider cannot perform an appointment's type or is
+     *      already booked at its time; none of the appointments are inserted
+     */
+    @Override
+    public List<Integer> createAll(Collection<Appointment> appointments, int batchSize) {
+        checkProviderRoles(appointments);
+
+        List<Integer> ids;
+        try {
+            ids = super.createAll(appointments, batchSize);
+        } catch (DataAccessException e) {
+            if (e.getMessage().contains("SQLITE_CONSTRAINT_UNIQUE")) {
+                throw new AppointmentConflictException("A provider already has an appointment at one of these times.", e);
+            }
+            throw new DataAccessException("Error creating appointments", e);
+        }
+
+        if (scheduleIndex != null) {
+            appointments.forEach(scheduleIndex::recordCreate);
+        }
+        return ids;
+    }
+
+
+    /**
+     * Updates the appointments in one transaction, checking each provider's role first.
+     *
+     * @param appointments the appointments to update
+     * @param batchSize the number of rows sent to SQLite per executeBatch call
+     * @return the number of appointments that were updated
+     * @throws DataAccessException if a database error occurs; none of the updates are kept
+     * @throws AppointmentConflictException if a provider cannot perform an appointment's type or is
+     *      already booked at its new time; none of the updates are kept
+     */
+    @Override
+    public int updateAll(Collection<Appointment> appointments, int batchSize) {
+        checkProviderRoles(appointments);
+
+        try {
+            return super.updateAll(appointments, batchSize);
+        } catch (DataAccessException e) {
+            if (e.getMessage().contains("SQLITE_CONSTRAINT_UNIQUE")) {
+                throw new AppointmentConflictException("A provider already has an appointment at one of these times.", e);
+            }
+            throw new DataAccessException("Error updating appointments", e);
+        } finally {
+            // Cheaper to reload the touched days on demand than to work out which of them moved
+            if (scheduleIndex != null) {
+                scheduleIndex.invalidateAll();
+            }
+        }
+    }
+
+    private static void checkProviderRoles(Collection<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            if (!appointment.getAppointmentType().canBePerformedBy(appointment.getProvider().getRole())) {
+                throw new AppointmentConflictException("Only veterinarians can perform non-vaccination appointments.");
+            }
+        }
+    }
+
+
     /**
      * Updates an appointment based on the values in the Appointment object argument.
      *
@@ -109,27 +242,31 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
      */
     @Override
     public boolean update(Appointment appointment) {
-        // Check to ensure db constraint that (provider, date, time) must be unique
-        if (isProviderSlotTaken(
-                appointment.getProvider().getID(),
-                appointment.getDate().toString(),
-                appointment.getTime().toString(),
-                appointment.getID())) {
-            throw new AppointmentConflictException("This provider already has an appointment at this date/time.");
-        }
-
         Employee provider = appointment.getProvider();
 
         // Check to ensure db constraint on which providers can offer a given service
-        if (!"VETERINARIAN".equals(provider.getRole().name()) &&
-                !"VACCINATION".equals(appointment.getAppointmentType().name())) {
+        if (!appointment.getAppointmentType().canBePerformedBy(provider.getRole())) {
             throw new AppointmentConflictException("Only veterinarians can perform non-vaccination appointments.");
         }
 
+        // As in create(), the index catches a double booking without a round trip and the
+        // UNIQUE constraint catches the rest, so no query runs before the update
+        if (scheduleIndex != null && scheduleIndex.isTaken(
+                provider.getID(), appointment.getDate(), appointment.getTime(), appointment.getID())) {
+            throw new AppointmentConflictException("This provider already has an appointment at this date/time.");
+        }
+
         try {
-            return super.update(appointment);
+            boolean updated = super.update(appointment);
+            if (updated && scheduleIndex != null) {
+                scheduleIndex.recordUpdate(appointment);
+            }
+            return updated;
 
         } catch (DataAccessException e) {
+            if (e.getMessage().contains("SQLITE_CONSTRAINT_UNIQUE")) {
+                throw new AppointmentConflictException("This provider already has an appointment at this date/time.", e);
+            }
             throw new DataAccessException("Error updating appointment", e);
         }
     }
@@ -138,25 +275,30 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
      * Deletes an appointment by ID.
      *
      * @param appointmentId The ID of the appointment to delete
-     * @return true if the appointment was deleted, false otherwise
+     * @return true if the appointment was deleted, false if no appointment has that ID
      * @throws DataAccessException if a database error occurs
      */
     @Override
     public boolean delete(Integer appointmentId) {
-        // Fetch appointment
-        Optional<Appointment> appointment = this.findByID(appointmentId);
-
-        // Check to make sure optional type contains a value before attempting to delete
-        if (appointment.isEmpty()) {
-            System.out.println("No appointment found with ID: " + appointmentId);
-            return false;
+        // The affected-row count tells a missing appointment apart, so there is no lookup first
+        boolean deleted = super.delete(appointmentId);
+        if (!deleted) {
+            logger.log(Level.DEBUG, () -> "No appointment found with ID: " + appointmentId);
+        } else if (scheduleIndex != null) {
+            scheduleIndex.recordDelete(appointmentId);
         }
-
-        return super.delete(appointmentId);
+        return deleted;
     }
 
     // ------------------   QUERY METHODS -------------------
 
+    /**
+     * @return the schedule index this DAO keeps current, or null if it has none
+     */
+    public ScheduleIndex getScheduleIndex() {
+        return scheduleIndex;
+    }
+
 
     /**
      * Retrieves all appointments scheduled for a specific date.
@@ -170,13 +312,60 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
      * @throws DataAccessException if a database error occurs
      */
     public List<Appointment> findAllAppointmentsByDate(LocalDate date) {
+        // SQLite reads a negative LIMIT as no limit
+        return findAppointmentsByDate(date, -1);
+    }
+
+
+    /**
+     * Retrieves the first appointments scheduled for a specific date.
+     *
+     * @param date The date to search for appointments
+     * @param limit The maximum number of appointments to return
+     * @return Up to {@code limit} appointments on the date, ordered by time
+     * @throws IllegalArgumentException if limit is less than 1
+     * @throws DataAccessException if a database error occurs
+     */
+    public List<Appointment> findFirstAppointmentsByDate(LocalDate date, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return findAppointmentsByDate(date, limit);
+    }
+
+
+    /**
+     * Counts the appointments scheduled for a specific date, reading only the date index.
+     *
+     * @param date The date to count appointments for
+     * @return the number of appointments on the date
+     * @throws DataAccessException if a database error occurs
+     */
+    public int countAppointmentsByDate(LocalDate date) {
+        String query = "SELECT COUNT(*) FROM Appointment WHERE appointment_date = ?";
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, query)) {
+            statement.setString(1, formatDate(date));
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error counting appointments by date", e);
+        }
+    }
+
+
+    private List<Appointment> findAppointmentsByDate(LocalDate date, int limit) {
        // Uses the AppointmentDetailView table view to execute the join to reduce method clutter.
-        String query = "SELECT * FROM AppointmentDetailView WHERE appointment_date = ? ORDER BY time";
+        String query = "SELECT * FROM AppointmentDetailView WHERE appointment_date = ? ORDER BY time LIMIT ?";
 
         List<Appointment> appointments = new ArrayList<>();
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setString(1, date.toString()); // format 'YYYY-MM-DD'
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, query)) {
+            statement.setString(1, formatDate(date)); // format 'YYYY-MM-DD'
+            statement.setInt(2, limit);
             ResultSet rs = statement.executeQuery();
 
             while (rs.next()) {
@@ -191,6 +380,52 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
     }
 
 
+    /**
+     * Retrieves the appointments of every pet a customer owns, in one query.
+     * The view is searched through the pet owner index and each pet's (pet, appointment_date, time)
+     * index, so no table is scanned.
+     *
+     * @param customerID The ID of the customer (pet owner)
+     * @param from the first day to include, or null for no lower bound
+     * @param to the last day to include, or null for no upper bound
+     * @return the customer's appointments ordered by date and time, empty if there are none
+     * @throws DataAccessException if a database error occurs
+     */
+    public List<Appointment> findAppointmentsByCustomerId(int customerID, LocalDate from, LocalDate to) {
+        StringBuilder query = new StringBuilder("SELECT * FROM AppointmentDetailView WHERE owner = ?");
+        if (from != null) {
+            query.append(" AND appointment_date >= ?");
+        }
+        if (to != null) {
+            query.append(" AND appointment_date <= ?");
+        }
+        query.append(" ORDER BY appointment_date, time, appointment_id");
+
+        List<Appointment> appointments = new ArrayList<>();
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, query.toString())) {
+            int index = 1;
+            statement.setInt(index++, customerID);
+            if (from != null) {
+                statement.setString(index++, formatDate(from));
+            }
+            if (to != null) {
+                statement.setString(index, formatDate(to));
+            }
+            ResultSet rs = statement.executeQuery();
+
+            while (rs.next()) {
+                appointments.add(joinMapper.mapResultSetToEntity(rs));
+            }
+
+            return appointments;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding appointments by customer", e);
+        }
+    }
+
+
     /**
      * Finds all appointments for a specific pet.
      *
@@ -217,9 +452,123 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
     }
 
 
+    /**
+     * Returns the start times of every appointment a provider has on a given day.
+     * One covering-index seek on the unique (provider, appointment_date, time) index.
+     *
+     * @param providerId The ID of the provider (employee)
+     * @param date The day to look at
+     * @return the booked start times, earliest first
+     * @throws DataAccessException if a database error occurs
+     */
+    public List<LocalTime> findBookedTimes(int providerId, LocalDate date) {
+        String sql = "SELECT time FROM Appointment WHERE provider = ? AND appointment_date = ? ORDER BY time";
+
+        List<LocalTime> times = new ArrayList<>();
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
+            statement.setInt(1, providerId);
+            statement.setString(2, formatDate(date));
+            ResultSet rs = statement.executeQuery();
+
+            while (rs.next()) {
+                times.add(LocalTime.parse(rs.getString("time")));
+            }
+            return times;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding booked times for provider", e);
+        }
+    }
+
+
+    /**
+     * Receives one booked appointment time from {@link #forEachBookedTime}.
+     */
+    @FunctionalInterface
+    public interface BookedTimeHandler {
+        void accept(int providerId, LocalDate date, LocalTime time);
+    }
+
+    /**
+     * Passes the provider, date and time of every appointment the given providers have in a date range
+     * to the handler, in no particular order. One query that seeks the unique (provider, appointment_date,
+     * time) index once per provider and reads nothing but the index.
+     *
+     * @param providerIds The IDs of the providers to look at; must not be empty
+     * @param from The first day of the range
+     * @param to The last day of the range (inclusive)
+     * @param handler Called once per appointment
+     * @throws DataAccessException if a database error occurs
+     */
+    public void forEachBookedTime(List<Integer> providerIds, LocalDate from, LocalDate to, BookedTimeHandler handler) {
+        String placeholders = String.join(", ", Collections.nCopies(providerIds.size(), "?"));
+        String sql = "SELECT provider, appointment_date, time FROM Appointment "
+                + "WHERE provider IN (" + placeholders + ") AND appointment_date BETWEEN ? AND ?";
+
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
+            int index = 1;
+            for (Integer providerId : providerIds) {
+                statement.setInt(index++, providerId);
+            }
+            statement.setString(index++, formatDate(from));
+            statement.setString(index, formatDate(to));
+            ResultSet rs = statement.executeQuery();
+
+            while (rs.next()) {
+                handler.accept(rs.getInt(1), LocalDate.parse(rs.getString(2)), LocalTime.parse(rs.getString(3)));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error finding booked times in date range", e);
+        }
+    }
+
+
+    /**
+     * Formats a date the way appointment dates are stored ('YYYY-MM-DD').
+     *
+     * @param date the date to format
+     * @return the stored form of the date
+     */
+    public static String formatDate(LocalDate date) {
+        return date.toString();
+    }
+
+    /**
+     * Formats a time the way appointment times are stored ('HH:MM'). Seconds are dropped.
+     *
+     * @param time the time to format
+     * @return the stored form of the time
+     */
+    public static String formatTime(LocalTime time) {
+        return TIME_FORMAT.format(time);
+    }
+
+    /**
+     * Checks if a provider is already booked at a specific date and time.
+     * This method is used to enforce the unique constraint on (provider, date, time) in Appointment table.
+     *
+     * @param providerId The ID of the provider to check
+     * @param date The date to check
+     * @param time The time to check
+     * @param excludeAppointmentId The ID of an appointment to exclude from the check (used for updates),
+     *                             or null to check every appointment
+     * @return true if the provider is already booked at the specified date and time, false otherwise
+     * @throws DataAccessException if a database error occurs
+     */
+    public boolean isProviderSlotTaken(int providerId, LocalDate date, LocalTime time, Integer excludeAppointmentId) {
+        if (scheduleIndex != null) {
+            return scheduleIndex.isTaken(providerId, date, time, excludeAppointmentId);
+        }
+        return isProviderSlotTaken(providerId, formatDate(date), formatTime(time),
+                excludeAppointmentId != null ? excludeAppointmentId : 0);
+    }
+
     /**
      * Checks if a provider is already booked at a specific date and time.
      * This method is used to enforce the unique constraint on (provider, date, time) in Appointment table.
+     * The date and time must be in their stored forms, see {@link #formatDate} and {@link #formatTime}.
      *
      * @param providerId The ID of the provider to check
      * @param date The date to check
@@ -229,15 +578,17 @@ public class AppointmentDAO extends BaseDAO<Appointment> {
      * @throws DataAccessException if a database error occurs
      */
     public boolean isProviderSlotTaken(int providerId, String date, String time, Integer excludeAppointmentId) {
-       // Query to check if a provider already has an appointment at the specified date and time
+       // Query to check if a provider already has an appointment at the specified date and time.
+       // Compares the raw columns so SQLite can seek the unique (provider, appointment_date, time) index
         String sql = """
         SELECT 1 FROM Appointment
-        WHERE provider = ? AND date(appointment_date) = ? AND time = ?
+        WHERE provider = ? AND appointment_date = ? AND time = ?
         AND appointment_id != ?
         LIMIT 1
         """;
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
             statement.setInt(1, providerId);
             statement.setString(2, date);
             statement.setString(3, time);
@@ -1,24 +1,60 @@
 package com.vetportal.dao;
 
+import com.vetportal.dto.Page;
 import com.vetportal.mapper.EntityMapper;
+import com.vetportal.mapper.IdentityMap;
 import com.vetportal.exception.DataAccessException;
+import com.vetportal.model.Identifiable;
+import com.vetportal.util.ConnectionProvider;
 import com.vetportal.util.DbManager;
+import com.vetportal.util.QueryInstrumentation;
 
+import java.lang.System.Logger.Level;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base abstract DAO implementation providing common CRUD operations.
  * Child classes should extend this to use for core functionality
  * only implementing entity-specific methods.
  *
+ * The generated SQL only depends on the entity type (and, for filters, on which columns are filtered),
+ * so each statement is built once per DAO and reused. Pooled connections additionally keep the
+ * prepared statements, so repeated calls skip both building and compiling the SQL.
+ *
+ * Each DAO logs to a {@link System.Logger} named after its class. Routine messages are at DEBUG and
+ * built lazily, so they cost nothing unless that level is enabled. Database errors are logged at DEBUG
+ * too, because they are rethrown as {@link DataAccessException} for the service layer to report.
+ *
  * @param <T> the entity type this DAO manages
  */
-public abstract class BaseDAO<T> implements GenericDAO<T> {
+public abstract class BaseDAO<T extends Identifiable> implements GenericDAO<T> {
+
+    /** Rows sent to SQLite per executeBatch call by {@link #createAll(Collection)} and {@link #updateAll(Collection)}. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** Rows the driver is asked to fetch at a time by {@link #streamAll()} and {@link #streamAllByAttributes(Map)}. */
+    public static final int DEFAULT_FETCH_SIZE = 256;
 
-    protected Connection connection;
+    protected ConnectionProvider connectionProvider;
     protected EntityMapper<T> mapper;
+    protected final System.Logger logger = System.getLogger(getClass().getName());
+
+    // Generated SQL, built on first use. Racing threads build identical strings, so no locking is needed
+    private volatile String createQuery;
+    private volatile String createReturningQuery;
+    private volatile String updateQuery;
+    private volatile String deleteQuery;
+    private volatile String findAllQuery;
+    private volatile String firstPageQuery;
+    private volatile String nextPageQuery;
+    // filtered columns, in the order their values are bound -> SELECT statement
+    private final Map<List<String>, String> selectQueries = new ConcurrentHashMap<>();
 
 
     /**
@@ -29,17 +65,29 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
      * @param mapper the entity mapper for converting between database records and Java class attributes
      */
     public BaseDAO(Connection connection, EntityMapper<T> mapper) {
-        this.connection = connection;
-        this.mapper = mapper;
+        this(ConnectionProvider.of(connection), mapper);
 
         try {
-            DbManager.ensureForeignKeysEnabled();
+            DbManager.ensureForeignKeysEnabled(connection);
         } catch (SQLException e) {
-            System.err.println("Warning: Failed to ensure foreign keys are enabled: " + e.getMessage());
+            logger.log(Level.WARNING, "Failed to ensure foreign keys are enabled", e);
         }
     }
 
 
+    /**
+     * Constructs a new BaseDAO that borrows a connection from the given provider for every operation.
+     * Queries use read connections and inserts, updates and deletes use the write connection.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param mapper the entity mapper for converting between database records and Java class attributes
+     */
+    public BaseDAO(ConnectionProvider connectionProvider, EntityMapper<T> mapper) {
+        this.connectionProvider = connectionProvider;
+        this.mapper = mapper;
+    }
+
+
     // --------------------  ABSTRACT METHODS -------------------
 
 
@@ -75,6 +123,28 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
     // ----------------------  CONCRETE METHODS --------------------
 
 
+    /**
+     * Returns the table or view that SELECT queries read from.
+     * Defaults to the entity's table. Subclasses can point reads at a view that already joins in
+     * related entities so each row can be mapped without further lookups.
+     *
+     * @return the name of the table or view to select from
+     */
+    protected String getSelectSource() {
+        return mapper.getTableName();
+    }
+
+
+    /**
+     * Returns the mapper used for rows read from {@link #getSelectSource()}.
+     *
+     * @return the mapper for query results, the entity mapper by default
+     */
+    protected EntityMapper<T> getSelectMapper() {
+        return mapper;
+    }
+
+
     /**
      * Helper method that builds an SQL INSERT query for this entity type.
      * Uses the ordered attribute list to ensure consistent column order.
@@ -145,7 +215,54 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
      * @return a SQL SELECT statement to retrieve all records
      */
     protected String getFindAllQuery() {
-        return "SELECT * FROM " + mapper.getTableName();
+        return "SELECT * FROM " + getSelectSource();
+    }
+
+
+    /**
+     * Returns the columns that give this entity's listing order for {@link #findPage}.
+     * The last column must be the primary key so that every row has a distinct position.
+     * Defaults to the primary key alone; subclasses list the columns of an index that covers the order.
+     *
+     * @return the ordering columns of {@link #getSelectSource()}, most significant first
+     */
+    protected List<String> getPageKeyColumns() {
+        return List.of(mapper.getJavaToDbAttributeMap().get("id"));
+    }
+
+
+    /**
+     * Returns an entity's values for the {@link #getPageKeyColumns() page key columns}, in the same
+     * order and in the form they are stored in.
+     *
+     * @param entity the last entity of the previous page
+     * @return the values a following page starts after
+     */
+    protected Object[] getPageKey(T entity) {
+        return new Object[]{entity.getID()};
+    }
+
+
+    /**
+     * Helper method that builds an SQL SELECT query for one page of a keyset-paginated listing.
+     *
+     * Rows come back in page key order. When {@code after} is true the query only returns rows
+     *      whose page key is greater than the bound one, written as a row value comparison so SQLite
+     *      can start the index scan right at that row.
+     *
+     * @param after true for the query that continues after a given row, false for the first page
+     * @return a SQL SELECT statement whose last placeholder is the row limit
+     */
+    protected String getPageQuery(boolean after) {
+        List<String> keyColumns = getPageKeyColumns();
+        String columns = String.join(", ", keyColumns);
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(getSelectSource());
+        if (after) {
+            String placeholders = keyColumns.stream().map(column -> "?").collect(Collectors.joining(", "));
+            sql.append(" WHERE (").append(columns).append(") > (").append(placeholders).append(")");
+        }
+        return sql.append(" ORDER BY ").append(columns).append(" LIMIT ?").toString();
     }
 
 
@@ -168,7 +285,146 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
                 .toArray(String[]::new);
 
         // after the WHERE keyword add each condition in the array joined with "AND" to complete the query
-        return "SELECT * FROM " + mapper.getTableName() + " WHERE " + String.join(" AND ", conditions);
+        return "SELECT * FROM " + getSelectSource() + " WHERE " + String.join(" AND ", conditions);
+    }
+
+
+    /**
+     * Returns the SELECT statement for a set of filter columns, building it on first use.
+     * The placeholders follow the iteration order of {@code dbAttributes}, so the values must be
+     * bound in that same order.
+     */
+    private String selectQueryFor(Map<String, String> dbAttributes) {
+        List<String> columns = List.copyOf(dbAttributes.keySet());
+        return selectQueries.computeIfAbsent(columns, key -> buildSelectQuery(dbAttributes));
+    }
+
+    private String createQuery() {
+        String sql = createQuery;
+        if (sql == null) {
+            createQuery = sql = getCreateQuery();
+        }
+        return sql;
+    }
+
+    // The INSERT followed by RETURNING <id column>, so the new id comes back from the insert itself
+    private String createReturningQuery() {
+        String sql = createReturningQuery;
+        if (sql == null) {
+            createReturningQuery = sql = createQuery() + " RETURNING " + mapper.getJavaToDbAttributeMap().get("id");
+        }
+        return sql;
+    }
+
+    private String updateQuery() {
+        String sql = updateQuery;
+        if (sql == null) {
+            updateQuery = sql = getUpdateQuery();
+        }
+        return sql;
+    }
+
+    private String deleteQuery() {
+        String sql = deleteQuery;
+        if (sql == null) {
+            deleteQuery = sql = getDeleteQuery();
+        }
+        return sql;
+    }
+
+    private String findAllQuery() {
+        String sql = findAllQuery;
+        if (sql == null) {
+            findAllQuery = sql = getFindAllQuery();
+        }
+        return sql;
+    }
+
+    private String pageQuery(boolean after) {
+        String sql = after ? nextPageQuery : firstPageQuery;
+        if (sql == null) {
+            sql = getPageQuery(after);
+            if (after) {
+                nextPageQuery = sql;
+            } else {
+                firstPageQuery = sql;
+            }
+        }
+        return sql;
+    }
+
+
+    /**
+     * Work done on the write connection that may throw SQLException.
+     */
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Runs the work in a transaction on the given write connection. Starts and commits one if the
+     * connection is in auto-commit mode, rolling back on failure; otherwise the work joins the
+     * transaction that is already open and the caller decides its outcome. A joined call runs under a
+     * savepoint that is rolled back if the work fails, so a caller that handles the exception and commits
+     * keeps none of its rows either way.
+     */
+    private static void inTransaction(Connection connection, SqlWork work) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                work.run();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback(savepoint);
+                throw e;
+            } finally {
+                // ROLLBACK TO leaves the savepoint open in SQLite, so it is released either way
+                connection.releaseSavepoint(savepoint);
+            }
+            return;
+        }
+
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // Sends one batch of inserts and sets the ids they were given on the entities
+    private static <E extends Identifiable> void executeCreateBatch(PreparedStatement statement, PreparedStatement lastId,
+                                                                    List<E> batch, List<Integer> ids) throws SQLException {
+        int[] counts = statement.executeBatch();
+        if (sum(counts) != batch.size()) {
+            throw new SQLException("Expected " + batch.size() + " rows to be inserted but " + sum(counts) + " were");
+        }
+
+        int last;
+        try (ResultSet rs = lastId.executeQuery()) {
+            rs.next();
+            last = rs.getInt(1);
+        }
+
+        int id = last - batch.size() + 1;
+        for (E entity : batch) {
+            entity.setID(id);
+            ids.add(id);
+            id++;
+        }
+        batch.clear();
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
     }
 
 
@@ -188,8 +444,10 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
         // to work with any class, entity type, or number of parameters
 
         List<T> results = new ArrayList<>();
+        EntityMapper<T> selectMapper = getSelectMapper();
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, query)) {
 
             // Loop through the array of parameters (values to be used in the query)
             for (int i = 0; i < params.length; i++) {
@@ -204,10 +462,10 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
             while (rs.next()) {
                 try {
                     // Uses mapper class of subclass T (all subclasses have defined mappers)
-                    T entity = mapper.mapResultSetToEntity(rs);
+                    T entity = selectMapper.mapResultSetToEntity(rs);
                     results.add(entity);
                 } catch (SQLException e) {
-                    System.err.println("Error mapping entity from result set: " + e.getMessage());
+                    logger.log(Level.DEBUG, () -> "Error mapping entity from result set", e);
                     throw e;
                 }
             }
@@ -217,6 +475,83 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
     }
 
 
+    /**
+     * Executes a SQL query and returns its results as a lazily populated stream.
+     *
+     * Rows are read from the open ResultSet and mapped only as the stream is consumed, so memory use
+     *      does not grow with the size of the result. The read connection stays borrowed until the
+     *      stream is closed, so callers must close it (try-with-resources) on the thread that opened it.
+     *
+     * @param query the SQL query to execute
+     * @param params the parameter values to use in the query
+     * @param fetchSize the number of rows the driver is asked to fetch at a time
+     * @return a stream of entities matching the query that must be closed after use
+     * @throws SQLException if the query cannot be executed
+     */
+    protected Stream<T> executeQueryForStream(String query, Object[] params, int fetchSize) throws SQLException {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be at least 1");
+        }
+        EntityMapper<T> selectMapper = getSelectMapper();
+
+        Connection connection = connectionProvider.getReadConnection();
+        PreparedStatement statement = null;
+        ResultSet rs;
+        try {
+            statement = QueryInstrumentation.prepare(connection, query);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            rs = statement.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeAll(null, statement, connection);
+            throw e;
+        }
+
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(selectMapper.mapResultSetToEntity(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error reading from " + mapper.getTableName() + ": " + e.getMessage(), e);
+                }
+            }
+        };
+
+        PreparedStatement opened = statement;
+        return StreamSupport.stream(rows, false).onClose(() -> closeAll(rs, opened, connection));
+    }
+
+    // Closes in reverse order of opening; the connection goes back to the provider last even if
+    // closing the result set or statement fails. Any of them may be null if opening stopped early.
+    private static void closeAll(ResultSet rs, Statement statement, Connection connection) {
+        SQLException failure = null;
+        for (AutoCloseable resource : new AutoCloseable[]{rs, statement, connection}) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e instanceof SQLException sqlException ? sqlException : new SQLException(e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new DataAccessException("Error closing result stream: " + failure.getMessage(), failure);
+        }
+    }
+
+
     /**
      * Translates Java attribute names to database column names using the entity's mapper.
      *
@@ -253,7 +588,7 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
 
     /**
      * Creates a new entity in the database.
-     * Attempts to set the assigned autoincremented ID in the entity object.
+     * Sets the assigned autoincremented ID on the entity object.
      *
      * @param entity the entity to create
      * @return true if the entity was created successfully, false otherwise
@@ -261,42 +596,31 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
      */
     @Override
     public boolean create(T entity) {
-        String sql = getCreateQuery();
-        System.out.println("Executing SQL: " + sql);
-
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        String sql = createReturningQuery();
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
             // use subclass's setCreateStatement method to assign entity's values to
             // statement placeholders
             setCreateStatement(statement, entity);
 
-            int rowsAffected = statement.executeUpdate();
-            System.out.println("Rows affected: " + rowsAffected);
-
-            if (rowsAffected > 0) {
-                try (Statement idStatement = connection.createStatement();
-
-                     // Since id is autoincremented by db we need to retrieve the assigned id
-                     ResultSet rs = idStatement.executeQuery("SELECT last_insert_rowid()")) {
-                    if (rs.next()) {
-                        int newEntryID = rs.getInt(1); // first column of current row of rs = the id field
-                        System.out.println("Last inserted ID: " + newEntryID);
-
-                        try {
-                            // We don't know what specific type it will be until runtime. So this uses Java's reflection methods
-                            // to get the setID method for the entity object and calls it, passing the newly assigned ID value
-                            // It is important for every entity class to have a setID method.
-                            java.lang.reflect.Method setIdMethod = entity.getClass().getMethod("setID", Integer.class);
-                            setIdMethod.invoke(entity, newEntryID);
-                        } catch (Exception e) {
-                            System.out.println("Could not set ID on entity: " + e.getMessage());
-                        }
-                    }
+            // The insert runs on the first step and returns one row holding the assigned id.
+            // Reading to the end finishes the statement before the connection is handed back
+            Integer newEntryID = null;
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    newEntryID = rs.getInt(1);
                 }
-                return true;
             }
-            return false;
+            IdentityMap.clear();
+
+            if (newEntryID == null) {
+                return false;
+            }
+            entity.setID(newEntryID);
+            logger.log(Level.DEBUG, () -> "Inserted " + mapper.getTableName() + " row " + entity.getID());
+            return true;
         } catch (SQLException e) {
-            System.err.println("SQL Error in create(): " + e.getMessage());
+            logger.log(Level.DEBUG, () -> "SQL error in create()", e);
             // Checks for UNIQUE constraint violations
             if (e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed")) {
                 throw new DataAccessException("Duplicate entry detected: " + e.getMessage(), e);
@@ -317,22 +641,157 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
     public boolean update(T entity) {
         // Each subclass is responsible for setting the update and set  query parameters since
         // Each table has a different number of attributes of different types
-        String sql = getUpdateQuery();
+        String sql = updateQuery();
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
             setUpdateStatement(statement, entity);
 
             int rowsAffected = statement.executeUpdate();
-            System.out.println("Rows affected: " + rowsAffected);
+            IdentityMap.clear();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("SQL Error in update(): " + e.getMessage());
-            e.printStackTrace();
+            logger.log(Level.DEBUG, () -> "SQL error in update()", e);
             throw new DataAccessException("Error updating record: " + e.getMessage(), e);
         }
     }
 
 
+    /**
+     * Inserts every entity in one transaction, {@link #DEFAULT_BATCH_SIZE} rows per JDBC batch.
+     *
+     * @param entities the entities to insert, in order
+     * @return the IDs assigned to the entities, in the same order
+     * @throws DataAccessException if any insert fails; none of the entities are inserted
+     */
+    @Override
+    public List<Integer> createAll(Collection<T> entities) {
+        return createAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+
+    /**
+     * Inserts every entity in one transaction using JDBC batches of {@code batchSize} rows, and sets the
+     * assigned ID on each entity. If the calling thread already has a transaction open on the write
+     * connection the inserts join it and are committed or rolled back by the caller; if they fail, the
+     * rows already inserted by this call are rolled back before the exception reaches the caller.
+     * <p>
+     * The IDs are worked out from {@code last_insert_rowid()} after each batch. Every table has an
+     * AUTOINCREMENT key and the writer connection is held for the whole call, so the rows of a batch are
+     * numbered consecutively.
+     *
+     * @param entities the entities to insert, in order
+     * @param batchSize the number of rows sent to SQLite per executeBatch call
+     * @return the IDs assigned to the entities, in the same order
+     * @throws IllegalArgumentException if batchSize is less than 1
+     * @throws DataAccessException if any insert fails; none of the entities are inserted
+     */
+    public List<Integer> createAll(Collection<T> entities, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        List<Integer> ids = new ArrayList<>(entities.size());
+        if (entities.isEmpty()) {
+            return ids;
+        }
+
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            inTransaction(connection, () -> {
+                List<T> batch = new ArrayList<>(Math.min(batchSize, entities.size()));
+                try (PreparedStatement statement = QueryInstrumentation.prepare(connection, createQuery());
+                     PreparedStatement lastId = QueryInstrumentation.prepare(connection, "SELECT last_insert_rowid()")) {
+                    for (T entity : entities) {
+                        setCreateStatement(statement, entity);
+                        statement.addBatch();
+                        batch.add(entity);
+
+                        if (batch.size() == batchSize) {
+                            executeCreateBatch(statement, lastId, batch, ids);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        executeCreateBatch(statement, lastId, batch, ids);
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            // The entities keep the IDs of rows that were rolled back; clear them again
+            entities.forEach(entity -> entity.setID(null));
+            if (e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed")) {
+                throw new DataAccessException("Duplicate entry detected: " + e.getMessage(), e);
+            }
+            throw new DataAccessException("Error creating records: " + e.getMessage(), e);
+        } finally {
+            IdentityMap.clear();
+        }
+
+        logger.log(Level.DEBUG, () -> "Inserted " + ids.size() + " rows into " + mapper.getTableName());
+        return ids;
+    }
+
+
+    /**
+     * Updates every entity in one transaction, {@link #DEFAULT_BATCH_SIZE} rows per JDBC batch.
+     *
+     * @param entities the entities to update
+     * @return the number of rows that were updated; entities whose ID matches no row are skipped
+     * @throws DataAccessException if any update fails; none of the updates are kept
+     */
+    @Override
+    public int updateAll(Collection<T> entities) {
+        return updateAll(entities, DEFAULT_BATCH_SIZE);
+    }
+
+
+    /**
+     * Updates every entity in one transaction using JDBC batches of {@code batchSize} rows. If the
+     * calling thread already has a transaction open on the write connection the updates join it, and
+     * a failure undoes only the updates made by this call.
+     *
+     * @param entities the entities to update
+     * @param batchSize the number of rows sent to SQLite per executeBatch call
+     * @return the number of rows that were updated; entities whose ID matches no row are skipped
+     * @throws IllegalArgumentException if batchSize is less than 1
+     * @throws DataAccessException if any update fails; none of the updates are kept
+     */
+    public int updateAll(Collection<T> entities, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (entities.isEmpty()) {
+            return 0;
+        }
+
+        int[] updated = {0};
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            inTransaction(connection, () -> {
+                try (PreparedStatement statement = QueryInstrumentation.prepare(connection, updateQuery())) {
+                    int pending = 0;
+                    for (T entity : entities) {
+                        setUpdateStatement(statement, entity);
+                        statement.addBatch();
+
+                        if (++pending == batchSize) {
+                            updated[0] += sum(statement.executeBatch());
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        updated[0] += sum(statement.executeBatch());
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            throw new DataAccessException("Error updating records: " + e.getMessage(), e);
+        } finally {
+            IdentityMap.clear();
+        }
+
+        logger.log(Level.DEBUG, () -> "Updated " + updated[0] + " rows in " + mapper.getTableName());
+        return updated[0];
+    }
+
+
     /**
      * Deletes an entity from the database by ID.
      * Ensures that foreign key constraints are enabled to properly cascade deletions.
@@ -343,26 +802,26 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
      */
     @Override
     public boolean delete(Integer id) {
+        String sql = deleteQuery();
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+
+            // Important that foreign keys are enabled because many tables have ON DELETE CASCADE
+            try {
+                DbManager.ensureForeignKeysEnabled(connection);
+            } catch (SQLException e) {
+                throw new DataAccessException("Foreign keys not enabled: " + e.getMessage());
+            }
 
-        // Important that foreign keys are enabled because many tables have ON DELETE CASCADE
-        try {
-            DbManager.ensureForeignKeysEnabled();
-        } catch (SQLException e) {
-            throw new DataAccessException("Foreign keys not enabled: " + e.getMessage());
-        }
-
-        String sql = getDeleteQuery();
-        System.out.println("Executing SQL: " + sql + " with ID: " + id);
-
+            try (PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
+                statement.setInt(1, id); // only need id (primary key) to execute delete
+                int rowsAffected = statement.executeUpdate();
 
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, id); // only need id (primary key) to execute delete
-            int rowsAffected = statement.executeUpdate();
-            System.out.println("Rows affected: " + rowsAffected);
-            return rowsAffected > 0;
+                // Cascades may have removed rows other than this one
+                IdentityMap.clear();
+                return rowsAffected > 0;
+            }
         } catch (SQLException e) {
-            System.err.println("SQL Error in delete(): " + e.getMessage());
-            e.printStackTrace();
+            logger.log(Level.DEBUG, () -> "SQL error in delete()", e);
             throw new DataAccessException("Error deleting record: " + e.getMessage(), e);
         }
     }
@@ -370,7 +829,8 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
 
     /**
      * Finds an entity by its ID.
-     * Uses the findByAttributes method with a map containing just the ID.
+     * Returns the instance already loaded in the current {@link IdentityMap} unit of work if there is one,
+     * otherwise uses the findByAttributes method with a map containing just the ID.
      *
      * @param id the ID of the entity to find
      * @return an Optional containing the found entity, or empty if not found
@@ -387,6 +847,11 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
             throw new IllegalStateException("Missing 'id' field mapping");
         }
 
+        Optional<T> loaded = IdentityMap.lookup(mapper.getTableName(), id);
+        if (loaded.isPresent()) {
+            return loaded;
+        }
+
         Map<String, String> attributes = new HashMap<>();
         attributes.put("id", String.valueOf(id));
 
@@ -404,10 +869,12 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
     @Override
     public List<T> findAll() {
         List<T> entities = new ArrayList<>();
-        try (PreparedStatement statement = connection.prepareStatement(getFindAllQuery());
+        EntityMapper<T> selectMapper = getSelectMapper();
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, findAllQuery());
              ResultSet rs = statement.executeQuery()) {
             while (rs.next()) {
-                entities.add(mapper.mapResultSetToEntity(rs));
+                entities.add(selectMapper.mapResultSetToEntity(rs));
             }
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching all records from " + mapper.getTableName(), e);
@@ -416,6 +883,83 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
     }
 
 
+    /**
+     * Counts the entities of this type.
+     *
+     * @return the number of rows in the entity's table
+     * @throws DataAccessException if a database error occurs
+     */
+    public int count() {
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, "SELECT COUNT(*) FROM " + mapper.getTableName());
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error counting records in " + mapper.getTableName(), e);
+        }
+    }
+
+
+    /**
+     * Retrieves one page of this entity's listing using keyset pagination.
+     *
+     * The listing is ordered by {@link #getPageKeyColumns()}. One row more than the page size is read
+     *      to find out whether another page follows, so no separate COUNT query is needed.
+     *
+     * @param after the last entity of the previous page, or null for the first page
+     * @param pageSize the maximum number of entities on the page
+     * @return the page of entities that follow {@code after}
+     * @throws IllegalArgumentException if pageSize is less than 1
+     * @throws DataAccessException if a database error occurs
+     */
+    public Page<T> findPage(T after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        Object[] key = after == null ? new Object[0] : getPageKey(after);
+        Object[] params = Arrays.copyOf(key, key.length + 1);
+        params[key.length] = pageSize + 1;
+
+        try {
+            List<T> rows = executeQueryForList(pageQuery(after != null), params);
+            boolean hasMore = rows.size() > pageSize;
+            return new Page<>(hasMore ? rows.subList(0, pageSize) : rows, hasMore);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching a page of " + mapper.getTableName() + ": " + e.getMessage(), e);
+        }
+    }
+
+
+    /**
+     * Streams all entities of this type, {@link #DEFAULT_FETCH_SIZE} rows at a time.
+     *
+     * @return a stream of all entities that must be closed after use
+     * @throws DataAccessException if a database error occurs
+     */
+    @Override
+    public Stream<T> streamAll() {
+        return streamAll(DEFAULT_FETCH_SIZE);
+    }
+
+
+    /**
+     * Streams all entities of this type without loading them into memory at once.
+     * The stream holds a read connection until it is closed.
+     *
+     * @param fetchSize the number of rows the driver is asked to fetch at a time
+     * @return a stream of all entities that must be closed after use
+     * @throws DataAccessException if a database error occurs
+     */
+    public Stream<T> streamAll(int fetchSize) {
+        try {
+            return executeQueryForStream(findAllQuery(), new Object[0], fetchSize);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming records from " + mapper.getTableName(), e);
+        }
+    }
+
+
     /**
      * Finds an entity by specific attribute values.
      * Translates Java attribute names to database column names and builds a query.
@@ -430,7 +974,7 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
         Map<String, String> dbAttributes = translateAttributeNames(attributes);
 
         // Create the SELECT query with WHERE conditions for each attribute
-        String query = buildSelectQuery(dbAttributes);
+        String query = selectQueryFor(dbAttributes);
 
         try {
             // Execute the query with attribute values as parameters
@@ -466,7 +1010,7 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
         Map<String, String> dbAttributes = translateAttributeNames(attributes);
 
         // Create a SELECT query with WHERE conditions for each attribute
-        String query = buildSelectQuery(dbAttributes);
+        String query = selectQueryFor(dbAttributes);
 
         try {
             // Execute the query with the attribute values as parameters. Attribute values are
@@ -477,4 +1021,39 @@ public abstract class BaseDAO<T> implements GenericDAO<T> {
             throw new DataAccessException("Error fetching entities by attributes", e);
         }
     }
+
+
+    /**
+     * Streams all entities matching specific attribute values, {@link #DEFAULT_FETCH_SIZE} rows at a time.
+     *
+     * @param attributes  a Map of Strings where the first String corresponds to entity attribute names
+     *                    and the second String corresponds to values to search for in db
+     * @return a stream of matching entities that must be closed after use
+     * @throws DataAccessException if a database error occurs
+     */
+    public Stream<T> streamAllByAttributes(Map<String, String> attributes) {
+        return streamAllByAttributes(attributes, DEFAULT_FETCH_SIZE);
+    }
+
+
+    /**
+     * Streams all entities matching specific attribute values without loading them into memory at once.
+     * The stream holds a read connection until it is closed.
+     *
+     * @param attributes  a Map of Strings where the first String corresponds to entity attribute names
+     *                    and the second String corresponds to values to search for in db
+     * @param fetchSize the number of rows the driver is asked to fetch at a time
+     * @return a stream of matching entities that must be closed after use
+     * @throws DataAccessException if a database error occurs
+     */
+    public Stream<T> streamAllByAttributes(Map<String, String> attributes, int fetchSize) {
+        Map<String, String> dbAttributes = translateAttributeNames(attributes);
+        String query = selectQueryFor(dbAttributes);
+
+        try {
+            return executeQueryForStream(query, dbAttributes.values().toArray(), fetchSize);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming entities by attributes", e);
+        }
+    }
 }
@@ -3,7 +3,9 @@ package com.vetportal.dao;
 import com.vetportal.exception.DataAccessException;
 import com.vetportal.mapper.CustomerMapper;
 import com.vetportal.model.Customer;
+import com.vetportal.util.ConnectionProvider;
 
+import java.lang.System.Logger.Level;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -23,11 +25,26 @@ public class CustomerDAO extends BaseDAO<Customer> {
         super(connection, new CustomerMapper());
     }
 
+    public CustomerDAO(ConnectionProvider connectionProvider) {
+        super(connectionProvider, new CustomerMapper());
+    }
+
     @Override
     protected List<String> getOrderedAttributes() {
         return List.of("first_name", "last_name", "address", "phone", "email");
     }
 
+    // Listings are sorted by name; idx_customer_name covers (last_name, first_name) and ends in the rowid
+    @Override
+    protected List<String> getPageKeyColumns() {
+        return List.of("last_name", "first_name", "customer_id");
+    }
+
+    @Override
+    protected Object[] getPageKey(Customer customer) {
+        return new Object[]{customer.getLastName(), customer.getFirstName(), customer.getID()};
+    }
+
     @Override
     protected void setCreateStatement(PreparedStatement statement, Customer customer) throws SQLException {
         setNonIdAttributes(statement, customer);
@@ -86,7 +103,7 @@ public class CustomerDAO extends BaseDAO<Customer> {
                 return Optional.empty();
             }
 
-            System.out.println("Created Customer with ID: " + customer.getID());
+            logger.log(Level.DEBUG, () -> "Created customer with ID: " + customer.getID());
             return Optional.of(customer);
 
         } catch (DataAccessException e) {
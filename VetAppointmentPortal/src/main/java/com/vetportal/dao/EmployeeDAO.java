@@ -3,7 +3,9 @@ package com.vetportal.dao;
 import com.vetportal.exception.DataAccessException;
 import com.vetportal.mapper.EmployeeMapper;
 import com.vetportal.model.Employee;
+import com.vetportal.util.ConnectionProvider;
 
+import java.lang.System.Logger.Level;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -21,12 +23,27 @@ public class EmployeeDAO extends BaseDAO<Employee> {
         super(connection, new EmployeeMapper());
     }
 
+    public EmployeeDAO(ConnectionProvider connectionProvider) {
+        super(connectionProvider, new EmployeeMapper());
+    }
+
     @Override
     protected List<String> getOrderedAttributes() {
         // Remove employee_id as it's auto-incremented
         return List.of("first_name", "last_name", "address", "phone", "email", "role");
     }
 
+    // Listings are sorted by name; idx_employee_name covers (last_name, first_name) and ends in the rowid
+    @Override
+    protected List<String> getPageKeyColumns() {
+        return List.of("last_name", "first_name", "employee_id");
+    }
+
+    @Override
+    protected Object[] getPageKey(Employee employee) {
+        return new Object[]{employee.getLastName(), employee.getFirstName(), employee.getID()};
+    }
+
     @Override
     protected void setCreateStatement(PreparedStatement statement, Employee employee) throws SQLException {
         setNonIdAttributes(statement, employee);
@@ -86,7 +103,7 @@ public class EmployeeDAO extends BaseDAO<Employee> {
                 return Optional.empty();
             }
 
-            System.out.println("Created Employee with ID: " + employee.getID());
+            logger.log(Level.DEBUG, () -> "Created employee with ID: " + employee.getID());
             return Optional.of(employee);
 
         } catch (DataAccessException e) {
@@ -1,12 +1,17 @@
 package com.vetportal.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GenericDAO<T> {
     boolean create(T entity);
+    List<Integer> createAll(Collection<T> entities);
     boolean update(T entity);
+    int updateAll(Collection<T> entities);
     boolean delete(Integer id);
     Optional<T> findByID(Integer id);
     List<T> findAll();
+    Stream<T> streamAll();
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.vetportal.dao;
 
+import com.vetportal.mapper.IdentityMap;
 import com.vetportal.mapper.PetMapper;
 import com.vetportal.model.Pet;
 import com.vetportal.exception.DataAccessException;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.QueryInstrumentation;
 
+import java.lang.System.Logger.Level;
 import java.sql.*;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -21,6 +25,11 @@ public class PetDAO extends BaseDAO<Pet> {
         this.customerDAO = customerDAO;
     }
 
+    public PetDAO(ConnectionProvider connectionProvider, CustomerDAO customerDAO) {
+        super(connectionProvider, new PetMapper());
+        this.customerDAO = customerDAO;
+    }
+
     @Override
     protected List<String> getOrderedAttributes() {
         return List.of("pet_name", "species", "breed", "birth_date", "owner");
@@ -75,7 +84,8 @@ public class PetDAO extends BaseDAO<Pet> {
                    ORDER BY p.pet_id DESC LIMIT 1
                 """;
 
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                try (Connection connection = connectionProvider.getReadConnection();
+                     PreparedStatement statement = QueryInstrumentation.prepare(connection, sql)) {
                     statement.setString(1, pet.getName());
                     statement.setString(2, pet.getBirthDate().toString());
                     statement.setInt(3, pet.getOwner().getID());
@@ -83,7 +93,7 @@ public class PetDAO extends BaseDAO<Pet> {
                     ResultSet rs = statement.executeQuery();
                     if (rs.next()) {
                         Pet newPet = mapper.mapResultSetToEntity(rs);
-                        System.out.println("Found Pet with ID: " + newPet.getID());
+                        logger.log(Level.DEBUG, () -> "Found created pet with ID: " + newPet.getID());
                         pet.setID(newPet.getID()); // Set ID
                         return Optional.of(newPet);
                     }
@@ -91,7 +101,7 @@ public class PetDAO extends BaseDAO<Pet> {
                 return Optional.empty();
             }
 
-            System.out.println("Created Pet with ID: " + pet.getID());
+            logger.log(Level.DEBUG, () -> "Created pet with ID: " + pet.getID());
             return Optional.of(pet);
         } catch (DataAccessException e) {
             throw e;
@@ -109,6 +119,11 @@ public class PetDAO extends BaseDAO<Pet> {
      */
     @Override
     public Optional<Pet> findByID(Integer id) {
+        Optional<Pet> loaded = IdentityMap.lookup(mapper.getTableName(), id);
+        if (loaded.isPresent()) {
+            return loaded;
+        }
+
         // We join with Customer table because returning the pet object requires
         // the owner data from the customer table
         String query = """
@@ -119,20 +134,21 @@ public class PetDAO extends BaseDAO<Pet> {
         WHERE p.pet_id = ?
         """;
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, query)) {
             statement.setInt(1, id);
             ResultSet rs = statement.executeQuery();
 
             if (rs.next()) {
                 Pet pet = mapper.mapResultSetToEntity(rs);
-                System.out.println("Found pet by ID " + id + ": Name=" + pet.getName() + ", Breed=" + pet.getBreed());
+                logger.log(Level.DEBUG, () -> "Found pet by ID " + id + ": Name=" + pet.getName() + ", Breed=" + pet.getBreed());
                 return Optional.of(pet);
             } else {
-                System.out.println("No pet found with ID: " + id);
+                logger.log(Level.DEBUG, () -> "No pet found with ID: " + id);
                 return Optional.empty();
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching Pet by ID: " + e.getMessage());
+            logger.log(Level.DEBUG, () -> "Error fetching pet by ID " + id, e);
             throw new DataAccessException("Error fetching Pet by ID", e);
         }
     }
@@ -199,21 +215,25 @@ public class PetDAO extends BaseDAO<Pet> {
 
         List<Pet> pets = new ArrayList<>();
 
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, query)) {
             statement.setInt(1, customerId);
-            System.out.println("Executing query for pets with customer ID: " + customerId);
             ResultSet rs = statement.executeQuery();
 
+            // Checked once rather than per row, so the loop does not even build the message suppliers
+            boolean traceRows = logger.isLoggable(Level.TRACE);
             while (rs.next()) {
                 Pet pet = mapper.mapResultSetToEntity(rs);
-                System.out.println("Found pet for customer " + customerId + ": ID=" + pet.getID() + ", Name=" + pet.getName());
+                if (traceRows) {
+                    logger.log(Level.TRACE, "Found pet for customer " + customerId + ": ID=" + pet.getID() + ", Name=" + pet.getName());
+                }
                 pets.add(pet);
             }
 
-            System.out.println("Total pets found for customer " + customerId + ": " + pets.size());
+            logger.log(Level.DEBUG, () -> "Total pets found for customer " + customerId + ": " + pets.size());
 
         } catch (SQLException e) {
-            System.err.println("Error in findAllPetsByCustomerId: " + e.getMessage());
+            logger.log(Level.DEBUG, () -> "Error in findAllPetsByCustomerId for customer " + customerId, e);
             throw new DataAccessException("Error finding pets by customer ID", e);
         }
 
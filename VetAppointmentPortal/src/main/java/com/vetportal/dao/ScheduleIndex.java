@@ -0,0 +1,400 @@
+package com.vetportal.dao;
+
+import com.vetportal.exception.DataAccessException;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.SlotGrid;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.QueryInstrumentation;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * In-memory copy of which times each provider is booked, so conflict checks and free-slot lookups
+ * can be answered without a query.
+ * <p>
+ * The index holds one entry per (provider, date): a bitset with one bit per minute of the day, set
+ * where an appointment starts, plus the ID of the appointment at each set bit. A day is loaded from the
+ * Appointment table the first time it is asked about (one covering-index seek) and is then kept current
+ * by {@link AppointmentDAO#create}, {@link AppointmentDAO#update} and {@link AppointmentDAO#delete}.
+ * At most {@code maxDays} days are held; the least recently used day is dropped when full.
+ * <p>
+ * The index only sees writes made through the AppointmentDAO it is attached to, so it is only safe when
+ * this process is the database's sole writer. Deletes that cascade into Appointment (deleting a pet,
+ * customer or employee) must be followed by {@link #invalidateAll()} or {@link #invalidateProvider},
+ * as must the end of any explicit transaction that wrote appointments. The UNIQUE constraint on
+ * (provider, appointment_date, time) remains the final authority on double bookings.
+ * {@link #verifyAgainstDatabase()} compares every held day with the table.
+ */
+public class ScheduleIndex {
+
+    public static final int DEFAULT_MAX_DAYS = 4096;
+
+    private static final String LOAD_DAY_QUERY =
+            "SELECT appointment_id, time FROM Appointment WHERE provider = ? AND appointment_date = ?";
+
+    private final ConnectionProvider connectionProvider;
+    private final int maxDays;
+
+    // Access-ordered so the first entry is always the least recently used day
+    private final LinkedHashMap<DayKey, Day> days = new LinkedHashMap<>(64, 0.75f, true);
+
+    // appointment ID -> the held day it is booked on
+    private final Map<Integer, DayKey> dayByAppointment = new HashMap<>();
+
+    // Bumped by every write so a load that overlapped one is not stored
+    private long generation = 0;
+
+    private long hits = 0;
+    private long loads = 0;
+
+    /**
+     * Creates an index holding up to {@link #DEFAULT_MAX_DAYS} provider-days.
+     *
+     * @param connectionProvider the source of connections for loading days
+     */
+    public ScheduleIndex(ConnectionProvider connectionProvider) {
+        this(connectionProvider, DEFAULT_MAX_DAYS);
+    }
+
+    /**
+     * Creates an index.
+     *
+     * @param connectionProvider the source of connections for loading days
+     * @param maxDays the maximum number of provider-days held at once
+     * @throws IllegalArgumentException if maxDays is less than 1
+     */
+    public ScheduleIndex(ConnectionProvider connectionProvider, int maxDays) {
+        if (maxDays < 1) {
+            throw new IllegalArgumentException("Index needs room for at least one day");
+        }
+        this.connectionProvider = connectionProvider;
+        this.maxDays = maxDays;
+    }
+
+    // ------------------   LOOKUPS -------------------
+
+    /**
+     * Checks if a provider already has an appointment starting at a specific date and time.
+     *
+     * @param providerId the ID of the provider
+     * @param date the date to check
+     * @param time the time to check
+     * @param excludeAppointmentId an appointment to ignore (used for updates), or null
+     * @return true if another appointment starts at exactly that time
+     * @throws DataAccessException if the day has to be loaded and the query fails
+     */
+    public boolean isTaken(int providerId, LocalDate date, LocalTime time, Integer excludeAppointmentId) {
+        DayKey key = new DayKey(providerId, date);
+        int minute = minuteOf(time);
+        synchronized (this) {
+            Day day = days.get(key);
+            if (day != null) {
+                hits++;
+                return day.isTaken(minute, excludeAppointmentId);
+            }
+        }
+        return load(key).isTaken(minute, excludeAppointmentId);
+    }
+
+    /**
+     * Returns the slots of a grid in which a provider has no appointment starting.
+     *
+     * @param providerId the ID of the provider
+     * @param date the day to check
+     * @param slotGrid the bookable slots of the day
+     * @return the free slot start times, earliest first
+     * @throws DataAccessException if the day has to be loaded and the query fails
+     */
+    public List<LocalTime> findFreeSlots(int providerId, LocalDate date, SlotGrid slotGrid) {
+        DayKey key = new DayKey(providerId, date);
+        BitSet occupied;
+        synchronized (this) {
+            Day day = days.get(key);
+            if (day != null) {
+                hits++;
+                occupied = (BitSet) day.occupied.clone();
+            } else {
+                occupied = null;
+            }
+        }
+        if (occupied == null) {
+            occupied = load(key).occupied;
+        }
+
+        List<LocalTime> free = new ArrayList<>(slotGrid.getSlotCount());
+        for (int slot = 0; slot < slotGrid.getSlotCount(); slot++) {
+            LocalTime time = slotGrid.timeAt(slot);
+            if (!occupied.get(minuteOf(time))) {
+                free.add(time);
+            }
+        }
+        return free;
+    }
+
+    // ------------------   WRITE TRACKING (called by AppointmentDAO) -------------------
+
+    /**
+     * Records an appointment that has just been inserted.
+     */
+    synchronized void recordCreate(Appointment appointment) {
+        generation++;
+        if (appointment.getID() == null) {
+            // The ID could not be read back, so the held day can no longer be kept exact
+            drop(keyOf(appointment));
+            return;
+        }
+        Day day = days.get(keyOf(appointment));
+        if (day != null) {
+            day.put(minuteOf(appointment.getTime()), appointment.getID());
+            dayByAppointment.put(appointment.getID(), keyOf(appointment));
+        }
+    }
+
+    /**
+     * Records an appointment that has just been updated to the given values.
+     */
+    synchronized void recordUpdate(Appointment appointment) {
+        recordDelete(appointment.getID());
+        recordCreate(appointment);
+    }
+
+    /**
+     * Records an appointment that has just been deleted.
+     */
+    synchronized void recordDelete(Integer appointmentId) {
+        generation++;
+        DayKey key = dayByAppointment.remove(appointmentId);
+        if (key != null) {
+            Day day = days.get(key);
+            if (day != null) {
+                day.removeAppointment(appointmentId);
+            }
+        }
+    }
+
+    // ------------------   INVALIDATION AND CHECKS -------------------
+
+    /**
+     * Drops every held day of one provider, for example after the provider was deleted.
+     *
+     * @param providerId the ID of the provider
+     */
+    public synchronized void invalidateProvider(int providerId) {
+        generation++;
+        Iterator<Map.Entry<DayKey, Day>> it = days.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<DayKey, Day> entry = it.next();
+            if (entry.getKey().providerId == providerId) {
+                entry.getValue().appointmentAt.values().forEach(dayByAppointment::remove);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops every held day. Days are reloaded as they are asked about again.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        days.clear();
+        dayByAppointment.clear();
+    }
+
+    /**
+     * Reloads every held day from the Appointment table and compares it with the index.
+     * Days that disagree are dropped so they are reloaded on next use.
+     *
+     * @return a description of each day that disagreed; empty if the index matches the database
+     * @throws DataAccessException if a query fails
+     */
+    public List<String> verifyAgainstDatabase() {
+        Map<DayKey, Map<Integer, Integer>> held = new LinkedHashMap<>();
+        synchronized (this) {
+            days.forEach((key, day) -> held.put(key, new HashMap<>(day.appointmentAt)));
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (Map.Entry<DayKey, Map<Integer, Integer>> entry : held.entrySet()) {
+            DayKey key = entry.getKey();
+            Map<Integer, Integer> stored = query(key).appointmentAt;
+            if (!stored.equals(entry.getValue())) {
+                mismatches.add("Provider " + key.providerId + " on " + key.date
+                        + ": index has " + describe(entry.getValue()) + ", database has " + describe(stored));
+                synchronized (this) {
+                    drop(key);
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * @return the number of provider-days currently held
+     */
+    public synchronized int size() {
+        return days.size();
+    }
+
+    /**
+     * @return how many lookups were answered from a held day
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return how many days were loaded from the database
+     */
+    public synchronized long getLoadCount() {
+        return loads;
+    }
+
+    // ------------------   INTERNALS -------------------
+
+    // Runs the query outside the lock, then stores the day unless a write happened meanwhile
+    private Day load(DayKey key) {
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+            loads++;
+        }
+
+        Day loaded = query(key);
+
+        synchronized (this) {
+            if (generation == startGeneration && !days.containsKey(key)) {
+                days.put(key, loaded);
+                loaded.appointmentAt.values().forEach(id -> dayByAppointment.put(id, key));
+                evictIfFull();
+                return loaded.copy();
+            }
+        }
+        return loaded;
+    }
+
+    private Day query(DayKey key) {
+        Day day = new Day();
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = QueryInstrumentation.prepare(connection, LOAD_DAY_QUERY)) {
+            statement.setInt(1, key.providerId);
+            statement.setString(2, AppointmentDAO.formatDate(key.date));
+            ResultSet rs = statement.executeQuery();
+
+            while (rs.next()) {
+                day.put(minuteOf(LocalTime.parse(rs.getString("time"))), rs.getInt("appointment_id"));
+            }
+            return day;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error loading provider schedule", e);
+        }
+    }
+
+    private void evictIfFull() {
+        Iterator<Map.Entry<DayKey, Day>> it = days.entrySet().iterator();
+        while (days.size() > maxDays && it.hasNext()) {
+            Map.Entry<DayKey, Day> eldest = it.next();
+            eldest.getValue().appointmentAt.values().forEach(dayByAppointment::remove);
+            it.remove();
+        }
+    }
+
+    private void drop(DayKey key) {
+        generation++;
+        Day day = days.remove(key);
+        if (day != null) {
+            day.appointmentAt.values().forEach(dayByAppointment::remove);
+        }
+    }
+
+    private static String describe(Map<Integer, Integer> appointmentAt) {
+        Map<Integer, LocalTime> byId = new TreeMap<>();
+        appointmentAt.forEach((minute, id) -> byId.put(id, LocalTime.ofSecondOfDay(minute * 60L)));
+        return byId.toString();
+    }
+
+    private static DayKey keyOf(Appointment appointment) {
+        return new DayKey(appointment.getProvider().getID(), appointment.getDate());
+    }
+
+    // Times are stored to the minute, so one bit per minute keeps the exact-time semantics of the table
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+
+    private static final class DayKey {
+        private final int providerId;
+        private final LocalDate date;
+
+        private DayKey(int providerId, LocalDate date) {
+            this.providerId = providerId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DayKey)) return false;
+            DayKey other = (DayKey) o;
+            return providerId == other.providerId && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(providerId, date);
+        }
+    }
+
+    /**
+     * One provider's bookings on one day.
+     */
+    private static final class Day {
+        // bit m set = an appointment starts at minute m of the day
+        private final BitSet occupied = new BitSet(24 * 60);
+        // minute of day -> appointment ID
+        private final Map<Integer, Integer> appointmentAt = new HashMap<>();
+
+        void put(int minute, int appointmentId) {
+            occupied.set(minute);
+            appointmentAt.put(minute, appointmentId);
+        }
+
+        void removeAppointment(int appointmentId) {
+            appointmentAt.entrySet().removeIf(entry -> {
+                if (entry.getValue() == appointmentId) {
+                    occupied.clear(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        boolean isTaken(int minute, Integer excludeAppointmentId) {
+            if (!occupied.get(minute)) {
+                return false;
+            }
+            return excludeAppointmentId == null || !excludeAppointmentId.equals(appointmentAt.get(minute));
+        }
+
+        Day copy() {
+            Day copy = new Day();
+            copy.occupied.or(occupied);
+            copy.appointmentAt.putAll(appointmentAt);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.vetportal.dto;
+
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the home page shows, read together: the day's appointments, the first page of
+ * customers and employees, and how many of each there are in total.
+ *
+ * The lists are bounded, so a snapshot stays small however large the tables grow; the counts say
+ * how much more there is. Snapshots are immutable and can be shared between screens.
+ */
+public class DashboardSnapshot {
+
+    private final LocalDate date;
+    private final List<Appointment> appointments;
+    private final int appointmentCount;
+    private final Page<Customer> customers;
+    private final int customerCount;
+    private final Page<Employee> employees;
+    private final int employeeCount;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param date             the day the appointments are for
+     * @param appointments     the first appointments of the day, ordered by time
+     * @param appointmentCount the number of appointments on the day
+     * @param customers        the first page of customers, in name order
+     * @param customerCount    the number of customers
+     * @param employees        the first page of employees, in name order
+     * @param employeeCount    the number of employees
+     */
+    public DashboardSnapshot(LocalDate date, List<Appointment> appointments, int appointmentCount,
+                             Page<Customer> customers, int customerCount,
+                             Page<Employee> employees, int employeeCount) {
+        this.date = date;
+        this.appointments = Collections.unmodifiableList(appointments);
+        this.appointmentCount = appointmentCount;
+        this.customers = customers;
+        this.customerCount = customerCount;
+        this.employees = employees;
+        this.employeeCount = employeeCount;
+    }
+
+    /**
+     * @return the day the appointments are for
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return an unmodifiable list of the first appointments of the day, ordered by time
+     */
+    public List<Appointment> getAppointments() {
+        return appointments;
+    }
+
+    /**
+     * @return the number of appointments on the day, which may exceed the size of {@link #getAppointments()}
+     */
+    public int getAppointmentCount() {
+        return appointmentCount;
+    }
+
+    /**
+     * @return the first page of customers, in name order
+     */
+    public Page<Customer> getCustomers() {
+        return customers;
+    }
+
+    /**
+     * @return the number of customers
+     */
+    public int getCustomerCount() {
+        return customerCount;
+    }
+
+    /**
+     * @return the first page of employees, in name order
+     */
+    public Page<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * @return the number of employees
+     */
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+}
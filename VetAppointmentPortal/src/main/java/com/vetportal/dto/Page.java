@@ -0,0 +1,60 @@
+package com.vetportal.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a listing fetched with keyset pagination.
+ *
+ * The next page is requested by passing {@link #getLast()} back to the same find method, which
+ * continues right after that row. Unlike an OFFSET, this costs the same however deep the page is
+ * and does not skip or repeat rows when others are inserted or deleted in between.
+ *
+ * @param <T> the type of the items on the page
+ */
+public class Page<T> {
+
+    /** Rows the listing screens fetch per page. */
+    public static final int DEFAULT_SIZE = 100;
+
+    private final List<T> items;
+    private final boolean hasMore;
+
+    /**
+     * Constructs a page.
+     *
+     * @param items   the items on this page, in listing order
+     * @param hasMore true if at least one more item follows the last one on this page
+     */
+    public Page(List<T> items, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Gets the items on this page.
+     *
+     * @return an unmodifiable list of the items, in listing order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Checks whether another page follows this one.
+     *
+     * @return true if at least one more item follows the last one on this page
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Gets the last item on this page, which is where the next page starts after.
+     *
+     * @return the last item, or null if the page is empty
+     */
+    public T getLast() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
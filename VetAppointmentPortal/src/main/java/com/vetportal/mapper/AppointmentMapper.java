@@ -12,10 +12,11 @@ import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.Map;
 
-// This version of Appointment mapping is intended for use when retrieving single appointments
-// where doing a full join of Appointments with Employee, Pet, and Customer tables would be
-// inefficient. This mapper takes the appointment Result Set and fetches the needed Employee,
-// Pet, and Customer records by the id values returned in query's result set.
+// This version of Appointment mapping works on rows read straight from the Appointment table.
+// It takes the appointment Result Set and fetches the needed Employee, Pet, and Customer records
+// by the id values returned in query's result set, which costs two extra queries per row.
+// AppointmentDAO uses it for table and column names only and reads rows through
+// AppointmentDetailView with AppointmentWithJoinMapper instead.
 public class AppointmentMapper implements EntityMapper<Appointment> {
     private final PetDAO petDAO;
     private final EmployeeDAO employeeDAO;
@@ -12,6 +12,8 @@ import java.util.Map;
 // and results are based on a join of Appointments with Employee, Pet, and Customer usually via
 // the AppointmentDetailView table view. Since the join result returns all required fields for
 // creating Employee, Customer, and Pet objects there is no need for separate lookup.
+// Within an IdentityMap unit of work each provider, pet and owner is built once and shared
+// by every appointment that references it.
 public class AppointmentWithJoinMapper implements EntityMapper<Appointment> {
     // Key = Java Entity attributes, Value = corresponding field name in database table
     @Override
@@ -36,7 +38,7 @@ public class AppointmentWithJoinMapper implements EntityMapper<Appointment> {
     @Override
     public Appointment mapResultSetToEntity(ResultSet rs) throws SQLException {
 
-        Employee provider = new Employee(
+        Employee provider = IdentityMap.resolve("Employee", rs.getInt("employee_id"), () -> new Employee(
                 rs.getInt("employee_id"),
                 rs.getString("employee_first_name"),
                 rs.getString("employee_last_name"),
@@ -44,25 +46,25 @@ public class AppointmentWithJoinMapper implements EntityMapper<Appointment> {
                 rs.getString("employee_phone"),
                 rs.getString("employee_email"),
                 Employee.Position.valueOf(rs.getString("role"))
-        );
+        ));
 
-        Customer owner = new Customer(
+        Customer owner = IdentityMap.resolve("Customer", rs.getInt("customer_id"), () -> new Customer(
                 rs.getInt("customer_id"),
                 rs.getString("customer_first_name"),
                 rs.getString("customer_last_name"),
                 rs.getString("customer_address"),
                 rs.getString("customer_phone"),
                 rs.getString("customer_email")
-        );
+        ));
 
-        Pet pet = new Pet(
+        Pet pet = IdentityMap.resolve("Pet", rs.getInt("pet_id"), () -> new Pet(
                 rs.getInt("pet_id"),
                 rs.getString("pet_name"),
                 rs.getString("species"),
                 rs.getString("breed"),
                 LocalDate.parse(rs.getString("birth_date")),
                 owner
-        );
+        ));
 
         return new Appointment(
                 rs.getInt("appointment_id"),
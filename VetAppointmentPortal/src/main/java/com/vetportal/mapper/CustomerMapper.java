@@ -31,13 +31,14 @@ public class CustomerMapper implements EntityMapper<Customer> {
     // creates a new Java Entity from returned db values
     @Override
     public Customer mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Customer(
+        // Reuses the customer already built in this unit of work, if any
+        return IdentityMap.resolve("Customer", rs.getInt("customer_id"), () -> new Customer(
                 rs.getInt("customer_id"),
                 rs.getString("first_name"),
                 rs.getString("last_name"),
                 rs.getString("address"),
                 rs.getString("phone"),
                 rs.getString("email")
-        );
+        ));
     }
 }
\ No newline at end of file
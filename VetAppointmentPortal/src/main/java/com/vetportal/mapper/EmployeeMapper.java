@@ -31,7 +31,8 @@ public class EmployeeMapper implements EntityMapper<Employee> {
     // creates a new Java Entity from returned db values
     @Override
     public Employee mapResultSetToEntity(ResultSet rs) throws SQLException {
-        return new Employee(
+        // Reuses the employee already built in this unit of work, if any
+        return IdentityMap.resolve("Employee", rs.getInt("employee_id"), () -> new Employee(
                 rs.getInt("employee_id"),
                 rs.getString("first_name"),
                 rs.getString("last_name"),
@@ -39,6 +40,6 @@ public class EmployeeMapper implements EntityMapper<Employee> {
                 rs.getString("phone"),
                 rs.getString("email"),
                 Employee.Position.valueOf(rs.getString("role"))  // Convert DB string to Position enum
-        );
+        ));
     }
 }
\ No newline at end of file
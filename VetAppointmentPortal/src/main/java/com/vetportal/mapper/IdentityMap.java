@@ -0,0 +1,164 @@
+package com.vetportal.mapper;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * First-level cache that hands out one canonical object per database row within a unit of work.
+ * <p>
+ * A unit of work is opened with {@link #open()} (for example around one service call or one screen
+ * load) and is bound to the current thread. While it is open, mappers resolve Customer, Pet and
+ * Employee rows through {@link #resolve}, so a provider that appears on 30 appointments is built once
+ * and shared, and {@code findByID} can answer from the map without a query. Outside a unit of work
+ * every call simply builds a new object, exactly as before.
+ * <p>
+ * Service read methods run their DAO calls through {@link #inScope}, so each provider, pet and owner in
+ * one response is a single shared instance however many rows mention it, and a lookup the service
+ * made first (say, checking the pet exists) is reused by the query that follows.
+ * <p>
+ * Entries are keyed by table name and primary key. Any insert, update or delete made while a unit of
+ * work is open {@link #clear() clears} it, since cascades can change rows other than the one written.
+ */
+public final class IdentityMap {
+
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+
+    // table name -> (id -> entity)
+    private final Map<String, Map<Integer, Object>> entities = new HashMap<>();
+    private int depth = 0;
+
+    private IdentityMap() {
+    }
+
+
+    /**
+     * Builds an entity from a result set row. Unlike a plain Supplier it may throw SQLException.
+     */
+    @FunctionalInterface
+    public interface RowLoader<T> {
+        T load() throws SQLException;
+    }
+
+
+    /**
+     * Opens a unit of work on the current thread, or joins the one already open.
+     * The map is discarded when the outermost scope is closed.
+     *
+     * @return the scope to close when the unit of work ends
+     */
+    public static Scope open() {
+        IdentityMap map = CURRENT.get();
+        if (map == null) {
+            map = new IdentityMap();
+            CURRENT.set(map);
+        }
+        map.depth++;
+        return new Scope(map);
+    }
+
+    /**
+     * Runs the given work in a unit of work on the current thread, joining the one already open.
+     *
+     * @param work the work to run
+     * @return what the work returned
+     */
+    public static <T> T inScope(Supplier<T> work) {
+        Scope scope = open();
+        try {
+            return work.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * @return true if the current thread has a unit of work open
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the canonical object for a row, building it with the loader the first time the row is seen
+     * in the current unit of work. Without an open unit of work the loader is always called.
+     *
+     * @param table the table the row comes from
+     * @param id the row's primary key
+     * @param loader builds the entity from the current row
+     * @return the canonical entity for (table, id)
+     * @throws SQLException if the loader fails
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T resolve(String table, int id, RowLoader<T> loader) throws SQLException {
+        IdentityMap map = CURRENT.get();
+        if (map == null) {
+            return loader.load();
+        }
+
+        Map<Integer, Object> rows = map.entities.computeIfAbsent(table, t -> new HashMap<>());
+        Object existing = rows.get(id);
+        if (existing != null) {
+            return (T) existing;
+        }
+
+        T entity = loader.load();
+        rows.put(id, entity);
+        return entity;
+    }
+
+    /**
+     * Looks up an entity already loaded in the current unit of work.
+     *
+     * @param table the table the row comes from
+     * @param id the row's primary key
+     * @return the canonical entity, or empty if it has not been loaded or no unit of work is open
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<T> lookup(String table, Integer id) {
+        IdentityMap map = CURRENT.get();
+        if (map == null || id == null) {
+            return Optional.empty();
+        }
+
+        Map<Integer, Object> rows = map.entities.get(table);
+        return rows == null ? Optional.empty() : Optional.ofNullable((T) rows.get(id));
+    }
+
+    /**
+     * Forgets every entity in the current unit of work. Called after any write.
+     */
+    public static void clear() {
+        IdentityMap map = CURRENT.get();
+        if (map != null) {
+            map.entities.clear();
+        }
+    }
+
+
+    /**
+     * Handle for an open unit of work. Closing the outermost scope discards the map.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final IdentityMap map;
+        private boolean closed = false;
+
+        private Scope(IdentityMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            map.depth--;
+            if (map.depth == 0) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -34,23 +34,24 @@ public class PetMapper implements EntityMapper<Pet> {
     public Pet mapResultSetToEntity(ResultSet rs) throws SQLException {
 
         // Create customer first since pet depends on customer id
-        Customer owner = new Customer(
+        // Both are reused if already built in this unit of work
+        Customer owner = IdentityMap.resolve("Customer", rs.getInt("customer_id"), () -> new Customer(
                 rs.getInt("customer_id"),
                 rs.getString("first_name"),
                 rs.getString("last_name"),
                 rs.getString("address"),
                 rs.getString("phone"),
                 rs.getString("email")
-        );
+        ));
 
-        // Create and return pet using newly created customer object for owner attribute
-        return new Pet(
+        // Create and return pet using the customer object for owner attribute
+        return IdentityMap.resolve("Pet", rs.getInt("pet_id"), () -> new Pet(
                 rs.getInt("pet_id"),
                 rs.getString("pet_name"),
                 rs.getString("species"),
                 rs.getString("breed"),
                 LocalDate.parse(rs.getString("birth_date")),
                 owner
-        );
+        ));
     }
 }
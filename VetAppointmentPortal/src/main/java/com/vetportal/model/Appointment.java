@@ -3,7 +3,7 @@ package com.vetportal.model;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
-public class Appointment {
+public class Appointment implements Identifiable {
     private Integer id;
     private LocalDate date;
     private LocalTime time;
@@ -22,10 +22,12 @@ public class Appointment {
         this.customer = customer;
     }
 
+    @Override
     public Integer getID() {
         return id;
     }
 
+    @Override
     public void setID(Integer id) {
         this.id = id;
     }
@@ -5,5 +5,16 @@ public enum AppointmentType {
     VACCINATION,
     SURGERY,
     DENTAL,
-    EMERGENCY
+    EMERGENCY;
+
+    /**
+     * Checks whether an employee in the given position may be booked for this type of appointment.
+     * Only veterinarians can perform non-vaccination appointments.
+     *
+     * @param role the employee's position
+     * @return true if the employee may be the appointment's provider
+     */
+    public boolean canBePerformedBy(Employee.Position role) {
+        return this == VACCINATION || role == Employee.Position.VETERINARIAN;
+    }
 }
@@ -0,0 +1,36 @@
+package com.vetportal.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A bookable start time with the provider who is free then. Returned by slot searches.
+ */
+public class AvailableSlot {
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Employee provider;
+
+    public AvailableSlot(LocalDate date, LocalTime time, Employee provider) {
+        this.date = date;
+        this.time = time;
+        this.provider = provider;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public Employee getProvider() {
+        return provider;
+    }
+
+    @Override
+    public String toString() {
+        return date + " " + time + " with " + provider.getFirstName() + " " + provider.getLastName();
+    }
+}
@@ -1,6 +1,6 @@
 package com.vetportal.model;
 
-public class Customer {
+public class Customer implements Identifiable {
     private Integer ID;
     private String firstName;
     private String lastName;
@@ -22,10 +22,12 @@ public class Customer {
     }
 
     // Getters and Setters
+    @Override
     public Integer getID() {
         return ID;
     }
 
+    @Override
     public void setID(Integer ID) {
         this.ID = ID;
     }
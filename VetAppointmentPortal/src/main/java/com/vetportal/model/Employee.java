@@ -1,6 +1,6 @@
 package com.vetportal.model;
 
-public class Employee {
+public class Employee implements Identifiable {
 
     public enum Position {
         RECEPTIONIST,
@@ -26,10 +26,12 @@ public class Employee {
         this.role = role;
     }
 
+    @Override
     public Integer getID() {
         return id;
     }
 
+    @Override
     public void setID(Integer id) {
         this.id = id;
     }
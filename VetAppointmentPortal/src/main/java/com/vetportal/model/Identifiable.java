@@ -0,0 +1,11 @@
+package com.vetportal.model;
+
+/**
+ * An entity stored in its own table under an autoincremented integer primary key.
+ * The ID is null until the entity has been inserted.
+ */
+public interface Identifiable {
+    Integer getID();
+
+    void setID(Integer id);
+}
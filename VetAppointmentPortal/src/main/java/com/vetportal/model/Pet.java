@@ -2,7 +2,7 @@ package com.vetportal.model;
 
 import java.time.LocalDate;
 
-public class Pet {
+public class Pet implements Identifiable {
     private Integer id;
     private String name;
     private String species;
@@ -19,10 +19,12 @@ public class Pet {
         this.owner = owner;
     }
 
+    @Override
     public Integer getID() {
         return id;
     }
 
+    @Override
     public void setID(Integer id) {
         this.id = id;
     }
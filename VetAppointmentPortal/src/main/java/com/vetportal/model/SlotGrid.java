@@ -0,0 +1,80 @@
+package com.vetportal.model;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bookable start times of a working day: {@code slotCount} slots of {@code slotMinutes}
+ * each, starting at {@code start}. Slots are numbered from 0 so a day's bookings can be kept
+ * in a bitset indexed by slot.
+ */
+public class SlotGrid {
+
+    /** The clinic's standard day: 20 half-hour slots from 08:00 to 17:30. */
+    public static final SlotGrid DEFAULT = new SlotGrid(LocalTime.of(8, 0), 30, 20);
+
+    private final LocalTime start;
+    private final int slotMinutes;
+    private final int slotCount;
+
+    public SlotGrid(LocalTime start, int slotMinutes, int slotCount) {
+        if (slotMinutes < 1 || slotCount < 1) {
+            throw new IllegalArgumentException("Slot length and count must be positive");
+        }
+        if (start.toSecondOfDay() / 60 + (long) slotMinutes * slotCount > 24 * 60) {
+            throw new IllegalArgumentException("Slots must end by midnight");
+        }
+        this.start = start;
+        this.slotMinutes = slotMinutes;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * @param slot a slot number from 0 to {@link #getSlotCount()} - 1
+     * @return the start time of that slot
+     */
+    public LocalTime timeAt(int slot) {
+        if (slot < 0 || slot >= slotCount) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " is outside the grid");
+        }
+        return start.plusMinutes((long) slotMinutes * slot);
+    }
+
+    /**
+     * @param time a time of day
+     * @return the number of the slot starting at exactly that time, or -1 if no slot starts then
+     */
+    public int indexOf(LocalTime time) {
+        int offset = time.toSecondOfDay() - start.toSecondOfDay();
+        int slotSeconds = slotMinutes * 60;
+        if (offset < 0 || offset % slotSeconds != 0) {
+            return -1;
+        }
+        int slot = offset / slotSeconds;
+        return slot < slotCount ? slot : -1;
+    }
+
+    /**
+     * @return the start time of every slot, in order
+     */
+    public List<LocalTime> getTimes() {
+        List<LocalTime> times = new ArrayList<>(slotCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            times.add(timeAt(slot));
+        }
+        return times;
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+}
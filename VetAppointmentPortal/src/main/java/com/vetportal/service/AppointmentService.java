@@ -4,31 +4,47 @@ import com.vetportal.dao.AppointmentDAO;
 import com.vetportal.dao.CustomerDAO;
 import com.vetportal.dao.EmployeeDAO;
 import com.vetportal.dao.PetDAO;
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.dto.Page;
 import com.vetportal.dto.ServiceResponse;
 import com.vetportal.exception.AppointmentConflictException;
 import com.vetportal.exception.DataAccessException;
+import com.vetportal.mapper.IdentityMap;
 import com.vetportal.model.Appointment;
 import com.vetportal.model.Employee;
 import com.vetportal.model.Pet;
+import com.vetportal.model.SlotGrid;
+import com.vetportal.util.ConnectionProvider;
 
+import java.lang.System.Logger.Level;
 import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer responsible for appointment-related business logic.
  * <p>
  * Delegates database operations to the {@link AppointmentDAO} and wraps results in
  * {@link ServiceResponse} objects to include status and error handling.
+ * <p>
+ * If given a {@link ScheduleIndex}, conflict checks and free-slot lookups are answered from memory.
  */
 public class AppointmentService {
+    private static final System.Logger LOGGER = System.getLogger(AppointmentService.class.getName());
+
     private final AppointmentDAO appointmentDAO;
+    private final CustomerDAO customerDAO;
     private final EmployeeDAO employeeDAO;
     private final PetDAO petDAO;
+    private final ScheduleIndex scheduleIndex;
 
     /**
      * Constructs a new AppointmentService using the given database connection.
@@ -38,11 +54,31 @@ public class AppointmentService {
      * @param conn an active SQL database connection
      */
     public AppointmentService(Connection conn) {
+        this(ConnectionProvider.of(conn));
+    }
 
-        CustomerDAO customerDAO = new CustomerDAO(conn);
-        this.employeeDAO = new EmployeeDAO(conn);
-        this.petDAO = new PetDAO(conn, customerDAO);
-        this.appointmentDAO = new AppointmentDAO(conn, employeeDAO, petDAO);
+    /**
+     * Constructs a new AppointmentService whose DAOs borrow connections from the given provider.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     */
+    public AppointmentService(ConnectionProvider connectionProvider) {
+        this(connectionProvider, null);
+    }
+
+    /**
+     * Constructs a new AppointmentService that keeps the given schedule index current and answers
+     * provider availability from it.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param scheduleIndex the shared schedule index, or null to always ask the database
+     */
+    public AppointmentService(ConnectionProvider connectionProvider, ScheduleIndex scheduleIndex) {
+        this.customerDAO = new CustomerDAO(connectionProvider);
+        this.employeeDAO = new EmployeeDAO(connectionProvider);
+        this.petDAO = new PetDAO(connectionProvider, customerDAO);
+        this.appointmentDAO = new AppointmentDAO(connectionProvider, employeeDAO, petDAO, scheduleIndex);
+        this.scheduleIndex = scheduleIndex;
     }
 
     // -------- CREATE, UPDATE, & DELETE METHODS --------
@@ -99,12 +135,6 @@ public class AppointmentService {
      */
     public ServiceResponse<Appointment> updateAppointment(Appointment appointment) {
         try {
-            // Validate appointment exists
-            Optional<Appointment> existingAppointment = appointmentDAO.findByID(appointment.getID());
-            if (existingAppointment.isEmpty()) {
-                return ServiceResponse.notFound("Appointment with ID " + appointment.getID() + " not found");
-            }
-
             // Validate provider exists
             if (appointment.getProvider() == null || appointment.getProvider().getID() == null) {
                 return ServiceResponse.notFound("Provider is required for appointment");
@@ -123,9 +153,10 @@ public class AppointmentService {
                 return ServiceResponse.notFound("Pet with ID " + appointment.getPet().getID() + " not found");
             }
 
+            // No row updated means no appointment has this ID
             boolean updated = appointmentDAO.update(appointment);
             if (!updated) {
-                return ServiceResponse.notFound("Appointment not found or update failed");
+                return ServiceResponse.notFound("Appointment with ID " + appointment.getID() + " not found");
             }
             return ServiceResponse.success(appointment);
 
@@ -147,16 +178,10 @@ public class AppointmentService {
      */
     public ServiceResponse<Boolean> deleteAppointment(int appointmentId) {
         try {
-            // Verify the appointment exists
-            Optional<Appointment> appointment = appointmentDAO.findByID(appointmentId);
-            if (appointment.isEmpty()) {
+            // No row deleted means no appointment has this ID
+            if (!appointmentDAO.delete(appointmentId)) {
                 return ServiceResponse.notFound("Appointment with ID " + appointmentId + " not found");
             }
-
-            boolean deleted = appointmentDAO.delete(appointmentId);
-            if (!deleted) {
-                return ServiceResponse.dbError("Failed to delete appointment");
-            }
             return ServiceResponse.success(true);
         } catch (DataAccessException e) {
             return ServiceResponse.dbError("Error deleting appointment: " + e.getMessage());
@@ -189,7 +214,7 @@ public class AppointmentService {
      */
     public ServiceResponse<List<Appointment>> findAppointmentsByDate(LocalDate date) {
         try {
-            List<Appointment> appointments = appointmentDAO.findAllAppointmentsByDate(date);
+            List<Appointment> appointments = IdentityMap.inScope(() -> appointmentDAO.findAllAppointmentsByDate(date));
             if (appointments.isEmpty()) {
                 return ServiceResponse.notFound("No appointments found for date: " + date);
             }
@@ -222,20 +247,59 @@ public class AppointmentService {
      */
     public ServiceResponse<List<Appointment>> findAppointmentsByPetId(int petId) {
         try {
-            // Validate pet exists
-            Optional<Pet> pet = petDAO.findByID(petId);
-            if (pet.isEmpty()) {
-                return ServiceResponse.notFound("Pet with ID " + petId + " not found");
-            }
+            return IdentityMap.inScope(() -> {
+                // Validate pet exists
+                Optional<Pet> pet = petDAO.findByID(petId);
+                if (pet.isEmpty()) {
+                    return ServiceResponse.notFound("Pet with ID " + petId + " not found");
+                }
 
-            Optional<List<Appointment>> appointments = appointmentDAO.findAppointmentsByPetId(petId);
-            return appointments.map(ServiceResponse::success)
-                    .orElseGet(() -> ServiceResponse.notFound("No appointments found for pet ID: " + petId));
+                Optional<List<Appointment>> appointments = appointmentDAO.findAppointmentsByPetId(petId);
+                return appointments.map(ServiceResponse::success)
+                        .orElseGet(() -> ServiceResponse.notFound("No appointments found for pet ID: " + petId));
+            });
         } catch (DataAccessException e) {
             return ServiceResponse.dbError("Error retrieving appointments by pet ID: " + e.getMessage());
         }
     }
 
+    /**
+     * Finds every appointment of every pet a customer owns.
+     *
+     * @param customerId the ID of the customer
+     * @return a service response containing the appointments ordered by date and time, or an error
+     */
+    public ServiceResponse<List<Appointment>> findAppointmentsByCustomerId(int customerId) {
+        return findAppointmentsByCustomerId(customerId, null, null);
+    }
+
+    /**
+     * Finds the appointments of every pet a customer owns within a range of days.
+     *
+     * @param customerId the ID of the customer
+     * @param from the first day to include, or null for no lower bound
+     * @param to the last day to include, or null for no upper bound
+     * @return a service response containing the appointments ordered by date and time, or an error
+     */
+    public ServiceResponse<List<Appointment>> findAppointmentsByCustomerId(int customerId, LocalDate from, LocalDate to) {
+        try {
+            return IdentityMap.inScope(() -> {
+                List<Appointment> appointments = appointmentDAO.findAppointmentsByCustomerId(customerId, from, to);
+                if (!appointments.isEmpty()) {
+                    return ServiceResponse.success(appointments);
+                }
+
+                // Only an empty result needs the customer looked up, to say which case it is
+                if (customerDAO.findByID(customerId).isEmpty()) {
+                    return ServiceResponse.notFound("Customer with ID " + customerId + " not found");
+                }
+                return ServiceResponse.notFound("No appointments found for customer ID: " + customerId);
+            });
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error retrieving appointments by customer ID: " + e.getMessage());
+        }
+    }
+
     /**
      * Finds all appointments for a specific provider.
      *
@@ -244,15 +308,17 @@ public class AppointmentService {
      */
     public ServiceResponse<List<Appointment>> findAppointmentsByProviderId(int providerId) {
         try {
-            // Validate provider exists
-            Optional<Employee> provider = employeeDAO.findByID(providerId);
-            if (provider.isEmpty()) {
-                return ServiceResponse.notFound("Provider with ID " + providerId + " not found");
-            }
+            return IdentityMap.inScope(() -> {
+                // Validate provider exists
+                Optional<Employee> provider = employeeDAO.findByID(providerId);
+                if (provider.isEmpty()) {
+                    return ServiceResponse.notFound("Provider with ID " + providerId + " not found");
+                }
 
-            Optional<List<Appointment>> appointments = appointmentDAO.findAppointmentsByProviderId(providerId);
-            return appointments.map(ServiceResponse::success)
-                    .orElseGet(() -> ServiceResponse.notFound("No appointments found for provider ID: " + providerId));
+                Optional<List<Appointment>> appointments = appointmentDAO.findAppointmentsByProviderId(providerId);
+                return appointments.map(ServiceResponse::success)
+                        .orElseGet(() -> ServiceResponse.notFound("No appointments found for provider ID: " + providerId));
+            });
         } catch (DataAccessException e) {
             return ServiceResponse.dbError("Error retrieving appointments by provider ID: " + e.getMessage());
         }
@@ -269,23 +335,49 @@ public class AppointmentService {
      * @return true if the slot is already taken, false otherwise
      */
     public boolean isProviderSlotTaken(int providerId, LocalDate date, LocalTime time, Integer excludeAppointmentId) {
-
-        // HH:MM format
-        String formattedTime = String.format("%02d:%02d", time.getHour(), time.getMinute());
-
         try {
-            return appointmentDAO.isProviderSlotTaken(
-                    providerId,
-                    date.toString(),
-                    formattedTime,
-                    excludeAppointmentId != null ? excludeAppointmentId : 0
-            );
+            return appointmentDAO.isProviderSlotTaken(providerId, date, time, excludeAppointmentId);
         } catch (DataAccessException e) {
-            System.err.println("Error checking provider availability: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error checking provider availability", e);
             return true; // Assume conflict if error occurs, to be safe
         }
     }
 
+    /**
+     * Finds the slots of a day in which a provider has no appointment.
+     * Answered from the schedule index when there is one. Otherwise fetches the provider's booked times
+     * for the day in one query, marks them in a bitset over the slot grid, and returns the slots left clear. As with {@link #isProviderSlotTaken}, a slot only
+     * counts as taken when an appointment starts at exactly that time.
+     *
+     * @param providerId the ID of the provider
+     * @param date the day to check
+     * @param slotGrid the bookable slots of the day
+     * @return a service response containing the free slot start times in order (possibly empty), or an error
+     */
+    public ServiceResponse<List<LocalTime>> findFreeSlots(int providerId, LocalDate date, SlotGrid slotGrid) {
+        try {
+            if (scheduleIndex != null) {
+                return ServiceResponse.success(scheduleIndex.findFreeSlots(providerId, date, slotGrid));
+            }
+
+            BitSet booked = new BitSet(slotGrid.getSlotCount());
+            for (LocalTime time : appointmentDAO.findBookedTimes(providerId, date)) {
+                int slot = slotGrid.indexOf(time);
+                if (slot >= 0) {
+                    booked.set(slot);
+                }
+            }
+
+            List<LocalTime> free = new ArrayList<>(slotGrid.getSlotCount() - booked.cardinality());
+            for (int slot = booked.nextClearBit(0); slot < slotGrid.getSlotCount(); slot = booked.nextClearBit(slot + 1)) {
+                free.add(slotGrid.timeAt(slot));
+            }
+            return ServiceResponse.success(free);
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error checking provider availability: " + e.getMessage());
+        }
+    }
+
     /**
      * Looks up appointments by various attributes.
      *
@@ -294,7 +386,7 @@ public class AppointmentService {
      */
     public ServiceResponse<List<Appointment>> findAppointmentsByAttributes(Map<String, String> attributes) {
         try {
-            List<Appointment> appointments = appointmentDAO.findAllByAttributes(attributes);
+            List<Appointment> appointments = IdentityMap.inScope(() -> appointmentDAO.findAllByAttributes(attributes));
             if (appointments.isEmpty()) {
                 return ServiceResponse.notFound("No appointments found with attributes: " + attributes);
             }
@@ -311,7 +403,7 @@ public class AppointmentService {
      */
     public ServiceResponse<List<Appointment>> getAllAppointments() {
         try {
-            List<Appointment> appointments = appointmentDAO.findAll();
+            List<Appointment> appointments = IdentityMap.inScope(appointmentDAO::findAll);
             if (appointments.isEmpty()) {
                 return ServiceResponse.notFound("No appointments found");
             }
@@ -320,4 +412,44 @@ public class AppointmentService {
             return ServiceResponse.dbError("Error retrieving appointments: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Passes every appointment to the given action one at a time. Rows are read from the database
+     * as they are consumed instead of being collected into a list first, so exports and reports over
+     * the whole appointment history use constant memory.
+     * <p>
+     * No unit of work is opened here: it would keep every provider, pet and owner seen until the
+     * export ends. Each appointment gets its own instances instead, and a caller that wants them shared
+     * can open an {@link IdentityMap} scope around the call.
+     *
+     * @param action called once for each appointment
+     * @return a service response containing the number of appointments processed or an error
+     */
+    public ServiceResponse<Long> forEachAppointment(Consumer<? super Appointment> action) {
+        try (Stream<Appointment> appointments = appointmentDAO.streamAll()) {
+            long[] count = {0};
+            appointments.forEach(appointment -> {
+                action.accept(appointment);
+                count[0]++;
+            });
+            return ServiceResponse.success(count[0]);
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error retrieving appointments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves one page of appointments in schedule order (date, then time, then ID).
+     *
+     * @param after the last appointment of the previous page, or null for the first page
+     * @param pageSize the maximum number of appointments on the page
+     * @return a service response containing the page of appointments or an error
+     */
+    public ServiceResponse<Page<Appointment>> findAppointmentsPage(Appointment after, int pageSize) {
+        try {
+            return ServiceResponse.success(IdentityMap.inScope(() -> appointmentDAO.findPage(after, pageSize)));
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error retrieving appointments: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.vetportal.service;
+
+import com.vetportal.dto.ServiceResponse;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs service calls on background threads so the JavaFX Application Thread never waits on the database.
+ * <p>
+ * {@link #supply} runs a call on the service executor and returns a future of its response. A call
+ * that throws completes with a DB_ERROR response instead of failing the future. {@link #call} also
+ * hands the response to a callback on the result executor, which is {@code Platform.runLater} in the
+ * application, so controllers can update their controls there directly.
+ * <p>
+ * {@link #cancelPending()} cancels every call that has not delivered its result yet. It runs when the
+ * user moves to another page, so the callbacks of the page being left never run. A call that is
+ * already executing finishes its query, but its result is dropped.
+ * <p>
+ * On Java 21 and later the calls can run on virtual threads instead, one per call, see
+ * {@link #newVirtualThreadExecutor()}. The connection pool still bounds how many queries run at once;
+ * calls beyond that wait for a connection on a virtual thread rather than in the executor's queue.
+ */
+public class AsyncServices implements AutoCloseable {
+
+    private final ExecutorService serviceExecutor;
+    private final Executor resultExecutor;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs an AsyncServices with its own pool of daemon threads.
+     *
+     * @param threads the number of service calls that can run at once
+     * @param resultExecutor where {@link #call} callbacks run, usually the JavaFX Application Thread
+     */
+    public AsyncServices(int threads, Executor resultExecutor) {
+        this(Executors.newFixedThreadPool(threads, daemonThreads("vetportal-service-")), resultExecutor);
+    }
+
+    /**
+     * Constructs an AsyncServices that runs calls on the given executor. The executor is shut down
+     * by {@link #close()}.
+     *
+     * @param serviceExecutor where the service calls run
+     * @param resultExecutor where {@link #call} callbacks run, usually the JavaFX Application Thread
+     */
+    public AsyncServices(ExecutorService serviceExecutor, Executor resultExecutor) {
+        this.serviceExecutor = serviceExecutor;
+        this.resultExecutor = resultExecutor;
+    }
+
+    /**
+     * Runs a service call on the service executor.
+     *
+     * @param call the service call, for example {@code () -> appointmentService.findAppointmentsByDate(date)}
+     * @return a future of the call's response; a DB_ERROR response if the call threw
+     */
+    public <T> CompletableFuture<ServiceResponse<T>> supply(Supplier<ServiceResponse<T>> call) {
+        CompletableFuture<ServiceResponse<T>> future = new CompletableFuture<>();
+        pending.add(future);
+        future.whenComplete((response, error) -> pending.remove(future));
+
+        try {
+            serviceExecutor.execute(() -> {
+                // Cancelled while queued: skip the query altogether
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(call.get());
+                } catch (RuntimeException e) {
+                    future.complete(ServiceResponse.dbError("Database error: " + e.getMessage()));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected because the executor is shut down
+            future.complete(ServiceResponse.dbError("Service unavailable: " + e.getMessage()));
+        }
+        return future;
+    }
+
+    /**
+     * Runs a service call on the service executor and passes its response to the callback on the
+     * result executor. The callback does not run if the call is cancelled first.
+     *
+     * @param call the service call
+     * @param onResult receives the response on the result executor
+     * @return the future of the delivered result, which can be cancelled
+     */
+    public <T> CompletableFuture<Void> call(Supplier<ServiceResponse<T>> call, Consumer<ServiceResponse<T>> onResult) {
+        CompletableFuture<ServiceResponse<T>> response = supply(call);
+        CompletableFuture<Void> delivered = response.thenAcceptAsync(result -> {
+            if (!response.isCancelled()) {
+                onResult.accept(result);
+            }
+        }, resultExecutor);
+
+        // Cancelling the returned future must also stop the call itself
+        pending.add(delivered);
+        delivered.whenComplete((ignored, error) -> {
+            pending.remove(delivered);
+            response.cancel(false);
+        });
+        return delivered;
+    }
+
+    /**
+     * Cancels every call whose result has not been delivered yet.
+     *
+     * @return the number of calls cancelled
+     */
+    public int cancelPending() {
+        int cancelled = 0;
+        for (CompletableFuture<?> future : pending) {
+            if (future.cancel(false)) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * @return the number of calls that have not delivered their result yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Cancels pending calls and stops the service threads, waiting briefly for running calls.
+     */
+    @Override
+    public void close() {
+        cancelPending();
+        serviceExecutor.shutdown();
+        try {
+            if (!serviceExecutor.awaitTermination(2, TimeUnit.SECONDS)) {
+                serviceExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            serviceExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether this JVM can run service calls on virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isVirtualThreadSupported() {
+        return virtualThreadFactoryMethod() != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each call.
+     * <p>
+     * The application is compiled for Java 17, so the Java 21 factory method is looked up reflectively.
+     *
+     * @return a virtual-thread-per-task executor
+     * @throws UnsupportedOperationException if the JVM is older than Java 21
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        Method factory = virtualThreadFactoryMethod();
+        if (factory == null) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads need Java 21 or later, running on " + Runtime.version());
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    private static Method virtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            // Never keeps the application alive after the window closes
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,12 +2,17 @@ package com.vetportal.service;
 
 import com.vetportal.dao.CustomerDAO;
 import com.vetportal.dao.PetDAO;
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.dto.Page;
 import com.vetportal.dto.ServiceResponse;
 import com.vetportal.dao.EmployeeDAO;
 import com.vetportal.exception.DataAccessException;
+import com.vetportal.mapper.IdentityMap;
 import com.vetportal.model.Customer;
 import com.vetportal.model.Pet;
+import com.vetportal.util.ConnectionProvider;
 
+import java.lang.System.Logger.Level;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -21,8 +26,12 @@ import java.util.Map;
  * {@link ServiceResponse} objects to include status and error handling.
  */
 public class CustomerService {
+    private static final System.Logger LOGGER = System.getLogger(CustomerService.class.getName());
+
     private final CustomerDAO customerDAO;
     private final PetDAO petDAO;
+    // Deleting a pet or customer cascades into Appointment, so the index must forget what it holds
+    private final ScheduleIndex scheduleIndex;
 
     /**
      * Constructs a new CustomerService using the given database connection.
@@ -31,8 +40,29 @@ public class CustomerService {
      * @param conn an active SQL database connection
      */
     public CustomerService(Connection conn) {
-        this.customerDAO = new CustomerDAO(conn);
-        this.petDAO = new PetDAO(conn, this.customerDAO);
+        this(ConnectionProvider.of(conn));
+    }
+
+    /**
+     * Constructs a new CustomerService whose DAOs borrow connections from the given provider.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     */
+    public CustomerService(ConnectionProvider connectionProvider) {
+        this(connectionProvider, null);
+    }
+
+    /**
+     * Constructs a new CustomerService that invalidates the given schedule index when a delete
+     * cascades into appointments.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param scheduleIndex the shared schedule index, or null if there is none
+     */
+    public CustomerService(ConnectionProvider connectionProvider, ScheduleIndex scheduleIndex) {
+        this.customerDAO = new CustomerDAO(connectionProvider);
+        this.petDAO = new PetDAO(connectionProvider, this.customerDAO);
+        this.scheduleIndex = scheduleIndex;
     }
 
     // -------- CUSTOMER CLASS CREATE, UPDATE, & DELETE METHODS --------
@@ -66,7 +96,7 @@ public class CustomerService {
         try {
             return customerDAO.update(customer);
         } catch (DataAccessException e) {
-            System.err.println("Error updating customer: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error updating customer " + customer.getID(), e);
             return false;
         }
     }
@@ -80,17 +110,17 @@ public class CustomerService {
      */
     public boolean deleteCustomer(int customerID) {
         try {
-            // First verify the customer exists
-            Optional<Customer> customer = customerDAO.findByID(customerID);
-            if (customer.isEmpty()) {
-                System.out.println("Customer with ID " + customerID + " not found");
-                return false;
+            // The foreign key constraints will handle cascade deletion of pets.
+            // No row deleted means no customer has this ID
+            boolean deleted = customerDAO.delete(customerID);
+            if (!deleted) {
+                LOGGER.log(Level.DEBUG, () -> "Customer with ID " + customerID + " not found");
+            } else if (scheduleIndex != null) {
+                scheduleIndex.invalidateAll();
             }
-
-            // The foreign key constraints will handle cascade deletion of pets
-            return customerDAO.delete(customerID);
+            return deleted;
         } catch (DataAccessException e) {
-            System.err.println("Error deleting customer: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error deleting customer " + customerID, e);
             return false;
         }
     }
@@ -126,33 +156,16 @@ public class CustomerService {
      * @return true if the pet was updated, false otherwise
      */
     public boolean updatePet(Pet pet) {
-        System.out.println("CustomerService.updatePet - Pet ID: " + pet.getID() + ", Name: " + pet.getName());
+        LOGGER.log(Level.DEBUG, () -> "CustomerService.updatePet - Pet ID: " + pet.getID() + ", Name: " + pet.getName());
         try {
-            // Validate pet exists
-            Optional<Pet> existingPet = petDAO.findByID(pet.getID());
-            if (existingPet.isEmpty()) {
-                System.out.println("Pet with ID " + pet.getID() + " not found");
-                return false;
-            }
-
-            // Log to verify we found the pet
-            System.out.println("Found existing pet before update: " + existingPet.get().getName());
-
+            // One statement: no row updated means no pet has this ID
             boolean result = petDAO.update(pet);
-            System.out.println("Update result: " + result);
-
-            // Verify update with a simple fetch to make sure changes were saved
-            if (result) {
-                Optional<Pet> updatedPet = petDAO.findByID(pet.getID());
-                if (updatedPet.isPresent()) {
-                    System.out.println("After update - Pet name: " + updatedPet.get().getName() +
-                            ", Breed: " + updatedPet.get().getBreed());
-                }
+            if (!result) {
+                LOGGER.log(Level.DEBUG, () -> "Pet with ID " + pet.getID() + " not found");
             }
-
             return result;
         } catch (DataAccessException e) {
-            System.err.println("Error updating pet: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error updating pet " + pet.getID(), e);
             return false;
         }
     }
@@ -164,18 +177,18 @@ public class CustomerService {
      * @return true if the pet was deleted, false otherwise
      */
     public boolean deletePet(int petID) {
-        System.out.println("CustomerService.deletePet - Pet ID: " + petID);
+        LOGGER.log(Level.DEBUG, () -> "CustomerService.deletePet - Pet ID: " + petID);
         try {
-            // Validate pet exists
-            Optional<Pet> existingPet = petDAO.findByID(petID);
-            if (existingPet.isEmpty()) {
-                System.out.println("Pet with ID " + petID + " not found");
-                return false;
+            // No row deleted means no pet has this ID
+            boolean deleted = petDAO.delete(petID);
+            if (!deleted) {
+                LOGGER.log(Level.DEBUG, () -> "Pet with ID " + petID + " not found");
+            } else if (scheduleIndex != null) {
+                scheduleIndex.invalidateAll();
             }
-
-            return petDAO.delete(petID);
+            return deleted;
         } catch (DataAccessException e) {
-            System.err.println("Error deleting pet: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error deleting pet " + petID, e);
             return false;
         }
     }
@@ -206,15 +219,17 @@ public class CustomerService {
      */
     public ServiceResponse<List<Pet>> findPetsByCustomerId(int customerID) {
         try {
-            // Validate customer exists
-            Optional<Customer> customer = customerDAO.findByID(customerID);
-            if (customer.isEmpty()) {
-                return ServiceResponse.notFound("Customer with ID " + customerID + " not found");
-            }
+            return IdentityMap.inScope(() -> {
+                // Validate customer exists
+                Optional<Customer> customer = customerDAO.findByID(customerID);
+                if (customer.isEmpty()) {
+                    return ServiceResponse.notFound("Customer with ID " + customerID + " not found");
+                }
 
-            List<Pet> pets = petDAO.findAllPetsByCustomerId(customerID);
-            // Return success even if the list is empty
-            return ServiceResponse.success(pets);
+                List<Pet> pets = petDAO.findAllPetsByCustomerId(customerID);
+                // Return success even if the list is empty
+                return ServiceResponse.success(pets);
+            });
         } catch (Exception e) {
             return ServiceResponse.dbError("Error retrieving pets for customer ID " + customerID + ": " + e.getMessage());
         }
@@ -229,8 +244,23 @@ public class CustomerService {
         try {
             return customerDAO.findAll();
         } catch (DataAccessException e) {
-            System.err.println("Error retrieving all customers: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error retrieving all customers", e);
             return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves one page of customers ordered by last name, first name and ID.
+     *
+     * @param after the last customer of the previous page, or null for the first page
+     * @param pageSize the maximum number of customers on the page
+     * @return a service response containing the page of customers or an error
+     */
+    public ServiceResponse<Page<Customer>> findCustomersPage(Customer after, int pageSize) {
+        try {
+            return ServiceResponse.success(customerDAO.findPage(after, pageSize));
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error retrieving customers: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.vetportal.service;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.dto.DashboardSnapshot;
+import com.vetportal.dto.Page;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.exception.DataAccessException;
+import com.vetportal.mapper.IdentityMap;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+import com.vetportal.util.CacheStats;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.ReferenceCache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Builds the {@link DashboardSnapshot} the home page shows.
+ * <p>
+ * The appointments, customers and employees are read at the same time on separate threads, so each
+ * part borrows its own read connection and the snapshot takes as long as the slowest part rather than
+ * the sum of all three. Every list is bounded to {@link Page#DEFAULT_SIZE} rows.
+ * <p>
+ * Snapshots are cached for a short time, so moving between pages and back to the home page does not
+ * read the database again. A snapshot is also dropped as soon as the change counter moves; the
+ * application passes the connection pool's count of writer releases, so any write is seen as soon as
+ * it has committed. A snapshot read while a write is still running is cached under the count from
+ * before that write, so it is not reused once the write completes.
+ */
+public class DashboardService implements AutoCloseable {
+
+    public static final long DEFAULT_TTL_MILLIS = 30_000;
+
+    // One thread per part of the snapshot
+    private static final int PARTS = 3;
+
+    private final AppointmentDAO appointmentDAO;
+    private final CustomerDAO customerDAO;
+    private final EmployeeDAO employeeDAO;
+    private final LongSupplier changeCounter;
+    private final ReferenceCache<SnapshotKey, DashboardSnapshot> snapshotCache;
+    private final ExecutorService loadExecutor;
+
+    private record SnapshotKey(LocalDate date, long changes) { }
+
+    private record Part<T>(T items, int count) { }
+
+    /**
+     * Constructs a DashboardService whose snapshots expire after {@link #DEFAULT_TTL_MILLIS}.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     */
+    public DashboardService(ConnectionProvider connectionProvider) {
+        this(connectionProvider, () -> 0, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Constructs a DashboardService.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param changeCounter a number that changes whenever the data may have changed; cached snapshots
+     *                      taken at another value are not used
+     * @param ttlMillis how long a snapshot may be reused
+     */
+    public DashboardService(ConnectionProvider connectionProvider, LongSupplier changeCounter, long ttlMillis) {
+        this.customerDAO = new CustomerDAO(connectionProvider);
+        this.employeeDAO = new EmployeeDAO(connectionProvider);
+        PetDAO petDAO = new PetDAO(connectionProvider, customerDAO);
+        this.appointmentDAO = new AppointmentDAO(connectionProvider, employeeDAO, petDAO);
+        this.changeCounter = changeCounter;
+        this.snapshotCache = new ReferenceCache<>(4, ttlMillis);
+        this.loadExecutor = Executors.newFixedThreadPool(PARTS, AsyncServices.daemonThreads("vetportal-dashboard-"));
+    }
+
+    /**
+     * Returns the home page snapshot for a day, from the cache if a recent one is still current.
+     *
+     * @param date the day whose appointments are included
+     * @return a service response containing the snapshot or an error
+     */
+    public ServiceResponse<DashboardSnapshot> getSnapshot(LocalDate date) {
+        try {
+            return ServiceResponse.success(snapshotCache.get(new SnapshotKey(date, changeCounter.getAsLong()),
+                    () -> loadSnapshot(date)));
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error loading the dashboard: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops every cached snapshot, so the next request reads the database.
+     */
+    public void invalidate() {
+        snapshotCache.invalidateAll();
+    }
+
+    /**
+     * @return a snapshot of the snapshot cache statistics
+     */
+    public CacheStats getCacheStats() {
+        return snapshotCache.getStats();
+    }
+
+    /**
+     * Stops the threads that load snapshots.
+     */
+    @Override
+    public void close() {
+        loadExecutor.shutdownNow();
+    }
+
+    private DashboardSnapshot loadSnapshot(LocalDate date) {
+        CompletableFuture<Part<List<Appointment>>> appointments = loadPart(() -> new Part<>(
+                appointmentDAO.findFirstAppointmentsByDate(date, Page.DEFAULT_SIZE),
+                appointmentDAO.countAppointmentsByDate(date)));
+        CompletableFuture<Part<Page<Customer>>> customers = loadPart(() -> new Part<>(
+                customerDAO.findPage(null, Page.DEFAULT_SIZE), customerDAO.count()));
+        CompletableFuture<Part<Page<Employee>>> employees = loadPart(() -> new Part<>(
+                employeeDAO.findPage(null, Page.DEFAULT_SIZE), employeeDAO.count()));
+
+        try {
+            return new DashboardSnapshot(date,
+                    appointments.join().items(), appointments.join().count(),
+                    customers.join().items(), customers.join().count(),
+                    employees.join().items(), employees.join().count());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> loadPart(Supplier<T> part) {
+        // Each part runs on its own thread, so it needs its own unit of work
+        return CompletableFuture.supplyAsync(() -> IdentityMap.inScope(part), loadExecutor);
+    }
+}
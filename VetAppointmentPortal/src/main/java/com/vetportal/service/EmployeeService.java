@@ -1,10 +1,16 @@
 package com.vetportal.service;
 
 import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.dto.Page;
 import com.vetportal.dto.ServiceResponse;
 import com.vetportal.exception.DataAccessException;
 import com.vetportal.model.Employee;
+import com.vetportal.util.CacheStats;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.ReferenceCache;
 
+import java.lang.System.Logger.Level;
 import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
@@ -15,10 +21,22 @@ import java.util.Optional;
  * <p>
  * Delegates database operations to the {@link EmployeeDAO} and wraps results in
  * {@link ServiceResponse} objects to include status and error handling.
+ * <p>
+ * The employee list and the per-role lists are read on nearly every screen but almost never change,
+ * so they are kept in a {@link ReferenceCache} that is cleared whenever this service creates,
+ * updates or deletes an employee.
  */
 public class EmployeeService {
+    private static final System.Logger LOGGER = System.getLogger(EmployeeService.class.getName());
+
+
+    private static final String ALL_EMPLOYEES_KEY = "all";
+    private static final String ROLE_KEY_PREFIX = "role:";
 
     private final EmployeeDAO employeeDAO;
+    private final ReferenceCache<String, List<Employee>> employeeCache = new ReferenceCache<>();
+    // Deleting an employee cascades into Appointment, so the index must forget their days
+    private final ScheduleIndex scheduleIndex;
 
     /**
      * Constructs a new EmployeeService using the given database connection.
@@ -26,7 +44,28 @@ public class EmployeeService {
      * @param conn an active SQL database connection
      */
     public EmployeeService(Connection conn) {
-        this.employeeDAO = new EmployeeDAO(conn);
+        this(ConnectionProvider.of(conn));
+    }
+
+    /**
+     * Constructs a new EmployeeService whose DAO borrows connections from the given provider.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     */
+    public EmployeeService(ConnectionProvider connectionProvider) {
+        this(connectionProvider, null);
+    }
+
+    /**
+     * Constructs a new EmployeeService that invalidates the given schedule index when an employee
+     * and their appointments are deleted.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param scheduleIndex the shared schedule index, or null if there is none
+     */
+    public EmployeeService(ConnectionProvider connectionProvider, ScheduleIndex scheduleIndex) {
+        this.employeeDAO = new EmployeeDAO(connectionProvider);
+        this.scheduleIndex = scheduleIndex;
     }
 
     // -------------- CREATE UPDATE AND DELETE METHODS ------------
@@ -46,6 +85,8 @@ public class EmployeeService {
                 return ServiceResponse.dbError("Error: Email or phone already exists");
             }
             return ServiceResponse.dbError("Error: " + e.getMessage());
+        } finally {
+            employeeCache.invalidateAll();
         }
     }
 
@@ -59,8 +100,10 @@ public class EmployeeService {
         try {
             return employeeDAO.update(employee);
         } catch (DataAccessException e) {
-            System.err.println("Error updating employee: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error updating employee " + employee.getID(), e);
             return false;
+        } finally {
+            employeeCache.invalidateAll();
         }
     }
 
@@ -72,17 +115,19 @@ public class EmployeeService {
      */
     public boolean deleteEmployee(int employeeID) {
         try {
-            // First verify the employee exists
-            Optional<Employee> employee = employeeDAO.findByID(employeeID);
-            if (employee.isEmpty()) {
-                System.out.println("Employee with ID " + employeeID + " not found");
-                return false;
+            // No row deleted means no employee has this ID
+            boolean deleted = employeeDAO.delete(employeeID);
+            if (!deleted) {
+                LOGGER.log(Level.DEBUG, () -> "Employee with ID " + employeeID + " not found");
+            } else if (scheduleIndex != null) {
+                scheduleIndex.invalidateProvider(employeeID);
             }
-
-            return employeeDAO.delete(employeeID);
+            return deleted;
         } catch (DataAccessException e) {
-            System.err.println("Error deleting employee: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Error deleting employee " + employeeID, e);
             return false;
+        } finally {
+            employeeCache.invalidateAll();
         }
     }
 
@@ -122,13 +167,14 @@ public class EmployeeService {
     }
 
     /**
-     * Retrieves all employees from the database.
+     * Retrieves all employees, from the cache when possible.
      *
      * @return a service response containing the list of employees or an error
      */
     public ServiceResponse<List<Employee>> getAllEmployees() {
         try {
-            List<Employee> employees = employeeDAO.findAll();
+            List<Employee> employees = employeeCache.get(ALL_EMPLOYEES_KEY,
+                    () -> List.copyOf(employeeDAO.findAll()));
             if (employees.isEmpty()) {
                 return ServiceResponse.notFound("No employees found");
             }
@@ -158,7 +204,7 @@ public class EmployeeService {
     }
 
     /**
-     * Find employees by their role.
+     * Find employees by their role, from the cache when possible.
      *
      * @param role the role to filter by
      * @return a service response containing employees with the specified role
@@ -166,7 +212,8 @@ public class EmployeeService {
     public ServiceResponse<List<Employee>> findEmployeesByRole(Employee.Position role) {
         try {
             Map<String, String> attributes = Map.of("role", role.name());
-            List<Employee> employees = employeeDAO.findAllByAttributes(attributes);
+            List<Employee> employees = employeeCache.get(ROLE_KEY_PREFIX + role.name(),
+                    () -> List.copyOf(employeeDAO.findAllByAttributes(attributes)));
             if (employees.isEmpty()) {
                 return ServiceResponse.notFound("No employees found with role: " + role);
             }
@@ -175,4 +222,28 @@ public class EmployeeService {
             return ServiceResponse.dbError("Error retrieving employees by role: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the hit, miss and eviction counters of the employee cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats getCacheStats() {
+        return employeeCache.getStats();
+    }
+
+    /**
+     * Retrieves one page of employees ordered by last name, first name and ID.
+     *
+     * @param after the last employee of the previous page, or null for the first page
+     * @param pageSize the maximum number of employees on the page
+     * @return a service response containing the page of employees or an error
+     */
+    public ServiceResponse<Page<Employee>> findEmployeesPage(Employee after, int pageSize) {
+        try {
+            return ServiceResponse.success(employeeDAO.findPage(after, pageSize));
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error retrieving employees: " + e.getMessage());
+        }
+    }
+}
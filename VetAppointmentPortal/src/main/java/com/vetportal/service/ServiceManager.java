@@ -1,40 +1,117 @@
 package com.vetportal.service;
 
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.util.CheckpointScheduler;
+import com.vetportal.util.ConnectionPool;
 import com.vetportal.util.DbManager;
+import com.vetportal.util.FXUtil;
+import com.vetportal.util.MigrationRunner;
+import com.vetportal.util.QueryInstrumentation;
+import com.vetportal.util.QueryStats;
+
+import java.lang.System.Logger.Level;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
  * Singleton service manager responsible for initializing and managing application-wide services.
  * <p>
- * This class creates and shares a single database connection and makes service-layer objects
+ * This class owns the application's {@link ConnectionPool} and makes service-layer objects
  * (like {@link CustomerService} and {@link EmployeeService}) accessible throughout the application.
+ * Every service draws its connections from the same pool, so queries from different services can
+ * run concurrently while writes are serialized through the pool's single writer connection.
+ * <p>
+ * When the database runs in WAL mode a {@link CheckpointScheduler} keeps the write-ahead log short
+ * in the background. The scheduler and the pool are closed when {@link #close()} is called.
+ * <p>
+ * Setting the system property {@value #SCHEDULE_INDEX_PROPERTY} to {@code true} turns on a shared
+ * {@link ScheduleIndex}, which answers provider availability from memory. Only enable it when this
+ * application is the only process writing to the database.
  * <p>
- * The connection is automatically closed when {@link #close()} is called.
+ * Setting {@value #VIRTUAL_THREADS_PROPERTY} to {@code true} runs the controllers' service calls on
+ * virtual threads when the JVM supports them (Java 21 and later), and on the fixed pool otherwise.
+ * <p>
+ * Every DAO statement is timed into a shared {@link QueryStats}. Executions slower than
+ * {@value #SLOW_QUERY_PROPERTY} milliseconds (default {@value QueryStats#DEFAULT_SLOW_QUERY_MILLIS})
+ * are also logged as warnings as they happen.
  */
 public class ServiceManager {
+    private static final System.Logger LOGGER = System.getLogger(ServiceManager.class.getName());
+
+    public static final String SCHEDULE_INDEX_PROPERTY = "vetportal.scheduleIndex";
+    public static final String VIRTUAL_THREADS_PROPERTY = "vetportal.virtualThreads";
+    public static final String SLOW_QUERY_PROPERTY = "vetportal.slowQueryMillis";
 
     /** The singleton instance of ServiceManager. */
     private static ServiceManager instance;
 
-    private final Connection connection;
+    private final ConnectionPool connectionPool;
+    private final QueryStats queryStats;
+    private final CheckpointScheduler checkpointScheduler;
+    private final ScheduleIndex scheduleIndex;
     private final CustomerService customerService;
     private final AppointmentService appointmentService;
     private final EmployeeService employeeService;
+    private final SlotSearchService slotSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardService dashboardService;
+    private final AsyncServices asyncServices;
+    private final Runnable cancelOnNavigation;
 
     /**
-     * Initializes the ServiceManager by creating a database connection and instantiating services.
+     * Initializes the ServiceManager by opening the connection pool, applying any pending
+     * schema migrations and instantiating services.
      *
-     * @throws SQLException if the database connection cannot be established
+     * @throws SQLException if the database connection cannot be established or a migration fails
      */
     public ServiceManager() throws SQLException {
-        this.connection = DbManager.getConnection();
-        this.customerService = new CustomerService(connection);
-        this.appointmentService = new AppointmentService(connection);
-        this.employeeService = new EmployeeService(connection);
+        this.queryStats = new QueryStats(Long.getLong(SLOW_QUERY_PROPERTY, QueryStats.DEFAULT_SLOW_QUERY_MILLIS),
+                QueryStats.DEFAULT_MAX_SLOW_QUERIES, slow -> LOGGER.log(Level.WARNING, "Slow query: {0}", slow));
+        QueryInstrumentation.setListener(queryStats);
+        this.connectionPool = DbManager.getPool();
+
+        // Open the writer up front so a missing or unreadable database fails at startup,
+        // and bring an existing database up to the current schema version
+        try (Connection writer = connectionPool.getWriteConnection()) {
+            MigrationRunner.migrate(writer);
+        }
+
+        if (connectionPool.getProfile().isWal()) {
+            this.checkpointScheduler = new CheckpointScheduler(connectionPool, CheckpointScheduler.DEFAULT_INTERVAL_MILLIS);
+            checkpointScheduler.start();
+        } else {
+            this.checkpointScheduler = null;
+        }
+
+        this.scheduleIndex = Boolean.getBoolean(SCHEDULE_INDEX_PROPERTY) ? new ScheduleIndex(connectionPool) : null;
+
+        this.customerService = new CustomerService(connectionPool, scheduleIndex);
+        this.appointmentService = new AppointmentService(connectionPool, scheduleIndex);
+        this.employeeService = new EmployeeService(connectionPool, scheduleIndex);
+        this.slotSearchService = new SlotSearchService(connectionPool, employeeService);
+        this.transactionTemplate = new TransactionTemplate(connectionPool, scheduleIndex);
+        // Any finished write may change what the home page shows, so it retires the cached snapshot
+        this.dashboardService = new DashboardService(connectionPool,
+                connectionPool::getWriteReleases, DashboardService.DEFAULT_TTL_MILLIS);
+
+        // Controllers run their queries here and get the results back on the JavaFX Application Thread.
+        // Leaving a page cancels whatever it was still waiting for.
+        this.asyncServices = createAsyncServices();
+        this.cancelOnNavigation = asyncServices::cancelPending;
+        FXUtil.addNavigationListener(cancelOnNavigation);
         instance = this;
     }
 
+    private static AsyncServices createAsyncServices() {
+        if (Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY)) {
+            if (AsyncServices.isVirtualThreadSupported()) {
+                return new AsyncServices(AsyncServices.newVirtualThreadExecutor(), FXUtil::runOnFxThread);
+            }
+            LOGGER.log(Level.WARNING, "Virtual threads need Java 21 or later, using a fixed thread pool instead");
+        }
+        return new AsyncServices(ConnectionPool.DEFAULT_MAX_READERS, FXUtil::runOnFxThread);
+    }
+
     /**
      * Returns the singleton instance of the ServiceManager.
      *
@@ -45,12 +122,30 @@ public class ServiceManager {
     }
 
     /**
-     * Returns the shared database connection.
+     * Returns the shared connection pool.
+     *
+     * @return the {@link ConnectionPool} all services draw from
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Returns the statistics of every statement the DAOs have run, for diagnostics.
      *
-     * @return an active {@link Connection} object
+     * @return the shared {@link QueryStats}
      */
-    public Connection getConnection() {
-        return connection;
+    public QueryStats getQueryStats() {
+        return queryStats;
+    }
+
+    /**
+     * Returns the shared schedule index.
+     *
+     * @return the {@link ScheduleIndex}, or null if it is not enabled
+     */
+    public ScheduleIndex getScheduleIndex() {
+        return scheduleIndex;
     }
 
     /**
@@ -81,17 +176,54 @@ public class ServiceManager {
     }
 
     /**
-     * Closes the shared database connection, if it is open.
+     * Returns the shared {@link SlotSearchService} instance.
+     *
+     * @return the slot search service object
+     */
+    public SlotSearchService getSlotSearchService() {
+        return slotSearchService;
+    }
+
+    /**
+     * Returns the shared {@link TransactionTemplate} for grouping service calls into one transaction.
+     *
+     * @return the transaction template object
+     */
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+
+    /**
+     * Returns the shared {@link DashboardService} that builds the home page snapshot.
+     *
+     * @return the dashboard service object
+     */
+    public DashboardService getDashboardService() {
+        return dashboardService;
+    }
+
+    /**
+     * Returns the shared {@link AsyncServices} that controllers use to run service calls off the
+     * JavaFX Application Thread.
+     *
+     * @return the async service facade
+     */
+    public AsyncServices getAsyncServices() {
+        return asyncServices;
+    }
+
+    /**
+     * Stops the service threads and background checkpoints and closes the shared connection pool.
      * This should be called when the application exits to ensure proper cleanup.
      */
     public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        FXUtil.removeNavigationListener(cancelOnNavigation);
+        asyncServices.close();
+        dashboardService.close();
+        if (checkpointScheduler != null) {
+            checkpointScheduler.close();
         }
+        DbManager.closePool();
+        QueryInstrumentation.setListener(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.vetportal.service;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.exception.DataAccessException;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.AvailableSlot;
+import com.vetportal.model.Employee;
+import com.vetportal.model.SlotGrid;
+import com.vetportal.util.ConnectionProvider;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for finding the earliest free appointment slots across every provider who may
+ * perform a given type of appointment.
+ * <p>
+ * A search reads the eligible providers from the {@link EmployeeService} (which caches them) and their
+ * bookings for the whole date range in a single index-only query. The bookings are marked in one bitset
+ * with a bit per (day, provider, slot), which is then walked in time order until enough free slots
+ * are found. The work is proportional to the size of the range searched, not to the number of
+ * appointments in the database.
+ */
+public class SlotSearchService {
+
+    /** How far ahead a search looks when no end date is given. */
+    public static final int DEFAULT_SEARCH_DAYS = 30;
+
+    private final AppointmentDAO appointmentDAO;
+    private final EmployeeService employeeService;
+
+    /**
+     * Constructs a new SlotSearchService whose DAO borrows connections from the given provider.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param employeeService the service used to look up providers
+     */
+    public SlotSearchService(ConnectionProvider connectionProvider, EmployeeService employeeService) {
+        EmployeeDAO employeeDAO = new EmployeeDAO(connectionProvider);
+        PetDAO petDAO = new PetDAO(connectionProvider, new CustomerDAO(connectionProvider));
+        this.appointmentDAO = new AppointmentDAO(connectionProvider, employeeDAO, petDAO);
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Finds the next free slots on the standard day grid within {@link #DEFAULT_SEARCH_DAYS} days.
+     *
+     * @param type the type of appointment to be booked
+     * @param from the earliest start time to return
+     * @param limit the maximum number of slots to return
+     * @return a service response containing the free slots, earliest first, or an error
+     */
+    public ServiceResponse<List<AvailableSlot>> findNextAvailable(AppointmentType type, LocalDateTime from, int limit) {
+        return findNextAvailable(type, from, from.toLocalDate().plusDays(DEFAULT_SEARCH_DAYS - 1), limit, SlotGrid.DEFAULT);
+    }
+
+    /**
+     * Finds the earliest free slots, across all providers eligible for the appointment type, between
+     * {@code from} and the end of {@code until}. Slots at the same time are ordered by provider ID.
+     * A slot is free when the provider has no appointment starting at exactly that time.
+     *
+     * @param type the type of appointment to be booked
+     * @param from the earliest start time to return
+     * @param until the last day to search (inclusive)
+     * @param limit the maximum number of slots to return
+     * @param slotGrid the bookable slots of each day
+     * @return a service response containing up to {@code limit} free slots, earliest first (possibly empty),
+     *         or an error
+     * @throws IllegalArgumentException if limit is less than 1 or until is before from
+     */
+    public ServiceResponse<List<AvailableSlot>> findNextAvailable(AppointmentType type, LocalDateTime from,
+                                                                  LocalDate until, int limit, SlotGrid slotGrid) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        LocalDate firstDay = from.toLocalDate();
+        if (until.isBefore(firstDay)) {
+            throw new IllegalArgumentException("Search range ends before it starts");
+        }
+
+        ServiceResponse<List<Employee>> employees = employeeService.getAllEmployees();
+        if (!employees.isSuccess()) {
+            return ServiceResponse.dbError("Error loading providers: " + employees.getMessage());
+        }
+
+        List<Employee> providers = new ArrayList<>();
+        for (Employee employee : employees.getData()) {
+            if (type.canBePerformedBy(employee.getRole())) {
+                providers.add(employee);
+            }
+        }
+        if (providers.isEmpty()) {
+            return ServiceResponse.success(List.of());
+        }
+        providers.sort(Comparator.comparing(Employee::getID));
+
+        Map<Integer, Integer> providerIndex = new HashMap<>();
+        List<Integer> providerIds = new ArrayList<>(providers.size());
+        for (int p = 0; p < providers.size(); p++) {
+            providerIndex.put(providers.get(p).getID(), p);
+            providerIds.add(providers.get(p).getID());
+        }
+
+        int providerCount = providers.size();
+        int slotCount = slotGrid.getSlotCount();
+
+        // bit ((day * providerCount) + provider) * slotCount + slot is set when that slot is booked
+        BitSet booked = new BitSet();
+        try {
+            appointmentDAO.forEachBookedTime(providerIds, firstDay, until, (providerId, date, time) -> {
+                int slot = slotGrid.indexOf(time);
+                Integer p = providerIndex.get(providerId);
+                if (slot >= 0 && p != null) {
+                    int day = (int) ChronoUnit.DAYS.between(firstDay, date);
+                    booked.set((day * providerCount + p) * slotCount + slot);
+                }
+            });
+        } catch (DataAccessException e) {
+            return ServiceResponse.dbError("Error searching for free slots: " + e.getMessage());
+        }
+
+        List<AvailableSlot> free = new ArrayList<>(limit);
+        int days = (int) ChronoUnit.DAYS.between(firstDay, until) + 1;
+        for (int day = 0; day < days; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (day == 0 && slotGrid.timeAt(slot).isBefore(from.toLocalTime())) {
+                    continue;
+                }
+                for (int p = 0; p < providerCount; p++) {
+                    if (!booked.get((day * providerCount + p) * slotCount + slot)) {
+                        free.add(new AvailableSlot(date, slotGrid.timeAt(slot), providers.get(p)));
+                        if (free.size() == limit) {
+                            return ServiceResponse.success(free);
+                        }
+                    }
+                }
+            }
+        }
+        return ServiceResponse.success(free);
+    }
+}
@@ -0,0 +1,165 @@
+package com.vetportal.service;
+
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.exception.DataAccessException;
+import com.vetportal.mapper.IdentityMap;
+import com.vetportal.util.ConnectionProvider;
+
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs several service calls as one database transaction.
+ * <p>
+ * The template borrows the write connection for the whole callback. The connection pool hands the
+ * same connection to every DAO the calling thread uses until it is returned, so all the services
+ * called inside the callback write and read through one transaction. It is committed when the
+ * callback returns and rolled back if the callback throws, returns an unsuccessful
+ * {@link ServiceResponse}, or calls {@link Status#setRollbackOnly()}. Calls to {@code execute}
+ * nested inside a callback join the outer transaction; rolling back any part rolls back all of it.
+ * <p>
+ * After a rollback the schedule index and identity map are cleared, since both may hold rows
+ * written inside the transaction that no longer exist.
+ */
+public class TransactionTemplate {
+    private static final System.Logger LOGGER = System.getLogger(TransactionTemplate.class.getName());
+
+
+    /**
+     * The work to run inside the transaction.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        T doInTransaction(Status status);
+    }
+
+    /**
+     * Lets a callback ask for the transaction to be rolled back without throwing.
+     */
+    public static class Status {
+        private boolean rollbackOnly = false;
+
+        /**
+         * Marks the transaction so it is rolled back instead of committed when the outermost
+         * callback returns.
+         */
+        public void setRollbackOnly() {
+            rollbackOnly = true;
+        }
+
+        /**
+         * @return true if the transaction will be rolled back
+         */
+        public boolean isRollbackOnly() {
+            return rollbackOnly;
+        }
+    }
+
+    // The transaction this thread is running, so nested calls join it instead of starting another
+    private static final ThreadLocal<Status> CURRENT = new ThreadLocal<>();
+
+    private final ConnectionProvider connectionProvider;
+    private final ScheduleIndex scheduleIndex;
+
+    /**
+     * Constructs a TransactionTemplate using the given database connection.
+     *
+     * @param conn an active SQL database connection
+     */
+    public TransactionTemplate(Connection conn) {
+        this(ConnectionProvider.of(conn), null);
+    }
+
+    /**
+     * Constructs a TransactionTemplate that clears the given schedule index after a rollback.
+     *
+     * @param connectionProvider the source of database connections (usually the application's ConnectionPool)
+     * @param scheduleIndex the shared schedule index, or null if there is none
+     */
+    public TransactionTemplate(ConnectionProvider connectionProvider, ScheduleIndex scheduleIndex) {
+        this.connectionProvider = connectionProvider;
+        this.scheduleIndex = scheduleIndex;
+    }
+
+    /**
+     * Runs the callback in a transaction and returns its result.
+     *
+     * @param callback the service calls to group
+     * @return whatever the callback returned
+     * @throws DataAccessException if the transaction cannot be started, committed or rolled back
+     * @throws RuntimeException whatever the callback threw, after the transaction is rolled back
+     */
+    public <T> T execute(TransactionCallback<T> callback) {
+        Status outer = CURRENT.get();
+        if (outer != null) {
+            T result = callback.doInTransaction(outer);
+            if (result instanceof ServiceResponse<?> response && !response.isSuccess()) {
+                outer.setRollbackOnly();
+            }
+            return result;
+        }
+
+        Status status = new Status();
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            connection.setAutoCommit(false);
+            CURRENT.set(status);
+
+            T result;
+            try {
+                result = callback.doInTransaction(status);
+                if (result instanceof ServiceResponse<?> response && !response.isSuccess()) {
+                    status.setRollbackOnly();
+                }
+            } catch (RuntimeException | Error e) {
+                rollback(connection);
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+
+            if (status.isRollbackOnly()) {
+                rollback(connection);
+            } else {
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+            return result;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Transaction failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the callback in a transaction, turning an exception it throws into a DB_ERROR response.
+     *
+     * @param callback the service calls to group; an unsuccessful response rolls them all back
+     * @return the callback's response, or a DB_ERROR response if it or the transaction failed
+     */
+    public <T> ServiceResponse<T> executeResponse(TransactionCallback<ServiceResponse<T>> callback) {
+        try {
+            return execute(callback);
+        } catch (RuntimeException e) {
+            return ServiceResponse.dbError("Database error: " + e.getMessage());
+        }
+    }
+
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            // The pool rolls back a transaction left open when the connection is returned
+            LOGGER.log(Level.WARNING, "Failed to roll back transaction", e);
+        } finally {
+            IdentityMap.clear();
+            if (scheduleIndex != null) {
+                scheduleIndex.invalidateAll();
+            }
+        }
+    }
+}
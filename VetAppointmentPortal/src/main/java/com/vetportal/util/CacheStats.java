@@ -0,0 +1,55 @@
+package com.vetportal.util;
+
+/**
+ * Point-in-time snapshot of {@link ReferenceCache} counters.
+ * A low hit rate means entries expire or are invalidated before they are reused, and a
+ * high eviction count means the cache is too small for the number of distinct keys.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+
+    public CacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // Entries dropped because the cache was full or they outlived their time-to-live
+    public long getEvictions() {
+        return evictions;
+    }
+
+    // Number of times the whole cache was cleared after a write
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d, hits=%d, misses=%d (%.1f%% hit rate), evictions=%d, invalidations=%d",
+                size, hits, misses, getHitRate() * 100, evictions, invalidations);
+    }
+}
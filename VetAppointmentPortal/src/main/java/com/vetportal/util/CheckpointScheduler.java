@@ -0,0 +1,164 @@
+package com.vetportal.util;
+
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically copies the write-ahead log back into the main database file.
+ * <p>
+ * In WAL mode SQLite checkpoints on whichever commit pushes the log past
+ * {@code wal_autocheckpoint} pages, so an unlucky appointment save pays for the copy.
+ * Running a PASSIVE checkpoint on a background thread keeps the log short enough that
+ * commits rarely hit that threshold. The checkpoint uses its own connection rather than the
+ * pool's writer, since a PASSIVE checkpoint never blocks readers or writers.
+ * <p>
+ * A final TRUNCATE checkpoint runs on {@link #close()} so the database file is complete on its own
+ * once the application exits.
+ */
+public class CheckpointScheduler implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(CheckpointScheduler.class.getName());
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 30_000;
+
+    private final String url;
+    private final ConnectionProfile profile;
+    private final long intervalMillis;
+    private ScheduledExecutorService executor;
+    private Connection connection;
+
+    // Outcome of the most recent checkpoint, read by other threads
+    private volatile CheckpointResult lastResult;
+
+    /**
+     * Creates a scheduler for the database behind the given pool.
+     *
+     * @param pool the pool whose database should be checkpointed
+     * @param intervalMillis how often to run a PASSIVE checkpoint
+     */
+    public CheckpointScheduler(ConnectionPool pool, long intervalMillis) {
+        this.url = pool.getUrl();
+        this.profile = pool.getProfile();
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts the background checkpoints. Calling this more than once has no effect.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint("PASSIVE");
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "WAL checkpoint failed", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a checkpoint immediately.
+     *
+     * @param mode the SQLite checkpoint mode: PASSIVE, FULL, RESTART or TRUNCATE
+     * @return how much of the log was copied back
+     * @throws SQLException if the checkpoint cannot be run
+     */
+    public synchronized CheckpointResult checkpoint(String mode) throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection(url);
+            profile.apply(connection, false);
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            if (!rs.next()) {
+                throw new SQLException("wal_checkpoint returned no result");
+            }
+            lastResult = new CheckpointResult(rs.getInt(1) != 0, rs.getInt(2), rs.getInt(3));
+            return lastResult;
+        }
+    }
+
+    /**
+     * @return the result of the most recent checkpoint, or null if none has run yet
+     */
+    public CheckpointResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Stops the background checkpoints and truncates the log.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+
+        try {
+            checkpoint("TRUNCATE");
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Final WAL checkpoint failed", e);
+        }
+
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Error closing checkpoint connection", e);
+            }
+            connection = null;
+        }
+    }
+
+
+    /**
+     * The three values reported by {@code PRAGMA wal_checkpoint}.
+     */
+    public static class CheckpointResult {
+        private final boolean busy;
+        private final int logFrames;
+        private final int checkpointedFrames;
+
+        public CheckpointResult(boolean busy, int logFrames, int checkpointedFrames) {
+            this.busy = busy;
+            this.logFrames = logFrames;
+            this.checkpointedFrames = checkpointedFrames;
+        }
+
+        // True if the checkpoint could not finish because a reader or writer was in the way
+        public boolean isBusy() {
+            return busy;
+        }
+
+        // Frames currently in the log, or -1 if the database is not in WAL mode
+        public int getLogFrames() {
+            return logFrames;
+        }
+
+        // Frames copied back into the database file
+        public int getCheckpointedFrames() {
+            return checkpointedFrames;
+        }
+
+        @Override
+        public String toString() {
+            return "checkpointed " + checkpointedFrames + "/" + logFrames + " frames" + (busy ? " (busy)" : "");
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.vetportal.util;
+
+import java.lang.System.Logger.Level;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of SQLite connections.
+ * <p>
+ * Queries are served from up to {@code maxReaders} read-only connections so they can run
+ * side by side. All INSERT, UPDATE and DELETE statements go through one writer connection that
+ * only a single thread can hold at a time, which matches SQLite's own one-writer rule and avoids
+ * SQLITE_BUSY errors between our own connections.
+ * <p>
+ * Connections are bound to the borrowing thread: if a thread asks for a connection while it
+ * already holds one of the same kind it gets the same connection back, and a thread that holds
+ * the writer also gets the writer for reads so it always sees its own uncommitted changes.
+ * This lets DAO methods call other DAO methods without exhausting the pool.
+ * <p>
+ * Each connection keeps the statements prepared on it in a {@link StatementCache}, so a DAO
+ * running the same SQL again skips compiling it.
+ */
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(ConnectionPool.class.getName());
+
+    public static final int DEFAULT_MAX_READERS = 4;
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 5_000;
+
+    private final String url;
+    private final int maxReaders;
+    private final long borrowTimeoutMillis;
+    private final ConnectionProfile profile;
+
+    // Read-only connections that have been created and are not currently lent out
+    private final LinkedBlockingDeque<Connection> idleReaders = new LinkedBlockingDeque<>();
+    private final Semaphore readerPermits;
+
+    // The single writer connection, only touched while holding writerLock
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private Connection writer;
+
+    // What the current thread has borrowed, so nested borrows reuse the same connection
+    private final ThreadLocal<Lease> readLease = new ThreadLocal<>();
+    private final ThreadLocal<Lease> writeLease = new ThreadLocal<>();
+
+    // Prepared statements kept per physical connection, dropped when the connection is closed
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final StatementCache.Stats statementStats = new StatementCache.Stats();
+
+    // Metrics
+    private final LongAdder readBorrows = new LongAdder();
+    private final LongAdder writeBorrows = new LongAdder();
+    // Bumped when the writer is handed back, after its transaction has been committed or rolled back
+    private final LongAdder writeReleases = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger activeReaders = new AtomicInteger();
+    private final AtomicInteger openReaders = new AtomicInteger();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a pool with the default number of readers and borrow timeout.
+     *
+     * @param url the JDBC url of the SQLite database
+     */
+    public ConnectionPool(String url) {
+        this(url, DEFAULT_MAX_READERS, DEFAULT_BORROW_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Creates a pool. Connections are opened lazily the first time they are needed.
+     *
+     * @param url the JDBC url of the SQLite database
+     * @param maxReaders the maximum number of read-only connections that may be open at once
+     * @param borrowTimeoutMillis how long a caller waits for a free connection before giving up
+     * @throws IllegalArgumentException if maxReaders is less than 1
+     */
+    public ConnectionPool(String url, int maxReaders, long borrowTimeoutMillis) {
+        this(url, maxReaders, borrowTimeoutMillis, ConnectionProfile.defaults());
+    }
+
+    /**
+     * Creates a pool whose connections are configured with the given PRAGMA profile.
+     *
+     * @param url the JDBC url of the SQLite database
+     * @param maxReaders the maximum number of read-only connections that may be open at once
+     * @param borrowTimeoutMillis how long a caller waits for a free connection before giving up
+     * @param profile the PRAGMA settings applied to every connection the pool opens
+     * @throws IllegalArgumentException if maxReaders is less than 1
+     */
+    public ConnectionPool(String url, int maxReaders, long borrowTimeoutMillis, ConnectionProfile profile) {
+        if (maxReaders < 1) {
+            throw new IllegalArgumentException("Pool needs at least one reader connection");
+        }
+        this.url = url;
+        this.maxReaders = maxReaders;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.profile = profile;
+        this.readerPermits = new Semaphore(maxReaders, true);
+    }
+
+
+    // --------------------  BORROWING -------------------
+
+
+    /**
+     * Borrows a read-only connection. If the current thread holds the writer connection the
+     * writer is returned instead so reads see the thread's own uncommitted changes.
+     *
+     * @return a connection that returns to the pool when closed
+     * @throws SQLException if the pool is closed, no reader frees up before the timeout,
+     *      or a new connection cannot be opened
+     */
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        ensureOpen();
+
+        Lease lease = writeLease.get();
+        if (lease == null) {
+            lease = readLease.get();
+        }
+        if (lease != null) {
+            lease.holds++;
+            readBorrows.increment();
+            return lease.newHandle();
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!readerPermits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a read connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        Connection physical;
+        try {
+            physical = idleReaders.pollFirst();
+            if (physical == null || physical.isClosed()) {
+                physical = openConnection(true);
+                openReaders.incrementAndGet();
+            }
+        } catch (SQLException e) {
+            readerPermits.release();
+            throw e;
+        }
+
+        lease = new Lease(physical, false);
+        readLease.set(lease);
+        activeReaders.incrementAndGet();
+        readBorrows.increment();
+        return lease.newHandle();
+    }
+
+    /**
+     * Borrows the writer connection, waiting until no other thread holds it.
+     *
+     * @return the writer connection, returned to the pool when closed
+     * @throws SQLException if the pool is closed, the writer does not free up before the timeout,
+     *      or the connection cannot be opened
+     */
+    @Override
+    public Connection getWriteConnection() throws SQLException {
+        ensureOpen();
+
+        Lease lease = writeLease.get();
+        if (lease != null) {
+            lease.holds++;
+            writeBorrows.increment();
+            return lease.newHandle();
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!writerLock.tryLock(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for the write connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the write connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            if (writer == null || writer.isClosed()) {
+                writer = openConnection(false);
+            }
+        } catch (SQLException e) {
+            writerLock.unlock();
+            throw e;
+        }
+
+        lease = new Lease(writer, true);
+        writeLease.set(lease);
+        writeBorrows.increment();
+        return lease.newHandle();
+    }
+
+
+    // --------------------  METRICS AND LIFECYCLE -------------------
+
+
+    /**
+     * Returns a snapshot of the pool's usage counters.
+     *
+     * @return the current pool metrics
+     */
+    public PoolMetrics getMetrics() {
+        long borrows = readBorrows.sum() + writeBorrows.sum();
+        return new PoolMetrics(
+                readBorrows.sum(),
+                writeBorrows.sum(),
+                timeouts.sum(),
+                borrows == 0 ? 0 : totalWaitNanos.sum() / borrows,
+                maxWaitNanos.get(),
+                activeReaders.get(),
+                openReaders.get(),
+                maxReaders,
+                writerLock.isLocked()
+        );
+    }
+
+    /**
+     * Counts how often the write connection has been handed back to the pool. The count only moves once
+     * the writer's transaction has ended, so a cache keyed on it never keeps data that was read while a
+     * write was still running.
+     *
+     * @return the number of times the writer has been released
+     */
+    public long getWriteReleases() {
+        return writeReleases.sum();
+    }
+
+    /**
+     * Returns how often prepared statements were reused across all of the pool's connections.
+     *
+     * @return the statement cache counters; size is the number of idle statements currently kept
+     */
+    public CacheStats getStatementCacheStats() {
+        int size = 0;
+        for (StatementCache cache : statementCaches.values()) {
+            size += cache.size();
+        }
+        return statementStats.snapshot(size);
+    }
+
+    /**
+     * @return the JDBC url connections in this pool are opened against
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the PRAGMA profile applied to connections in this pool
+     */
+    public ConnectionProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return true once {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes every idle connection. Connections that are still lent out are closed
+     * as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        Connection idle;
+        while ((idle = idleReaders.pollFirst()) != null) {
+            closeQuietly(idle);
+            openReaders.decrementAndGet();
+        }
+
+        if (writerLock.tryLock()) {
+            try {
+                if (writer != null) {
+                    closeQuietly(writer);
+                    writer = null;
+                }
+            } finally {
+                writerLock.unlock();
+            }
+        }
+    }
+
+
+    // --------------------  INTERNALS -------------------
+
+
+    /**
+     * Opens a new physical connection, applies the PRAGMA profile and enables foreign keys on it.
+     *
+     * @param readOnly true to open the SQLite file in read-only mode
+     * @return the new connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    private Connection openConnection(boolean readOnly) throws SQLException {
+        Properties properties = new Properties();
+        if (readOnly) {
+            // SQLITE_OPEN_READONLY; sqlite-jdbc only honours read-only when set before opening
+            properties.setProperty("open_mode", "1");
+        }
+
+        Connection physical = DriverManager.getConnection(url, properties);
+        try {
+            profile.apply(physical, readOnly);
+            DbManager.ensureForeignKeysEnabled(physical);
+        } catch (SQLException e) {
+            closeQuietly(physical);
+            throw e;
+        }
+        return physical;
+    }
+
+    private void release(Lease lease) {
+        if (lease.writer) {
+            writeLease.remove();
+            try {
+                // A lease should never leave a transaction open for the next borrower
+                if (!lease.physical.getAutoCommit()) {
+                    lease.physical.rollback();
+                    lease.physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Failed to reset write connection", e);
+                closeQuietly(lease.physical);
+                writer = null;
+            }
+            if (closed && writer != null) {
+                closeQuietly(writer);
+                writer = null;
+            }
+            writeReleases.increment();
+            writerLock.unlock();
+        } else {
+            readLease.remove();
+            activeReaders.decrementAndGet();
+            if (closed) {
+                closeQuietly(lease.physical);
+                openReaders.decrementAndGet();
+            } else {
+                idleReaders.offerFirst(lease.physical);
+            }
+            readerPermits.release();
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        StatementCache cache = statementCaches.remove(connection);
+        if (cache != null) {
+            cache.close();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error closing pooled connection", e);
+        }
+    }
+
+
+    /**
+     * One thread's hold on a physical connection. Every borrow by that thread gets its own
+     * handle; the connection goes back to the pool when the last handle is closed.
+     */
+    private class Lease {
+        private final Connection physical;
+        private final boolean writer;
+        private final StatementCache statementCache;
+        private int holds = 1;
+
+        private Lease(Connection physical, boolean writer) {
+            this.physical = physical;
+            this.writer = writer;
+            this.statementCache = statementCaches.computeIfAbsent(physical,
+                    c -> new StatementCache(c, StatementCache.DEFAULT_MAX_STATEMENTS, statementStats));
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+
+        private void returnHandle() {
+            holds--;
+            if (holds == 0) {
+                release(this);
+            }
+        }
+    }
+
+
+    /**
+     * Forwards calls to the physical connection, turning close() into a return to the pool
+     * and prepareStatement(sql) into a lookup in the connection's statement cache.
+     */
+    private static class Handle implements InvocationHandler {
+        private final Lease lease;
+        private boolean returned = false;
+
+        private Handle(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(lease.physical, args);
+            }
+            if ("close".equals(name) && method.getParameterCount() == 0) {
+                if (!returned) {
+                    returned = true;
+                    lease.returnHandle();
+                }
+                return null;
+            }
+            if ("isClosed".equals(name) && method.getParameterCount() == 0) {
+                return returned || lease.physical.isClosed();
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if ("prepareStatement".equals(name) && method.getParameterCount() == 1) {
+                return lease.statementCache.prepare((String) args[0], (Connection) proxy);
+            }
+
+            try {
+                return method.invoke(lease.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.vetportal.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PRAGMA settings applied to every SQLite connection when it is opened.
+ * <p>
+ * The defaults put the database in WAL mode so readers no longer block while an appointment is
+ * being written, relax fsyncs to once per checkpoint (synchronous=NORMAL, which is still safe
+ * against corruption in WAL mode), and give each connection a larger page cache and memory map.
+ * <p>
+ * Each setting can be overridden with a system property, e.g.
+ * {@code -Dvetportal.db.journal_mode=DELETE} or {@code -Dvetportal.db.busy_timeout=10000}.
+ */
+public class ConnectionProfile {
+
+    private static final String PROPERTY_PREFIX = "vetportal.db.";
+
+    private String journalMode = "WAL";
+    private String synchronous = "NORMAL";
+    private int cacheSizeKib = 16_384;                 // 16 MiB page cache per connection
+    private long mmapSizeBytes = 64L * 1024 * 1024;    // 64 MiB memory-mapped reads
+    private String tempStore = "MEMORY";
+    private int busyTimeoutMillis = 5_000;
+    private int walAutocheckpointPages = 1_000;        // SQLite's default; CheckpointScheduler usually gets there first
+
+    /**
+     * @return a profile with the default settings
+     */
+    public static ConnectionProfile defaults() {
+        return new ConnectionProfile();
+    }
+
+    /**
+     * Builds a profile from the defaults, overridden by any {@code vetportal.db.*} system properties.
+     *
+     * @return the configured profile
+     */
+    public static ConnectionProfile fromSystemProperties() {
+        ConnectionProfile profile = new ConnectionProfile();
+        profile.journalMode = System.getProperty(PROPERTY_PREFIX + "journal_mode", profile.journalMode);
+        profile.synchronous = System.getProperty(PROPERTY_PREFIX + "synchronous", profile.synchronous);
+        profile.cacheSizeKib = Integer.getInteger(PROPERTY_PREFIX + "cache_size_kib", profile.cacheSizeKib);
+        profile.mmapSizeBytes = Long.getLong(PROPERTY_PREFIX + "mmap_size", profile.mmapSizeBytes);
+        profile.tempStore = System.getProperty(PROPERTY_PREFIX + "temp_store", profile.tempStore);
+        profile.busyTimeoutMillis = Integer.getInteger(PROPERTY_PREFIX + "busy_timeout", profile.busyTimeoutMillis);
+        profile.walAutocheckpointPages = Integer.getInteger(PROPERTY_PREFIX + "wal_autocheckpoint", profile.walAutocheckpointPages);
+        return profile;
+    }
+
+    /**
+     * Applies the profile to a newly opened connection.
+     * The journal mode is stored in the database file itself, so it is only set on writable connections.
+     *
+     * @param connection the connection to configure
+     * @param readOnly true if the connection was opened read-only
+     * @throws SQLException if a PRAGMA fails or the journal mode could not be changed
+     */
+    public void apply(Connection connection, boolean readOnly) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // busy_timeout first so the remaining PRAGMAs wait out a concurrent writer instead of failing
+            statement.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+
+            if (!readOnly) {
+                try (ResultSet rs = statement.executeQuery("PRAGMA journal_mode = " + journalMode)) {
+                    // SQLite answers with the mode actually in effect, which differs if the change was refused
+                    if (rs.next() && !journalMode.equalsIgnoreCase(rs.getString(1))) {
+                        throw new SQLException("Could not set journal_mode to " + journalMode
+                                + ", database is using " + rs.getString(1));
+                    }
+                }
+                statement.execute("PRAGMA wal_autocheckpoint = " + walAutocheckpointPages);
+            }
+
+            statement.execute("PRAGMA synchronous = " + synchronous);
+            statement.execute("PRAGMA cache_size = " + (-cacheSizeKib)); // negative value means KiB, not pages
+            statement.execute("PRAGMA mmap_size = " + mmapSizeBytes);
+            statement.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+
+    // -------- GETTERS AND SETTERS --------
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public ConnectionProfile setJournalMode(String journalMode) {
+        this.journalMode = journalMode;
+        return this;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public ConnectionProfile setSynchronous(String synchronous) {
+        this.synchronous = synchronous;
+        return this;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    public ConnectionProfile setCacheSizeKib(int cacheSizeKib) {
+        this.cacheSizeKib = cacheSizeKib;
+        return this;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    public ConnectionProfile setMmapSizeBytes(long mmapSizeBytes) {
+        this.mmapSizeBytes = mmapSizeBytes;
+        return this;
+    }
+
+    public String getTempStore() {
+        return tempStore;
+    }
+
+    public ConnectionProfile setTempStore(String tempStore) {
+        this.tempStore = tempStore;
+        return this;
+    }
+
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+
+    public ConnectionProfile setBusyTimeoutMillis(int busyTimeoutMillis) {
+        this.busyTimeoutMillis = busyTimeoutMillis;
+        return this;
+    }
+
+    public int getWalAutocheckpointPages() {
+        return walAutocheckpointPages;
+    }
+
+    public ConnectionProfile setWalAutocheckpointPages(int walAutocheckpointPages) {
+        this.walAutocheckpointPages = walAutocheckpointPages;
+        return this;
+    }
+
+    /**
+     * @return true if the profile puts the database in write-ahead-log mode
+     */
+    public boolean isWal() {
+        return "WAL".equalsIgnoreCase(journalMode);
+    }
+
+    @Override
+    public String toString() {
+        return "journal_mode=" + journalMode + ", synchronous=" + synchronous + ", cache_size=" + cacheSizeKib
+                + "KiB, mmap_size=" + mmapSizeBytes + ", temp_store=" + tempStore + ", busy_timeout=" + busyTimeoutMillis + "ms";
+    }
+}
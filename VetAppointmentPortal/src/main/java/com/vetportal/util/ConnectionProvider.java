@@ -0,0 +1,72 @@
+package com.vetportal.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of database connections for the DAO layer.
+ * <p>
+ * Callers borrow a connection for the duration of a single operation and close it when done.
+ * Closing a borrowed connection hands it back to the provider; it never closes the underlying
+ * SQLite handle. Read connections should only be used for queries, write connections for
+ * INSERT, UPDATE and DELETE statements.
+ */
+public interface ConnectionProvider {
+
+    /**
+     * Borrows a connection for running queries.
+     *
+     * @return a connection that must be closed by the caller when the query is finished
+     * @throws SQLException if a connection cannot be obtained
+     */
+    Connection getReadConnection() throws SQLException;
+
+    /**
+     * Borrows the connection used for INSERT, UPDATE and DELETE statements.
+     *
+     * @return a connection that must be closed by the caller when the statement is finished
+     * @throws SQLException if a connection cannot be obtained
+     */
+    Connection getWriteConnection() throws SQLException;
+
+    /**
+     * Wraps a single existing connection so it can be used wherever a provider is expected.
+     * Reads and writes both go through the given connection, and closing a borrowed connection
+     * leaves the shared connection open. This keeps the original one-connection setup
+     * (used by the JUnit tests and standalone utilities) working unchanged.
+     *
+     * @param connection the shared active database connection
+     * @return a provider that always hands out the given connection
+     */
+    static ConnectionProvider of(Connection connection) {
+        // Closing the borrowed connection must not close the shared one, so close() becomes a no-op
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+
+        Connection shared = (Connection) Proxy.newProxyInstance(
+                ConnectionProvider.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+
+        return new ConnectionProvider() {
+            @Override
+            public Connection getReadConnection() {
+                return shared;
+            }
+
+            @Override
+            public Connection getWriteConnection() {
+                return shared;
+            }
+        };
+    }
+}
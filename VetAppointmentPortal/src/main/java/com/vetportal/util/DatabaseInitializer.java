@@ -18,6 +18,10 @@ public class DatabaseInitializer {
             executeSqlFile(conn, seedResource);
             System.out.println("Seed data inserted successfully");
 
+            // Apply schema migrations (indexes etc.) on top of the version 0 schema
+            int version = MigrationRunner.migrate(conn);
+            System.out.println("Schema migrated to version " + version);
+
             // List tables to verify
             listTables(conn);
         } catch (SQLException | IOException e) {
@@ -52,7 +56,7 @@ public class DatabaseInitializer {
      * @throws SQLException if a database error occurs
      * @throws IOException if an I/O error occurs
      */
-    private static void executeSqlFile(Connection conn, String resourcePath) throws SQLException, IOException {
+    static void executeSqlFile(Connection conn, String resourcePath) throws SQLException, IOException {
         System.out.println("Attempting to load: " + resourcePath);
 
         // Look for resourcePath (seed.sql) inside resource classpath
@@ -88,15 +92,15 @@ public class DatabaseInitializer {
         }
     }
 
-    // Used for Junit tests only
+    // Used for Junit tests and benchmarks only
     public static void initializeOnExistingConnection(Connection conn, String schemaPath, String seedPath) throws SQLException, IOException {
         // Ensure we have a valid connection
         if (conn == null || conn.isClosed()) {
             throw new SQLException("Invalid connection: connection is null or closed");
         }
 
-        // Make sure foreign keys are enabled
-        DbManager.ensureForeignKeysEnabled();
+        // Make sure foreign keys are enabled on the connection being initialized
+        DbManager.ensureForeignKeysEnabled(conn);
 
         // Execute the SQL files
         executeSqlFile(conn, schemaPath);
@@ -105,10 +109,26 @@ public class DatabaseInitializer {
         executeSqlFile(conn, seedPath);
         System.out.println("Seed data inserted");
 
+        MigrationRunner.migrate(conn);
+
         // List tables to verify
         listTables(conn);
     }
 
+    /**
+     * Creates the schema on a connection and migrates it to the latest version, without any seed data.
+     *
+     * @param conn a writable connection in auto-commit mode
+     * @param schemaPath the path to the schema SQL file
+     * @throws SQLException if a database error occurs
+     * @throws IOException if the schema file cannot be read
+     */
+    public static void initializeEmptyOnExistingConnection(Connection conn, String schemaPath) throws SQLException, IOException {
+        DbManager.ensureForeignKeysEnabled(conn);
+        executeSqlFile(conn, schemaPath);
+        MigrationRunner.migrate(conn);
+    }
+
     public static void main(String[] args) {
         String schemaResource = "database/schema.sql";
         String seedResource = "database/seed.sql";
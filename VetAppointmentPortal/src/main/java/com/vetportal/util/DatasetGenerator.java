@@ -0,0 +1,301 @@
+package com.vetportal.util;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.model.SlotGrid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Fills a database with a synthetic clinic large enough to show how queries scale:
+ * employees, customers, their pets and a schedule of appointments.
+ * <p>
+ * Every row is inserted through the DAOs' batched {@code createAll}, so the data passes the same
+ * checks the application applies. Appointments never double-book a provider (the
+ * {@code unique_provider_time} constraint) and only veterinarians get anything but vaccinations.
+ * The same seed always produces the same database.
+ * <p>
+ * Run it from the command line to build a fresh database file, e.g.
+ * {@code DatasetGenerator --db large.db --customers 200000 --appointments 2000000 --seed 7}.
+ * The file is replaced.
+ */
+public class DatasetGenerator {
+
+    /** The first day of the generated schedule; fixed so the output does not depend on today's date. */
+    public static final LocalDate SCHEDULE_START = LocalDate.of(2024, 1, 1);
+
+    // Inserted this many at a time, so millions of appointments never sit in memory at once
+    private static final int CHUNK_SIZE = 10_000;
+    // Share of each provider's slots that are booked on a scheduled day
+    private static final double BOOKED_SHARE = 0.7;
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Carol", "David", "Eve", "Frank", "Grace", "Henry", "Ivy", "Jack",
+            "Kara", "Leo", "Mona", "Nina", "Owen", "Priya", "Quinn", "Rosa", "Sam", "Tara",
+            "Umar", "Vera", "Wes", "Xena", "Yusuf", "Zoe"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Jones", "Lee", "Kim", "Wong", "Nguyen", "Hall", "Green", "Young", "White",
+            "Black", "Brown", "Davis", "Evans", "Ford", "Garcia", "Martinez", "Lopez", "Wilson", "Moore",
+            "Patel", "Clark", "Lewis", "Walker", "Young", "King"};
+    private static final String[] STREETS = {
+            "Apple St", "Banana Ave", "Cherry Blvd", "Date Dr", "Elm Ct", "Fir St", "Grape Rd", "Hazel Ln"};
+    private static final String[][] SPECIES = {
+            {"Dog", "Labrador", "Beagle", "Poodle", "Bulldog", "Golden Retriever", "Chihuahua"},
+            {"Cat", "Siamese", "Maine Coon", "Persian", "Bengal", "Ragdoll"},
+            {"Rabbit", "Dutch", "Lionhead"},
+            {"Parrot", "African Grey", "Budgie"},
+            {"Hamster", "Syrian"}};
+    private static final String[] PET_NAMES = {
+            "Whiskers", "Shadow", "Rover", "Ziggy", "Nemo", "Baxter", "Milo", "Luna", "Max", "Coco",
+            "Oliver", "Daisy", "Simba", "Peanut", "Lily", "Rocky", "Mochi", "Remi", "Bella", "Charlie"};
+    private static final AppointmentType[] VET_TYPES = {
+            AppointmentType.CHECKUP, AppointmentType.CHECKUP, AppointmentType.CHECKUP, AppointmentType.VACCINATION,
+            AppointmentType.DENTAL, AppointmentType.SURGERY, AppointmentType.EMERGENCY};
+
+    private int employees = 2_000;
+    private int customers = 200_000;
+    private int pets = 300_000;
+    private int appointments = 2_000_000;
+    private long seed = 42;
+    private SlotGrid slotGrid = SlotGrid.DEFAULT;
+
+    /**
+     * @return a generator with the default volumes: 2,000 employees, 200,000 customers,
+     *         300,000 pets and 2,000,000 appointments
+     */
+    public static DatasetGenerator defaults() {
+        return new DatasetGenerator();
+    }
+
+    public DatasetGenerator setEmployees(int employees) {
+        this.employees = employees;
+        return this;
+    }
+
+    public DatasetGenerator setCustomers(int customers) {
+        this.customers = customers;
+        return this;
+    }
+
+    public DatasetGenerator setPets(int pets) {
+        this.pets = pets;
+        return this;
+    }
+
+    public DatasetGenerator setAppointments(int appointments) {
+        this.appointments = appointments;
+        return this;
+    }
+
+    public DatasetGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public DatasetGenerator setSlotGrid(SlotGrid slotGrid) {
+        this.slotGrid = slotGrid;
+        return this;
+    }
+
+    /**
+     * Inserts the dataset into an initialized database. Generated phone numbers, emails and dates do not
+     * overlap the seed data, so a seeded database works as well as an empty one.
+     *
+     * @param connectionProvider the database to fill
+     * @return the number of appointments inserted, which is zero rather than the requested number
+     *         if every generated employee is a receptionist
+     * @throws IllegalArgumentException if a volume is negative, or appointments are requested
+     *         without any customers or pets to book them for
+     * @throws com.vetportal.exception.DataAccessException if an insert fails
+     */
+    public int generate(ConnectionProvider connectionProvider) {
+        if (employees < 0 || customers < 0 || pets < 0 || appointments < 0) {
+            throw new IllegalArgumentException("Dataset volumes cannot be negative");
+        }
+        if (pets > 0 && customers == 0) {
+            throw new IllegalArgumentException("Pets need at least one customer to own them");
+        }
+        if (appointments > 0 && (pets == 0 || employees == 0)) {
+            throw new IllegalArgumentException("Appointments need at least one pet and one employee");
+        }
+
+        Random random = new Random(seed);
+        CustomerDAO customerDAO = new CustomerDAO(connectionProvider);
+        EmployeeDAO employeeDAO = new EmployeeDAO(connectionProvider);
+        PetDAO petDAO = new PetDAO(connectionProvider, customerDAO);
+        AppointmentDAO appointmentDAO = new AppointmentDAO(connectionProvider, employeeDAO, petDAO);
+
+        List<Employee> staff = insertEmployees(employeeDAO, random);
+        List<Customer> owners = insertCustomers(customerDAO, random);
+        List<Pet> animals = insertPets(petDAO, owners, random);
+        return insertAppointments(appointmentDAO, staff, animals, random);
+    }
+
+    private List<Employee> insertEmployees(EmployeeDAO employeeDAO, Random random) {
+        List<Employee> staff = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            // Roughly 60% veterinarians, 30% vet techs and 10% receptionists
+            int roll = random.nextInt(10);
+            Employee.Position role = roll < 6 ? Employee.Position.VETERINARIAN
+                    : roll < 9 ? Employee.Position.VET_TECH
+                    : Employee.Position.RECEPTIONIST;
+            String first = pick(FIRST_NAMES, random);
+            String last = pick(LAST_NAMES, random);
+            staff.add(new Employee(null, first, last, address(random),
+                    String.format("556-%07d", i), email(first, last, "e" + i, "vetclinic.com"), role));
+        }
+        insertInChunks(employeeDAO::createAll, staff);
+        return staff;
+    }
+
+    private List<Customer> insertCustomers(CustomerDAO customerDAO, Random random) {
+        List<Customer> owners = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            String first = pick(FIRST_NAMES, random);
+            String last = pick(LAST_NAMES, random);
+            owners.add(new Customer(null, first, last, address(random),
+                    String.format("555-%07d", i), email(first, last, "c" + i, "example.com")));
+        }
+        insertInChunks(customerDAO::createAll, owners);
+        return owners;
+    }
+
+    private List<Pet> insertPets(PetDAO petDAO, List<Customer> owners, Random random) {
+        List<Pet> animals = new ArrayList<>(pets);
+        for (int i = 0; i < pets; i++) {
+            String[] species = SPECIES[random.nextInt(SPECIES.length)];
+            String breed = species[1 + random.nextInt(species.length - 1)];
+            // Anything from a few weeks to 15 years old when the schedule starts
+            LocalDate birthDate = SCHEDULE_START.minusDays(30 + random.nextInt(15 * 365));
+            // Every customer gets a pet first, the rest go to random owners
+            Customer owner = i < owners.size() ? owners.get(i) : owners.get(random.nextInt(owners.size()));
+            animals.add(new Pet(null, pick(PET_NAMES, random), species[0], breed, birthDate, owner));
+        }
+        insertInChunks(petDAO::createAll, animals);
+        return animals;
+    }
+
+    private int insertAppointments(AppointmentDAO appointmentDAO, List<Employee> staff, List<Pet> animals,
+                                   Random random) {
+        // Receptionists could legally give vaccinations, but a clinic does not book them
+        List<Employee> providers = staff.stream()
+                .filter(e -> e.getRole() != Employee.Position.RECEPTIONIST)
+                .toList();
+        if (providers.isEmpty()) {
+            return 0;
+        }
+
+        // Walk the calendar day by day and slot by slot, booking a share of each provider's slots.
+        // Every (provider, day, slot) is visited once, so no provider is ever double-booked.
+        List<Appointment> chunk = new ArrayList<>(CHUNK_SIZE);
+        int inserted = 0;
+        for (LocalDate day = SCHEDULE_START; inserted + chunk.size() < appointments; day = day.plusDays(1)) {
+            for (int slot = 0; slot < slotGrid.getSlotCount() && inserted + chunk.size() < appointments; slot++) {
+                for (Employee provider : providers) {
+                    if (inserted + chunk.size() == appointments) {
+                        break;
+                    }
+                    if (random.nextDouble() >= BOOKED_SHARE) {
+                        continue;
+                    }
+
+                    AppointmentType type = provider.getRole() == Employee.Position.VETERINARIAN
+                            ? pick(VET_TYPES, random)
+                            : AppointmentType.VACCINATION;
+                    Pet pet = animals.get(random.nextInt(animals.size()));
+                    chunk.add(new Appointment(null, day, slotGrid.timeAt(slot), provider, type, pet, pet.getOwner()));
+
+                    if (chunk.size() == CHUNK_SIZE) {
+                        appointmentDAO.createAll(chunk);
+                        inserted += chunk.size();
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            appointmentDAO.createAll(chunk);
+            inserted += chunk.size();
+        }
+        return inserted;
+    }
+
+    private static <T> void insertInChunks(Function<List<T>, List<Integer>> createAll,
+                                           List<T> entities) {
+        for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+            createAll.apply(entities.subList(from, Math.min(from + CHUNK_SIZE, entities.size())));
+        }
+    }
+
+    private static <T> T pick(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String address(Random random) {
+        return (1 + random.nextInt(9_999)) + " " + pick(STREETS, random);
+    }
+
+    private static String email(String first, String last, String unique, String domain) {
+        return first.toLowerCase() + "." + last.toLowerCase() + "." + unique + "@" + domain;
+    }
+
+    /**
+     * Builds a fresh database file and fills it.
+     * Options: {@code --db <file>} (default {@code vetappointmentportal-large.db}), {@code --employees},
+     * {@code --customers}, {@code --pets}, {@code --appointments} and {@code --seed}.
+     */
+    public static void main(String[] args) throws SQLException, IOException {
+        DatasetGenerator generator = defaults();
+        Path file = Path.of("vetappointmentportal-large.db");
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--db" -> file = Path.of(value);
+                case "--employees" -> generator.setEmployees(Integer.parseInt(value));
+                case "--customers" -> generator.setCustomers(Integer.parseInt(value));
+                case "--pets" -> generator.setPets(Integer.parseInt(value));
+                case "--appointments" -> generator.setAppointments(Integer.parseInt(value));
+                case "--seed" -> generator.setSeed(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(Path.of(file + "-wal"));
+        Files.deleteIfExists(Path.of(file + "-shm"));
+
+        long start = System.nanoTime();
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + file, ConnectionPool.DEFAULT_MAX_READERS,
+                ConnectionPool.DEFAULT_BORROW_TIMEOUT_MILLIS, ConnectionProfile.fromSystemProperties())) {
+            try (Connection writer = pool.getWriteConnection()) {
+                DatabaseInitializer.initializeEmptyOnExistingConnection(writer, "database/schema.sql");
+            }
+
+            int booked = generator.generate(pool);
+            System.out.printf("Generated %s: %d employees, %d customers, %d pets, %d appointments in %d s%n",
+                    file, generator.employees, generator.customers, generator.pets, booked,
+                    (System.nanoTime() - start) / 1_000_000_000);
+        }
+    }
+}
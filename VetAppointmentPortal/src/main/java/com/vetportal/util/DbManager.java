@@ -1,18 +1,23 @@
 package com.vetportal.util;
 
+import java.lang.System.Logger.Level;
 import java.sql.*;
 
 /**
  * Manager class for database connections.
- * Handles a single shared connection for the entire application.
+ * Handles the single shared connection used by standalone utilities and tests,
+ * and the {@link ConnectionPool} used by the running application.
  */
 public class DbManager {
+    private static final System.Logger LOGGER = System.getLogger(DbManager.class.getName());
     private static final String URL = "jdbc:sqlite:vetappointmentportal.db";
+    private static final ConnectionProfile PROFILE = ConnectionProfile.fromSystemProperties();
     private static Connection connection = null;
+    private static ConnectionPool pool = null;
 
     /**
      * Gets the shared database connection, creating it if necessary.
-     * Also ensures foreign keys are enabled for this connection.
+     * Also applies the connection profile and ensures foreign keys are enabled for this connection.
      *
      * @return the shared database connection
      * @throws SQLException if a database access error occurs
@@ -20,9 +25,10 @@ public class DbManager {
     public static synchronized Connection getConnection() throws SQLException {
         if (connection == null || connection.isClosed()) {
             connection = DriverManager.getConnection(URL);
+            PROFILE.apply(connection, false);
 
             //Make sure foreign keys are enabled for referential integrity
-            ensureForeignKeysEnabled();
+            ensureForeignKeysEnabled(connection);
         }
         return connection;
     }
@@ -46,6 +52,41 @@ public class DbManager {
         }
     }
 
+    /**
+     * Gets the application's connection pool, creating it if necessary.
+     *
+     * @return the shared connection pool
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null || pool.isClosed()) {
+            pool = new ConnectionPool(URL, ConnectionPool.DEFAULT_MAX_READERS,
+                    ConnectionPool.DEFAULT_BORROW_TIMEOUT_MILLIS, PROFILE);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the PRAGMA profile applied to every connection this class opens.
+     *
+     * @return the connection profile, built from {@code vetportal.db.*} system properties
+     */
+    public static ConnectionProfile getProfile() {
+        return PROFILE;
+    }
+
+    /**
+     * Closes the application's connection pool.
+     * This should be called when the application is shutting down.
+     */
+    public static synchronized void closePool() {
+        if (pool != null) {
+            pool.close();
+            ConnectionPool closedPool = pool;
+            LOGGER.log(Level.INFO, () -> "Database connection pool closed: " + closedPool.getMetrics());
+            pool = null;
+        }
+    }
+
     /**
      * Ensures foreign keys are enabled on the current connection.
      * This is useful for operations that require foreign key constraints.
@@ -58,6 +99,17 @@ public class DbManager {
             return;
         }
 
+        ensureForeignKeysEnabled(connection);
+    }
+
+    /**
+     * Ensures foreign keys are enabled on the given connection.
+     * SQLite turns foreign key enforcement on per connection, so every new connection needs this.
+     *
+     * @param connection the connection to enable foreign keys on
+     * @throws SQLException if a database access error occurs
+     */
+    public static void ensureForeignKeysEnabled(Connection connection) throws SQLException {
         try (Statement statement = connection.createStatement()) {
             statement.execute("PRAGMA foreign_keys = ON;"); // checks current status of FK enforcement
 
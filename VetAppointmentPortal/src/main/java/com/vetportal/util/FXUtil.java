@@ -1,21 +1,51 @@
 package com.vetportal.util;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.layout.HBox;
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import com.vetportal.util.CommonUtil;
 
 //util class for dynamically displaying views
 public class FXUtil {
     static CommonUtil common = CommonUtil.getInstance(); //singleton
 
+    //run before every page change, e.g. to cancel the old page's pending db calls
+    private static final List<Runnable> navigationListeners = new CopyOnWriteArrayList<>();
+
+    public static void addNavigationListener(Runnable listener) {
+        navigationListeners.add(listener);
+    }
+
+    public static void removeNavigationListener(Runnable listener) {
+        navigationListeners.remove(listener);
+    }
+
+    //run on the JavaFX Application Thread (directly if already on it)
+    public static void runOnFxThread(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+
+    private static void notifyNavigation() {
+        for (Runnable listener : navigationListeners) {
+            listener.run();
+        }
+    }
+
     //set page based on path (just UI)
     public static void setPage(String path) {
         URL url = FXUtil.class.getResource(path);
         try {
             HBox mainBox = common.getMainBox();
+            notifyNavigation();
 
             if (mainBox.getChildren().size() > 1) //remove existing page
                 mainBox.getChildren().remove(1);
@@ -32,6 +62,7 @@ public class FXUtil {
         URL url = FXUtil.class.getResource(path);
         try {
             HBox mainBox = common.getMainBox();
+            notifyNavigation();
             if (mainBox.getChildren().size() > 1)
                 mainBox.getChildren().remove(1);
 
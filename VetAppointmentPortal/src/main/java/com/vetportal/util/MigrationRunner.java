@@ -0,0 +1,115 @@
+package com.vetportal.util;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Brings an existing database up to the current schema version without touching its data.
+ * <p>
+ * {@code schema.sql} creates schema version 0. Each later change is a script in
+ * {@code database/migrations}, listed in {@link #MIGRATIONS} in the order it must run; a script's
+ * version is its position in that list. The version a database is at is kept in SQLite's
+ * {@code PRAGMA user_version}, so running the migrations again only applies the scripts that are new.
+ * Every script runs in its own transaction together with the version bump.
+ * <p>
+ * Scripts are only ever appended to the list. Changing one that has shipped would leave
+ * databases that already ran it out of step.
+ * <p>
+ * A script that makes stored values canonical can turn two bookings of one slot, written in different
+ * forms, into duplicates. Such scripts keep the first booking and move the others to the
+ * {@code DisplacedAppointment} table instead of failing, and the runner logs a warning with how many moved.
+ */
+public class MigrationRunner {
+
+    private static final System.Logger LOGGER = System.getLogger(MigrationRunner.class.getName());
+
+    private static final List<String> MIGRATIONS = List.of(
+            "database/migrations/V1__add_lookup_indexes.sql",
+            "database/migrations/V2__canonical_appointment_times.sql",
+            "database/migrations/V3__add_name_indexes.sql"
+    );
+
+    /**
+     * Applies every migration newer than the database's current version.
+     *
+     * @param connection a writable connection in auto-commit mode
+     * @return the schema version the database is at afterwards
+     * @throws SQLException if a migration fails; that migration is rolled back and later ones are not run
+     */
+    public static int migrate(Connection connection) throws SQLException {
+        int version = getSchemaVersion(connection);
+
+        for (int next = version + 1; next <= getLatestVersion(); next++) {
+            String script = MIGRATIONS.get(next - 1);
+            LOGGER.log(Level.INFO, "Applying migration {0}: {1}", next, script);
+
+            connection.setAutoCommit(false);
+            try {
+                DatabaseInitializer.executeSqlFile(connection, script);
+                try (Statement statement = connection.createStatement()) {
+                    // PRAGMA does not accept bound parameters
+                    statement.execute("PRAGMA user_version = " + next);
+                }
+                connection.commit();
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw new SQLException("Migration " + next + " (" + script + ") failed: " + e.getMessage(), e);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            version = next;
+
+            int displaced = countDisplacedAppointments(connection, next);
+            if (displaced > 0) {
+                LOGGER.log(Level.WARNING, "Migration {0} moved {1} double-booked appointments to DisplacedAppointment; "
+                        + "the first booking of each slot was kept", next, displaced);
+            }
+        }
+
+        return version;
+    }
+
+    private static int countDisplacedAppointments(Connection connection, int migration) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet table = statement.executeQuery(
+                     "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'DisplacedAppointment'")) {
+            if (!table.next()) {
+                return 0;
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM DisplacedAppointment WHERE migration = ?")) {
+            statement.setInt(1, migration);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Reads the schema version stored in the database file.
+     *
+     * @param connection an open connection to the database
+     * @return the number of migrations that have been applied
+     * @throws SQLException if the version cannot be read
+     */
+    public static int getSchemaVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * @return the schema version the application expects
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.size();
+    }
+}
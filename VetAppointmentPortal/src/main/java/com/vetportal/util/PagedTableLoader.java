@@ -0,0 +1,141 @@
+package com.vetportal.util;
+
+import com.vetportal.dto.Page;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.service.AsyncServices;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Fills a TableView one page at a time, fetching the next page when the user scrolls to the bottom.
+ * <p>
+ * Pages come from a keyset-paginated service method such as
+ * {@code AppointmentService.findAppointmentsPage}; the last row already shown is passed back to fetch
+ * the rows after it. So opening a screen costs one page however large the table is. Pages are fetched
+ * through {@link AsyncServices} and appended on the JavaFX Application Thread when they arrive.
+ * <p>
+ * The loader only adds rows while the table is showing its own list. A controller that puts other
+ * results (a search) into the same table simply calls {@code setItems}, and {@link #reload()} switches
+ * back to the paged listing.
+ *
+ * @param <T> the type of the table rows
+ */
+public class PagedTableLoader<T> {
+
+    /**
+     * Fetches the page of rows that follows a given row.
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        ServiceResponse<Page<T>> fetch(T after, int pageSize);
+    }
+
+    private final TableView<T> table;
+    private final PageFetcher<T> fetcher;
+    private final int pageSize;
+    private final AsyncServices asyncServices;
+    private final Consumer<ServiceResponse<Page<T>>> onError;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private boolean hasMore = false;
+    // The page being fetched, so scrolling does not ask for the same page twice
+    private CompletableFuture<Void> loading;
+    private ScrollBar watchedBar;
+
+    /**
+     * Constructs a loader for the table. Nothing is fetched until {@link #reload()} is called.
+     *
+     * @param table the table to fill
+     * @param fetcher the service method that returns a page of rows
+     * @param pageSize the number of rows fetched at a time
+     * @param asyncServices runs the fetches off the JavaFX Application Thread
+     * @param onError called with the response when a page cannot be fetched
+     */
+    public PagedTableLoader(TableView<T> table, PageFetcher<T> fetcher, int pageSize, AsyncServices asyncServices,
+                            Consumer<ServiceResponse<Page<T>>> onError) {
+        this.table = table;
+        this.fetcher = fetcher;
+        this.pageSize = pageSize;
+        this.asyncServices = asyncServices;
+        this.onError = onError;
+
+        // The scroll bar only exists once the table has a skin
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> watchScrollBar());
+        watchScrollBar();
+    }
+
+    /**
+     * Shows the paged listing in the table again, starting from the first page.
+     */
+    public void reload() {
+        if (loading != null) {
+            loading.cancel(false);
+            loading = null;
+        }
+        items.clear();
+        hasMore = true;
+        table.setItems(items);
+        loadNextPage();
+    }
+
+    /**
+     * Shows the paged listing in the table starting from a first page that was already fetched,
+     * for example as part of a dashboard snapshot. Later pages load as the table is scrolled.
+     *
+     * @param firstPage the first page of the listing
+     */
+    public void show(Page<T> firstPage) {
+        if (loading != null) {
+            loading.cancel(false);
+            loading = null;
+        }
+        items.setAll(firstPage.getItems());
+        hasMore = firstPage.hasMore();
+        table.setItems(items);
+    }
+
+    /**
+     * Starts fetching the next page, if there is one, no fetch is running and the table is showing
+     * this listing. The rows are appended when the page arrives.
+     */
+    public void loadNextPage() {
+        if (!hasMore || loading != null || table.getItems() != items) {
+            return;
+        }
+
+        T last = items.isEmpty() ? null : items.get(items.size() - 1);
+        CompletableFuture<Void> fetch = asyncServices.call(() -> fetcher.fetch(last, pageSize), response -> {
+            loading = null;
+            if (!response.isSuccess()) {
+                hasMore = false;
+                onError.accept(response);
+                return;
+            }
+            items.addAll(response.getData().getItems());
+            hasMore = response.getData().hasMore();
+        });
+        // Already done if the result executor ran the callback straight away
+        if (!fetch.isDone()) {
+            loading = fetch;
+        }
+    }
+
+    private void watchScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL && bar != watchedBar) {
+                watchedBar = bar;
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= bar.getMax()) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+}
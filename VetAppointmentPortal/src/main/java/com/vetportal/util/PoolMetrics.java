@@ -0,0 +1,81 @@
+package com.vetportal.util;
+
+/**
+ * Point-in-time snapshot of {@link ConnectionPool} usage.
+ * Used to size the pool: a high average wait or any timeouts mean readers are queuing
+ * for a connection, while a writer that is almost always busy points at long write transactions.
+ */
+public class PoolMetrics {
+    private final long readBorrows;
+    private final long writeBorrows;
+    private final long timeouts;
+    private final long averageWaitNanos;
+    private final long maxWaitNanos;
+    private final int activeReaders;
+    private final int openReaders;
+    private final int maxReaders;
+    private final boolean writerActive;
+
+    public PoolMetrics(long readBorrows, long writeBorrows, long timeouts, long averageWaitNanos,
+                       long maxWaitNanos, int activeReaders, int openReaders, int maxReaders,
+                       boolean writerActive) {
+        this.readBorrows = readBorrows;
+        this.writeBorrows = writeBorrows;
+        this.timeouts = timeouts;
+        this.averageWaitNanos = averageWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.activeReaders = activeReaders;
+        this.openReaders = openReaders;
+        this.maxReaders = maxReaders;
+        this.writerActive = writerActive;
+    }
+
+    // Number of read connections handed out, including nested borrows on the same thread
+    public long getReadBorrows() {
+        return readBorrows;
+    }
+
+    // Number of times the writer connection was handed out
+    public long getWriteBorrows() {
+        return writeBorrows;
+    }
+
+    // Number of borrows that gave up because no connection freed up in time
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitNanos / 1_000_000.0;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    // Read connections currently lent out
+    public int getActiveReaders() {
+        return activeReaders;
+    }
+
+    // Read connections that have been opened (lent out or idle)
+    public int getOpenReaders() {
+        return openReaders;
+    }
+
+    public int getMaxReaders() {
+        return maxReaders;
+    }
+
+    public boolean isWriterActive() {
+        return writerActive;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "readers %d/%d active (%d open), writer %s, borrows r=%d w=%d, wait avg=%.3f ms max=%.3f ms, timeouts=%d",
+                activeReaders, maxReaders, openReaders, writerActive ? "busy" : "idle",
+                readBorrows, writeBorrows, getAverageWaitMillis(), getMaxWaitMillis(), timeouts);
+    }
+}
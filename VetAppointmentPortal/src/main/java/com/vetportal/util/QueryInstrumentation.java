@@ -0,0 +1,225 @@
+package com.vetportal.util;
+
+import java.lang.System.Logger.Level;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Times the statements the DAOs run and reports them to the installed {@link QueryListener}.
+ * <p>
+ * DAOs prepare their statements with {@link #prepare(Connection, String)} instead of
+ * {@code connection.prepareStatement(sql)}. While no listener is installed that is the plain
+ * statement and costs nothing. Once one is, the statement is wrapped so each execution is timed:
+ * an insert, update or delete is reported as soon as it returns, and a query when its result set has
+ * been read to the end or is closed. Only time spent inside the driver counts, so mapping rows to
+ * entities does not make a query look slower.
+ */
+public final class QueryInstrumentation {
+
+    private static final System.Logger LOGGER = System.getLogger(QueryInstrumentation.class.getName());
+
+    private static volatile QueryListener listener;
+
+    private QueryInstrumentation() {
+    }
+
+    /**
+     * Installs the listener every statement prepared from now on reports to.
+     *
+     * @param queryListener the listener, or null to stop instrumenting
+     */
+    public static void setListener(QueryListener queryListener) {
+        listener = queryListener;
+    }
+
+    /**
+     * @return the installed listener, or null if statements are not instrumented
+     */
+    public static QueryListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Prepares a statement, instrumented if a listener is installed.
+     *
+     * @param connection the connection to prepare the statement on
+     * @param sql the SQL to prepare
+     * @return a statement used and closed exactly like the one {@code connection.prepareStatement(sql)} returns
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        QueryListener current = listener;
+        if (current == null) {
+            return statement;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                QueryInstrumentation.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new TimedStatement(sql, statement, current));
+    }
+
+
+    /**
+     * Times the execute calls of one statement and the result sets they return.
+     * A statement is only used by one thread at a time, so no state here is shared.
+     */
+    private static class TimedStatement implements InvocationHandler {
+        private final String sql;
+        private final PreparedStatement statement;
+        private final QueryListener listener;
+
+        // The query whose result set is still being read, if any
+        private boolean reading = false;
+        private long elapsedNanos;
+        private long rows;
+        private boolean failed;
+
+        private TimedStatement(String sql, PreparedStatement statement, QueryListener listener) {
+            this.sql = sql;
+            this.statement = statement;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(statement, args);
+            }
+
+            switch (name) {
+                case "executeQuery" -> {
+                    finishQuery();
+                    ResultSet rs = (ResultSet) timed(method, args);
+                    reading = true;
+                    return Proxy.newProxyInstance(
+                            QueryInstrumentation.class.getClassLoader(),
+                            new Class<?>[]{ResultSet.class},
+                            new TimedResultSet(rs, this));
+                }
+                case "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch", "execute" -> {
+                    finishQuery();
+                    Object result = timed(method, args);
+                    report(elapsedNanos, rowsChanged(result), false);
+                    return result;
+                }
+                case "close" -> finishQuery();
+                default -> {
+                }
+            }
+            return invokeOn(statement, method, args);
+        }
+
+        private Object timed(Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                Object result = invokeOn(statement, method, args);
+                elapsedNanos = System.nanoTime() - start;
+                rows = 0;
+                failed = false;
+                return result;
+            } catch (Throwable e) {
+                report(System.nanoTime() - start, 0, true);
+                throw e;
+            }
+        }
+
+        private long rowsChanged(Object result) throws SQLException {
+            if (result instanceof Number count) {
+                return Math.max(count.longValue(), 0);
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            // execute(): true means a result set the caller reads with getResultSet, which is not timed
+            return Boolean.FALSE.equals(result) ? Math.max(statement.getUpdateCount(), 0) : 0;
+        }
+
+        private void finishQuery() {
+            if (reading) {
+                reading = false;
+                report(elapsedNanos, rows, failed);
+            }
+        }
+
+        private void report(long nanos, long rowCount, boolean error) {
+            try {
+                listener.queryExecuted(sql, nanos, rowCount, error);
+            } catch (RuntimeException e) {
+                // A broken listener must not break the query it was told about
+                LOGGER.log(Level.WARNING, "Query listener failed", e);
+            }
+        }
+    }
+
+
+    /**
+     * Adds the time spent in next() to the statement's query and counts the rows it returns.
+     */
+    private static class TimedResultSet implements InvocationHandler {
+        private final ResultSet rs;
+        private final TimedStatement query;
+
+        private TimedResultSet(ResultSet rs, TimedStatement query) {
+            this.rs = rs;
+            this.query = query;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(rs, args);
+            }
+
+            if ("next".equals(name) && query.reading) {
+                long start = System.nanoTime();
+                try {
+                    boolean hasRow = (Boolean) invokeOn(rs, method, args);
+                    query.elapsedNanos += System.nanoTime() - start;
+                    if (hasRow) {
+                        query.rows++;
+                    } else {
+                        query.finishQuery();
+                    }
+                    return hasRow;
+                } catch (Throwable e) {
+                    query.elapsedNanos += System.nanoTime() - start;
+                    query.failed = true;
+                    query.finishQuery();
+                    throw e;
+                }
+            }
+            if ("close".equals(name)) {
+                query.finishQuery();
+            }
+            return invokeOn(rs, method, args);
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.vetportal.util;
+
+/**
+ * Told about every statement the DAOs run once {@link QueryInstrumentation#setListener(QueryListener)}
+ * installs it.
+ * <p>
+ * Called on the thread that ran the statement, right after it finished, so implementations must be
+ * thread-safe and quick. {@link QueryStats} is the implementation the application uses.
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+    /**
+     * @param sql the SQL as it was prepared, with {@code ?} placeholders
+     * @param elapsedNanos time spent inside the driver executing the statement and stepping through its rows
+     * @param rows rows returned by a query, or rows changed by an insert, update or delete
+     * @param failed true if the driver threw an exception while running the statement
+     */
+    void queryExecuted(String sql, long elapsedNanos, long rows, boolean failed);
+}
@@ -0,0 +1,86 @@
+package com.vetportal.util;
+
+/**
+ * Point-in-time snapshot of the {@link QueryStats} kept for one query shape.
+ * Sort by {@link #getTotalMillis()} to find where the database time goes, and compare the 99th
+ * percentile with the median to spot a query that is usually fast but sometimes stalls.
+ */
+public class QueryShapeStats {
+    private final String shape;
+    private final long count;
+    private final long failures;
+    private final long rows;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    public QueryShapeStats(String shape, long count, long failures, long rows, long totalNanos,
+                           long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+        this.shape = shape;
+        this.count = count;
+        this.failures = failures;
+        this.rows = rows;
+        this.totalNanos = totalNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    // The SQL with whitespace collapsed and placeholder lists shortened to "?, ..."
+    public String getShape() {
+        return shape;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Executions the driver threw an exception for
+    public long getFailures() {
+        return failures;
+    }
+
+    // Rows returned by queries or changed by writes, over all executions
+    public long getRows() {
+        return rows;
+    }
+
+    public double getAverageRows() {
+        return count == 0 ? 0.0 : (double) rows / count;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public double getAverageMillis() {
+        return count == 0 ? 0.0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    public double getP50Millis() {
+        return p50Nanos / 1_000_000.0;
+    }
+
+    public double getP90Millis() {
+        return p90Nanos / 1_000_000.0;
+    }
+
+    public double getP99Millis() {
+        return p99Nanos / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, failures=%d, rows=%.1f avg, total=%.1f ms, p50=%.3f ms, p90=%.3f ms, "
+                        + "p99=%.3f ms, max=%.3f ms: %s",
+                count, failures, getAverageRows(), getTotalMillis(), getP50Millis(), getP90Millis(),
+                getP99Millis(), getMaxMillis(), shape);
+    }
+}
@@ -0,0 +1,186 @@
+package com.vetportal.util;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Collects per-query statistics from {@link QueryInstrumentation} for a diagnostics screen or a log reporter.
+ * <p>
+ * Executions are grouped by query shape, the SQL with whitespace collapsed and lists of placeholders
+ * such as {@code IN (?, ?, ?)} shortened, so the same DAO call is one entry whatever its parameters.
+ * For each shape it counts executions, failures and rows and keeps a latency histogram to read
+ * percentiles from. Executions slower than the threshold are also kept as {@link SlowQuery} events,
+ * the most recent {@code maxSlowQueries} of them, and handed to the optional slow-query handler.
+ * <p>
+ * At most {@value #MAX_SHAPES} shapes are tracked; anything beyond that is counted under
+ * {@value #OTHER_SHAPE}.
+ */
+public class QueryStats implements QueryListener {
+
+    public static final long DEFAULT_SLOW_QUERY_MILLIS = 100;
+    public static final int DEFAULT_MAX_SLOW_QUERIES = 50;
+
+    static final int MAX_SHAPES = 500;
+    static final String OTHER_SHAPE = "(other)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private final long slowQueryNanos;
+    private final int maxSlowQueries;
+    private final Consumer<SlowQuery> slowQueryHandler;
+
+    private final ConcurrentHashMap<String, Shape> shapes = new ConcurrentHashMap<>();
+    // Shapes are worked out once per distinct SQL string, not on every execution
+    private final ConcurrentHashMap<String, String> shapeOfSql = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final LongAdder slowQueryCount = new LongAdder();
+
+    /**
+     * Creates statistics with the default slow-query threshold and no slow-query handler.
+     */
+    public QueryStats() {
+        this(DEFAULT_SLOW_QUERY_MILLIS, DEFAULT_MAX_SLOW_QUERIES, null);
+    }
+
+    /**
+     * Creates statistics.
+     *
+     * @param slowQueryMillis executions taking at least this long are recorded as slow queries
+     * @param maxSlowQueries how many of the most recent slow queries are kept
+     * @param slowQueryHandler told about each slow query on the thread that ran it, or null
+     */
+    public QueryStats(long slowQueryMillis, int maxSlowQueries, Consumer<SlowQuery> slowQueryHandler) {
+        this.slowQueryNanos = slowQueryMillis * 1_000_000;
+        this.maxSlowQueries = maxSlowQueries;
+        this.slowQueryHandler = slowQueryHandler;
+    }
+
+    @Override
+    public void queryExecuted(String sql, long elapsedNanos, long rows, boolean failed) {
+        Shape shape = shapeFor(sql);
+        shape.count.increment();
+        shape.rows.add(rows);
+        shape.totalNanos.add(elapsedNanos);
+        shape.latency.record(elapsedNanos);
+        if (failed) {
+            shape.failures.increment();
+        }
+
+        if (elapsedNanos >= slowQueryNanos) {
+            SlowQuery slow = new SlowQuery(sql, elapsedNanos, rows, failed, Instant.now(),
+                    Thread.currentThread().getName());
+            slowQueryCount.increment();
+            synchronized (slowQueries) {
+                slowQueries.addFirst(slow);
+                while (slowQueries.size() > maxSlowQueries) {
+                    slowQueries.removeLast();
+                }
+            }
+            if (slowQueryHandler != null) {
+                slowQueryHandler.accept(slow);
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of every query shape seen, the one with the most total time first
+     */
+    public List<QueryShapeStats> getShapes() {
+        List<QueryShapeStats> snapshot = new ArrayList<>(shapes.size());
+        shapes.forEach((shape, stats) -> snapshot.add(stats.snapshot(shape)));
+        snapshot.sort(Comparator.comparingDouble(QueryShapeStats::getTotalMillis).reversed());
+        return snapshot;
+    }
+
+    /**
+     * @param sql a statement's SQL, in any formatting
+     * @return a snapshot of the statistics for the statement's shape, if it has run
+     */
+    public Optional<QueryShapeStats> getShape(String sql) {
+        String shape = shapeOf(sql);
+        return Optional.ofNullable(shapes.get(shape)).map(stats -> stats.snapshot(shape));
+    }
+
+    /**
+     * @return the most recent slow queries, newest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    /**
+     * @return the number of slow queries seen, including those no longer kept
+     */
+    public long getSlowQueryCount() {
+        return slowQueryCount.sum();
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        shapes.clear();
+        slowQueryCount.reset();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    /**
+     * @param sql a statement's SQL
+     * @return the shape its executions are grouped under
+     */
+    public static String shapeOf(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PLACEHOLDER_LIST.matcher(collapsed).replaceAll("?, ...");
+    }
+
+    private Shape shapeFor(String sql) {
+        String shape = shapeOfSql.get(sql);
+        if (shape == null) {
+            shape = shapeOf(sql);
+            if (shapeOfSql.size() < MAX_SHAPES * 4) {
+                shapeOfSql.put(sql, shape);
+            }
+        }
+
+        Shape stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= MAX_SHAPES) {
+            return shapes.computeIfAbsent(OTHER_SHAPE, s -> new Shape());
+        }
+        return shapes.computeIfAbsent(shape, s -> new Shape());
+    }
+
+
+    /**
+     * The live counters for one shape.
+     */
+    private static class Shape {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        QueryShapeStats snapshot(String shape) {
+            return new QueryShapeStats(shape, count.sum(), failures.sum(), rows.sum(), totalNanos.sum(),
+                    latency.valueAtPercentile(50), latency.valueAtPercentile(90),
+                    latency.valueAtPercentile(99), latency.getMax());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.vetportal.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Small read-through cache for reference data that rarely changes, such as the employee list.
+ * <p>
+ * Holds at most {@code maxEntries} values, dropping the least recently used one when full, and
+ * reloads any value older than its time-to-live. Services call {@link #invalidateAll()} after every
+ * write to the cached data. Hit, miss and eviction counts are available through {@link #getStats()}.
+ * <p>
+ * Loads run outside the cache lock so a slow query never blocks hits on other keys. A load that
+ * overlaps an invalidation is returned to its caller but not stored.
+ *
+ * @param <K> the key type
+ * @param <V> the cached value type
+ */
+public class ReferenceCache<K, V> {
+
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60_000;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Access-ordered so the first entry is always the least recently used one
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped by invalidateAll() so loads that started before it are not stored
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * Creates a cache with the default size and time-to-live.
+     */
+    public ReferenceCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of values kept at once
+     * @param ttlMillis how long a value may be served before it is reloaded
+     * @throws IllegalArgumentException if maxEntries is less than 1
+     */
+    public ReferenceCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache needs room for at least one entry");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    /**
+     * Returns the cached value for the key, loading and storing it on a miss.
+     * Nothing is stored if the loader throws.
+     *
+     * @param key the cache key
+     * @param loader loads the value from the database
+     * @return the cached or freshly loaded value
+     */
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V value = loader.get();
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops every cached value. Called after any write to the underlying data.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+        invalidations++;
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current cache statistics
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size());
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
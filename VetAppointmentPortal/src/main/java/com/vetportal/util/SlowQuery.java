@@ -0,0 +1,56 @@
+package com.vetportal.util;
+
+import java.time.Instant;
+
+/**
+ * One execution that took longer than the {@link QueryStats} slow-query threshold.
+ */
+public class SlowQuery {
+    private final String sql;
+    private final long elapsedNanos;
+    private final long rows;
+    private final boolean failed;
+    private final Instant finishedAt;
+    private final String threadName;
+
+    public SlowQuery(String sql, long elapsedNanos, long rows, boolean failed, Instant finishedAt, String threadName) {
+        this.sql = sql;
+        this.elapsedNanos = elapsedNanos;
+        this.rows = rows;
+        this.failed = failed;
+        this.finishedAt = finishedAt;
+        this.threadName = threadName;
+    }
+
+    // The SQL as it was prepared, with ? placeholders
+    public String getSql() {
+        return sql;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    // The thread that ran it, e.g. a vetportal-service- thread or the JavaFX Application Thread
+    public String getThreadName() {
+        return threadName;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %.1f ms, %d rows%s on %s: %s",
+                finishedAt, getElapsedMillis(), rows, failed ? " (failed)" : "", threadName, sql);
+    }
+}
@@ -0,0 +1,196 @@
+package com.vetportal.util;
+
+import java.lang.System.Logger.Level;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the prepared statements of one pooled connection open so the same SQL is only compiled once.
+ * <p>
+ * {@link ConnectionPool} routes {@code prepareStatement(String)} on its connections through here.
+ * Callers get a statement they use and close exactly as before, but closing it resets it (closes its
+ * result set, clears parameters and batches) and keeps it for the next caller preparing the same SQL.
+ * At most {@code maxStatements} idle statements are kept; the least recently used one is closed when
+ * the cache is full. If the same SQL is prepared again while an earlier copy is still open (a DAO
+ * call nested inside another), the second caller gets a fresh statement, which is simply closed when
+ * it is done.
+ * <p>
+ * A cache belongs to one physical connection, which only one thread uses at a time.
+ */
+class StatementCache {
+
+    private static final System.Logger LOGGER = System.getLogger(StatementCache.class.getName());
+
+    static final int DEFAULT_MAX_STATEMENTS = 64;
+
+    private final Connection physical;
+    private final int maxStatements;
+    private final Stats stats;
+
+    // Access-ordered so the first entry is always the least recently used statement
+    private final LinkedHashMap<String, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed = false;
+
+    StatementCache(Connection physical, int maxStatements, Stats stats) {
+        this.physical = physical;
+        this.maxStatements = maxStatements;
+        this.stats = stats;
+    }
+
+    /**
+     * Hands out a statement for the SQL, reusing an idle one if there is one.
+     *
+     * @param sql the SQL to prepare
+     * @param owner the connection handle the caller borrowed; returned from getConnection()
+     * @return a statement whose close() returns it to this cache
+     * @throws SQLException if a new statement cannot be prepared
+     */
+    synchronized PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        PreparedStatement statement = idle.remove(sql);
+        if (statement != null && !statement.isClosed()) {
+            stats.hits.increment();
+        } else {
+            stats.misses.increment();
+            statement = physical.prepareStatement(sql);
+        }
+
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatement(sql, statement, owner));
+    }
+
+    /**
+     * @return the number of idle statements currently kept
+     */
+    synchronized int size() {
+        return idle.size();
+    }
+
+    /**
+     * Closes every idle statement. Called when the physical connection is closed.
+     */
+    synchronized void close() {
+        closed = true;
+        for (PreparedStatement statement : idle.values()) {
+            closeQuietly(statement);
+        }
+        idle.clear();
+    }
+
+    private synchronized void giveBack(String sql, PreparedStatement statement) {
+        if (closed || idle.containsKey(sql)) {
+            closeQuietly(statement);
+            return;
+        }
+
+        idle.put(sql, statement);
+        Iterator<Map.Entry<String, PreparedStatement>> it = idle.entrySet().iterator();
+        while (idle.size() > maxStatements && it.hasNext()) {
+            closeQuietly(it.next().getValue());
+            it.remove();
+            stats.evictions.increment();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error closing cached statement", e);
+        }
+    }
+
+
+    /**
+     * Hit, miss and eviction counts shared by every cache in a pool.
+     */
+    static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        CacheStats snapshot(int size) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), 0, size);
+        }
+    }
+
+
+    /**
+     * Forwards calls to the real statement, turning close() into a reset and return to the cache.
+     */
+    private class CachedStatement implements InvocationHandler {
+        private final String sql;
+        private final PreparedStatement statement;
+        private final Connection owner;
+        private ResultSet resultSet;
+        private boolean returned = false;
+
+        private CachedStatement(String sql, PreparedStatement statement, Connection owner) {
+            this.sql = sql;
+            this.statement = statement;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(statement, args);
+            }
+            if ("close".equals(name)) {
+                if (!returned) {
+                    returned = true;
+                    reset();
+                }
+                return null;
+            }
+            if ("isClosed".equals(name)) {
+                return returned || statement.isClosed();
+            }
+            if (returned) {
+                throw new SQLException("Statement is closed");
+            }
+            if ("getConnection".equals(name)) {
+                return owner;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                // Remembered so it can be closed on return even if the caller never closes it
+                resultSet = (ResultSet) result;
+            }
+            return result;
+        }
+
+        private void reset() {
+            try {
+                if (resultSet != null && !resultSet.isClosed()) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                giveBack(sql, statement);
+            } catch (SQLException e) {
+                // A statement that cannot be reset is not worth keeping
+                closeQuietly(statement);
+            }
+        }
+    }
+}
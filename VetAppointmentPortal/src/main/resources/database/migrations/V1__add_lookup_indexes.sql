@@ -0,0 +1,60 @@
+-- Indexes for the lookups that used to scan whole tables:
+--   appointments by pet        (AppointmentDAO.findAppointmentsByPetId)
+--   appointments by date       (AppointmentDAO.findAllAppointmentsByDate, ordered by time)
+--   pets by owner              (PetDAO.findAllPetsByCustomerId)
+-- Appointments by provider already use the unique_provider_time constraint's index.
+
+CREATE INDEX IF NOT EXISTS idx_appointment_pet ON Appointment (pet, appointment_date, time);
+CREATE INDEX IF NOT EXISTS idx_appointment_date_time ON Appointment (appointment_date, time);
+CREATE INDEX IF NOT EXISTS idx_pet_owner ON Pet (owner);
+
+-- The view wrapped appointment_date in date(), which hides the column from every index.
+-- Store dates in the canonical YYYY-MM-DD form once so the view can expose the raw column.
+--
+-- Two bookings of the same provider and time whose dates only differ in form ('2025-05-10' and
+-- '2025-05-10 00:00:00') would then break unique_provider_time. The first one booked keeps the slot;
+-- the others are moved to DisplacedAppointment so they can be rebooked, and MigrationRunner reports them.
+CREATE TABLE IF NOT EXISTS DisplacedAppointment (
+    appointment_id INTEGER PRIMARY KEY,
+    appointment_date DATE NOT NULL,
+    time TIME NOT NULL,
+    provider INTEGER NOT NULL,
+    appointment_type VARCHAR(20) NOT NULL,
+    pet INTEGER NOT NULL,
+    kept_appointment_id INTEGER NOT NULL,
+    migration INTEGER NOT NULL
+);
+
+INSERT INTO DisplacedAppointment
+    (appointment_id, appointment_date, time, provider, appointment_type, pet, kept_appointment_id, migration)
+SELECT a.appointment_id, a.appointment_date, a.time, a.provider, a.appointment_type, a.pet, k.kept_appointment_id, 1
+FROM Appointment a
+         JOIN (SELECT provider, coalesce(date(appointment_date), appointment_date) AS day, time,
+                      MIN(appointment_id) AS kept_appointment_id
+               FROM Appointment
+               GROUP BY provider, day, time
+               HAVING COUNT(*) > 1) k
+              ON k.provider = a.provider AND k.time = a.time
+                  AND k.day = coalesce(date(a.appointment_date), a.appointment_date)
+WHERE a.appointment_id <> k.kept_appointment_id;
+
+DELETE FROM Appointment
+WHERE appointment_id IN (SELECT appointment_id FROM DisplacedAppointment WHERE migration = 1);
+
+UPDATE Appointment SET appointment_date = date(appointment_date)
+WHERE appointment_date <> date(appointment_date);
+
+DROP VIEW IF EXISTS AppointmentDetailView;
+
+CREATE VIEW AppointmentDetailView AS SELECT
+    a.appointment_id, a.appointment_date, a.time,
+    a.provider, a.appointment_type, a.pet,
+    e.employee_id, e.first_name as employee_first_name, e.last_name as employee_last_name,
+    e.role, e.address as employee_address, e.phone as employee_phone, e.email as employee_email,
+    p.pet_id, p.pet_name, p.species, p.breed, date(p.birth_date) as birth_date, p.owner,
+    c.customer_id, c.first_name as customer_first_name, c.last_name as customer_last_name,
+    c.address as customer_address, c.phone as customer_phone, c.email as customer_email
+FROM Appointment a
+         JOIN Employee e ON a.provider = e.employee_id
+         JOIN Pet p ON a.pet = p.pet_id
+         JOIN Customer c ON p.owner = c.customer_id;
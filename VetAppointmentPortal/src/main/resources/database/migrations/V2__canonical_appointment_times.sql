@@ -0,0 +1,25 @@
+-- The seed data stored appointment times as 'HH:MM:SS' while the application writes 'HH:MM',
+-- so the same slot could be booked twice and equality checks on time missed seeded rows.
+-- Store every time as 'HH:MM' so the unique (provider, appointment_date, time) index sees one form.
+--
+-- A slot that was booked twice that way ('14:30:00' and '14:30') would break that index once rewritten.
+-- As in migration 1, the first one booked keeps the slot and the others move to DisplacedAppointment.
+
+INSERT INTO DisplacedAppointment
+    (appointment_id, appointment_date, time, provider, appointment_type, pet, kept_appointment_id, migration)
+SELECT a.appointment_id, a.appointment_date, a.time, a.provider, a.appointment_type, a.pet, k.kept_appointment_id, 2
+FROM Appointment a
+         JOIN (SELECT provider, appointment_date, coalesce(strftime('%H:%M', time), time) AS slot,
+                      MIN(appointment_id) AS kept_appointment_id
+               FROM Appointment
+               GROUP BY provider, appointment_date, slot
+               HAVING COUNT(*) > 1) k
+              ON k.provider = a.provider AND k.appointment_date = a.appointment_date
+                  AND k.slot = coalesce(strftime('%H:%M', a.time), a.time)
+WHERE a.appointment_id <> k.kept_appointment_id;
+
+DELETE FROM Appointment
+WHERE appointment_id IN (SELECT appointment_id FROM DisplacedAppointment WHERE migration = 2);
+
+UPDATE Appointment SET time = strftime('%H:%M', time)
+WHERE strftime('%H:%M', time) IS NOT NULL AND time <> strftime('%H:%M', time);
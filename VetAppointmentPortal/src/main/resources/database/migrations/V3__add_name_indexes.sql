@@ -0,0 +1,6 @@
+-- Indexes for the name-ordered customer and employee listings (CustomerDAO/EmployeeDAO.findPage).
+-- Each entry ends in the rowid, so the keyset (last_name, first_name, id) is fully covered
+-- and a page is read by seeking to the previous page's last row instead of sorting the table.
+
+CREATE INDEX IF NOT EXISTS idx_customer_name ON Customer (last_name, first_name);
+CREATE INDEX IF NOT EXISTS idx_employee_name ON Employee (last_name, first_name);
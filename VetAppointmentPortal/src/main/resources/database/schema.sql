@@ -1,10 +1,15 @@
 -- Clear existing data for testing
 
+DROP VIEW IF EXISTS AppointmentDetailView;
+DROP TABLE IF EXISTS DisplacedAppointment;
 DROP TABLE IF EXISTS Appointment;
 DROP TABLE IF EXISTS Pet;
 DROP TABLE IF EXISTS Customer;
 DROP TABLE IF EXISTS Employee;
 
+-- This script builds schema version 0; MigrationRunner applies database/migrations on top of it
+PRAGMA user_version = 0;
+
 CREATE TABLE IF NOT EXISTS Customer
 (
      customer_id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -95,7 +95,7 @@ public class AppointmentDAOFocusedTest {
             // Test a modified version of the query used in AppointmentDAO.findAllAppointmentsByDate
             System.out.println("\nTesting simplified query without specialty column:");
             String testQuery = """
-            SELECT a.appointment_id, date(a.date) as date, a.time, 
+            SELECT a.appointment_id, a.appointment_date, a.time, 
             a.provider, a.appointment_type, a.pet,
             e.employee_id, e.first_name as employee_first_name, e.last_name as employee_last_name, 
             e.role, p.pet_id, p.pet_name, p.species, p.breed, date(p.birth_date) as birth_date, p.owner,
@@ -104,7 +104,7 @@ public class AppointmentDAOFocusedTest {
             JOIN Employee e ON a.provider = e.employee_id
             JOIN Pet p ON a.pet = p.pet_id
             JOIN Customer c ON p.owner = c.customer_id
-            WHERE date(a.date) = ?
+            WHERE a.appointment_date = ?
             ORDER BY a.time
             """;
 
@@ -136,7 +136,7 @@ public class AppointmentDAOFocusedTest {
             // Create a test veterinarian
             String vetEmail = "vet." + System.currentTimeMillis() + "@example.com";
             String vetPhone = "555-" + (1000 + new Random().nextInt(9000));
-            testVeterinarian = new Employee(null, "Test", "Veterinarian", "123 Vet St", vetEmail, vetPhone, Employee.Position.VETERINARIAN);
+            testVeterinarian = new Employee(null, "Test", "Veterinarian", "123 Vet St", vetPhone, vetEmail, Employee.Position.VETERINARIAN);
             Optional<Employee> vetResponse = employeeDAO.createEmployee(testVeterinarian);
             assertTrue(vetResponse.isPresent());
             testVeterinarian = vetResponse.get();
@@ -154,7 +154,7 @@ public class AppointmentDAOFocusedTest {
             // Create a test vet tech
             String techEmail = "tech." + System.currentTimeMillis() + "@example.com";
             String techPhone = "555-" + (1000 + new Random().nextInt(9000));
-            testVetTech = new Employee(null, "Test", "VetTech", "456 Tech St", techEmail, techPhone, Employee.Position.VET_TECH);
+            testVetTech = new Employee(null, "Test", "VetTech", "456 Tech St", techPhone, techEmail, Employee.Position.VET_TECH);
             Optional<Employee> techResponse = employeeDAO.createEmployee(testVetTech);
             assertTrue(techResponse.isPresent());
             testVetTech = techResponse.get();
@@ -165,7 +165,7 @@ public class AppointmentDAOFocusedTest {
             // Create a test customer
             String customerEmail = "customer." + System.currentTimeMillis() + "@example.com";
             String customerPhone = "555-" + (1000 + new Random().nextInt(9000));
-            testCustomer = new Customer(null, "Test", "Customer", "789 Pet Owner St", customerEmail, customerPhone);
+            testCustomer = new Customer(null, "Test", "Customer", "789 Pet Owner St", customerPhone, customerEmail);
             Optional<Customer> customerResponse = customerDAO.createCustomer(testCustomer);
             assertTrue(customerResponse.isPresent());
             testCustomer = customerResponse.get();
@@ -197,7 +197,7 @@ public class AppointmentDAOFocusedTest {
             Pet pet) throws SQLException {
 
         // First insert the appointment
-        String insertSql = "INSERT INTO Appointment (date, time, provider, appointment_type, pet) VALUES (?, ?, ?, ?, ?)";
+        String insertSql = "INSERT INTO Appointment (appointment_date, time, provider, appointment_type, pet) VALUES (?, ?, ?, ?, ?)";
         try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
             stmt.setString(1, date.toString());
             stmt.setString(2, time.toString());
@@ -0,0 +1,202 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.model.Appointment;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks how many SQL statements AppointmentDAO prepares per call, so loading a list of
+ * appointments stays a single query no matter how many rows come back.
+ */
+public class AppointmentDAOQueryCountTest {
+
+    private static Connection connection;
+    private static AppointmentDAO appointmentDAO;
+    private static final AtomicInteger statementCount = new AtomicInteger();
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        ConnectionProvider counting = countingProvider(connection);
+        CustomerDAO customerDAO = new CustomerDAO(counting);
+        EmployeeDAO employeeDAO = new EmployeeDAO(counting);
+        PetDAO petDAO = new PetDAO(counting, customerDAO);
+        appointmentDAO = new AppointmentDAO(counting, employeeDAO, petDAO);
+    }
+
+    @BeforeEach
+    public void resetCount() {
+        statementCount.set(0);
+    }
+
+    @Test
+    public void testFindAll_singleQuery() {
+        List<Appointment> appointments = appointmentDAO.findAll();
+
+        assertTrue(appointments.size() > 1);
+        assertEquals(1, statementCount.get());
+        assertNotNull(appointments.get(0).getProvider().getFirstName());
+        assertNotNull(appointments.get(0).getPet().getOwner().getLastName());
+    }
+
+    @Test
+    public void testFindAppointmentsByProviderId_singleQuery() {
+        // Provider 7 has several appointments in the seed data
+        Optional<List<Appointment>> appointments = appointmentDAO.findAppointmentsByProviderId(7);
+
+        assertTrue(appointments.isPresent());
+        assertTrue(appointments.get().size() > 1);
+        assertEquals(1, statementCount.get());
+        appointments.get().forEach(a -> assertEquals(7, a.getProvider().getID()));
+    }
+
+    @Test
+    public void testFindAppointmentsByPetId_singleQuery() {
+        Optional<List<Appointment>> appointments = appointmentDAO.findAppointmentsByPetId(4);
+
+        assertTrue(appointments.isPresent());
+        assertTrue(appointments.get().size() > 1);
+        assertEquals(1, statementCount.get());
+        appointments.get().forEach(a -> assertEquals(4, a.getPet().getID()));
+    }
+
+    @Test
+    public void testFindAppointmentsByCustomerId_singleQueryForAllPets() {
+        // Customer 3 owns pets 3, 4 and 5, which all have appointments in the seed data
+        int expected = appointmentDAO.findAppointmentsByPetId(3).map(List::size).orElse(0)
+                + appointmentDAO.findAppointmentsByPetId(4).map(List::size).orElse(0)
+                + appointmentDAO.findAppointmentsByPetId(5).map(List::size).orElse(0);
+        statementCount.set(0);
+
+        List<Appointment> appointments = appointmentDAO.findAppointmentsByCustomerId(3, null, null);
+
+        assertEquals(1, statementCount.get());
+        assertEquals(expected, appointments.size());
+        appointments.forEach(a -> assertEquals(3, a.getPet().getOwner().getID()));
+        Comparator<Appointment> schedule = Comparator.comparing(Appointment::getDate).thenComparing(Appointment::getTime);
+        for (int i = 1; i < appointments.size(); i++) {
+            assertTrue(schedule.compare(appointments.get(i - 1), appointments.get(i)) <= 0);
+        }
+    }
+
+    @Test
+    public void testFindAppointmentsByCustomerId_dateBounds() {
+        LocalDate day = LocalDate.of(2025, 5, 11);
+        List<Appointment> appointments = appointmentDAO.findAppointmentsByCustomerId(3, day, day);
+
+        assertFalse(appointments.isEmpty());
+        assertEquals(1, statementCount.get());
+        appointments.forEach(a -> assertEquals(day, a.getDate()));
+        assertTrue(appointmentDAO.findAppointmentsByCustomerId(3, day.plusYears(20), null).isEmpty());
+    }
+
+    @Test
+    public void testFindByID_singleQuery() {
+        Optional<Appointment> appointment = appointmentDAO.findByID(1);
+
+        assertTrue(appointment.isPresent());
+        assertEquals(1, statementCount.get());
+        assertSame(appointment.get().getPet().getOwner(), appointment.get().getCustomer());
+    }
+
+    @Test
+    public void testFindByAttributes_dateFilter() {
+        List<Appointment> appointments = appointmentDAO.findAllByAttributes(Map.of("date", "2025-05-10"));
+
+        assertFalse(appointments.isEmpty());
+        assertEquals(1, statementCount.get());
+        appointments.forEach(a -> assertEquals("2025-05-10", a.getDate().toString()));
+    }
+
+    @Test
+    public void testFindBookedTimes_singleQuery() {
+        // Provider 7 has a 14:30 checkup on 2025-05-10 in the seed data
+        List<LocalTime> times = appointmentDAO.findBookedTimes(7, LocalDate.of(2025, 5, 10));
+
+        assertEquals(1, statementCount.get());
+        assertTrue(times.contains(LocalTime.of(14, 30)));
+    }
+
+    @Test
+    public void testCreate_singleStatementSetsId() {
+        // Loaded before counting starts; only the insert itself is measured
+        Appointment appointment = appointmentDAO.findByID(1).orElseThrow();
+        appointment.setID(null);
+        appointment.setDate(LocalDate.of(2033, 1, 3));
+        statementCount.set(0);
+
+        assertTrue(appointmentDAO.create(appointment));
+        try {
+            assertEquals(1, statementCount.get());
+            assertNotNull(appointment.getID());
+            assertTrue(appointmentDAO.isProviderSlotTaken(appointment.getProvider().getID(),
+                    appointment.getDate(), appointment.getTime(), null));
+        } finally {
+            assertTrue(appointmentDAO.delete(appointment.getID()));
+        }
+    }
+
+    @Test
+    public void testUpdate_singleStatement() {
+        Appointment appointment = appointmentDAO.findByID(1).orElseThrow();
+        statementCount.set(0);
+
+        // Saving the same values again; the UNIQUE constraint does the double-booking check
+        assertTrue(appointmentDAO.update(appointment));
+        assertEquals(1, statementCount.get());
+    }
+
+    @Test
+    public void testDelete_missingAppointment_noLookup() {
+        assertFalse(appointmentDAO.delete(99999));
+
+        // The foreign key PRAGMA and the DELETE itself, with no findByID before them
+        assertEquals(2, statementCount.get());
+    }
+
+    /**
+     * Wraps the shared connection so every statement prepared through it is counted.
+     */
+    private static ConnectionProvider countingProvider(Connection physical) {
+        Connection counted = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement")) {
+                        statementCount.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        return ConnectionProvider.of(counted);
+    }
+}
@@ -99,7 +99,7 @@ public class AppointmentDAOTest {
                     "JOIN Employee e ON a.provider = e.employee_id " +
                     "JOIN Pet p ON a.pet = p.pet_id " +
                     "JOIN Customer c ON p.owner = c.customer_id " +
-                    "WHERE date(a.date) = ?";
+                    "WHERE a.appointment_date = ?";
 
             try (PreparedStatement stmt = connection.prepareStatement(queryTest)) {
                 stmt.setString(1, LocalDate.now().toString());
@@ -120,7 +120,7 @@ public class AppointmentDAOTest {
             // Create a test veterinarian
             String vetEmail = "vet." + System.currentTimeMillis() + "@example.com";
             String vetPhone = "555-" + (1000 + new Random().nextInt(9000));
-            testVeterinarian = new Employee(null, "Test", "Veterinarian", "123 Vet St", vetEmail, vetPhone, Employee.Position.VETERINARIAN);
+            testVeterinarian = new Employee(null, "Test", "Veterinarian", "123 Vet St", vetPhone, vetEmail, Employee.Position.VETERINARIAN);
             Optional<Employee> vetResponse = employeeDAO.createEmployee(testVeterinarian);
             assertTrue(vetResponse.isPresent());
             testVeterinarian = vetResponse.get();
@@ -135,7 +135,7 @@ public class AppointmentDAOTest {
             // Create a test vet tech
             String techEmail = "tech." + System.currentTimeMillis() + "@example.com";
             String techPhone = "555-" + (1000 + new Random().nextInt(9000));
-            testVetTech = new Employee(null, "Test", "VetTech", "456 Tech St", techEmail, techPhone, Employee.Position.VET_TECH);
+            testVetTech = new Employee(null, "Test", "VetTech", "456 Tech St", techPhone, techEmail, Employee.Position.VET_TECH);
             Optional<Employee> techResponse = employeeDAO.createEmployee(testVetTech);
             assertTrue(techResponse.isPresent());
             testVetTech = techResponse.get();
@@ -146,7 +146,7 @@ public class AppointmentDAOTest {
             // Create a test customer
             String customerEmail = "customer." + System.currentTimeMillis() + "@example.com";
             String customerPhone = "555-" + (1000 + new Random().nextInt(9000));
-            testCustomer = new Customer(null, "Test", "Customer", "789 Pet Owner St", customerEmail, customerPhone);
+            testCustomer = new Customer(null, "Test", "Customer", "789 Pet Owner St", customerPhone, customerEmail);
             Optional<Customer> customerResponse = customerDAO.createCustomer(testCustomer);
             assertTrue(customerResponse.isPresent());
             testCustomer = customerResponse.get();
@@ -178,7 +178,7 @@ public class AppointmentDAOTest {
             Pet pet) throws SQLException {
 
         // First insert the appointment
-        String insertSql = "INSERT INTO Appointment (date, time, provider, appointment_type, pet) VALUES (?, ?, ?, ?, ?)";
+        String insertSql = "INSERT INTO Appointment (appointment_date, time, provider, appointment_type, pet) VALUES (?, ?, ?, ?, ?)";
         try (PreparedStatement stmt = connection.prepareStatement(insertSql)) {
             stmt.setString(1, date.toString());
             stmt.setString(2, time.toString());
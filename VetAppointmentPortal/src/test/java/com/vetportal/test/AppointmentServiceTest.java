@@ -341,6 +341,30 @@ public class AppointmentServiceTest {
         assertTrue(response.getMessage().contains("not found"));
     }
 
+    @Test
+    public void testUpdateAppointment_ProviderAlreadyBooked() {
+        LocalDate appointmentDate = LocalDate.now().plusDays(17);
+        Appointment booked = new Appointment(null, appointmentDate, LocalTime.of(9, 0),
+                testVeterinarian, AppointmentType.CHECKUP, testPet, testCustomer);
+        Appointment moved = new Appointment(null, appointmentDate, LocalTime.of(10, 0),
+                testVeterinarian, AppointmentType.CHECKUP, testPet, testCustomer);
+        assertTrue(appointmentService.createAppointment(booked).isSuccess());
+        assertTrue(appointmentService.createAppointment(moved).isSuccess());
+
+        try {
+            // No pre-check query runs; the UNIQUE constraint still reports the double booking as a conflict
+            moved.setTime(LocalTime.of(9, 0));
+            ServiceResponse<Appointment> response = appointmentService.updateAppointment(moved);
+
+            assertEquals(LookupStatus.CONFLICT, response.getStatus());
+            assertEquals(LocalTime.of(10, 0),
+                    appointmentService.findAppointmentById(moved.getID()).getData().getTime());
+        } finally {
+            assertTrue(appointmentService.deleteAppointment(booked.getID()).isSuccess());
+            assertTrue(appointmentService.deleteAppointment(moved.getID()).isSuccess());
+        }
+    }
+
     @Test
     public void testUpdateAppointment_VetTechToNonVaccination() {
         // Create a valid appointment with a vet tech for a vaccination
@@ -685,6 +709,18 @@ public class AppointmentServiceTest {
         assertTrue(findResponse.getMessage().contains("Pet with ID"));
     }
 
+    @Test
+    public void testFindAppointmentsByCustomerId_NotFoundStatuses() {
+        ServiceResponse<List<Appointment>> unknown = appointmentService.findAppointmentsByCustomerId(9999);
+        assertEquals(LookupStatus.NOT_FOUND, unknown.getStatus());
+        assertTrue(unknown.getMessage().contains("Customer with ID"));
+
+        // Customer 15 has no pets in the seed data
+        ServiceResponse<List<Appointment>> none = appointmentService.findAppointmentsByCustomerId(15);
+        assertEquals(LookupStatus.NOT_FOUND, none.getStatus());
+        assertTrue(none.getMessage().contains("No appointments found"));
+    }
+
     @Test
     public void testFindAppointmentsByPetId_NoAppointments() {
         // Create a pet with no appointments
@@ -977,4 +1013,43 @@ public class AppointmentServiceTest {
             assertTrue(deleteResponse.isSuccess());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindFreeSlots() {
+        LocalDate appointmentDate = LocalDate.now().plusDays(30);
+        LocalTime appointmentTime = LocalTime.of(10, 0);
+
+        Appointment appointment = new Appointment(
+                null,
+                appointmentDate,
+                appointmentTime,
+                testVeterinarian,
+                AppointmentType.CHECKUP,
+                testPet,
+                testCustomer
+        );
+
+        ServiceResponse<Appointment> createResponse = appointmentService.createAppointment(appointment);
+        assertTrue(createResponse.isSuccess());
+
+        try {
+            ServiceResponse<List<LocalTime>> freeResponse = appointmentService.findFreeSlots(
+                    testVeterinarian.getID(), appointmentDate, SlotGrid.DEFAULT);
+            assertTrue(freeResponse.isSuccess());
+
+            List<LocalTime> freeSlots = freeResponse.getData();
+            assertEquals(SlotGrid.DEFAULT.getSlotCount() - 1, freeSlots.size());
+            assertFalse(freeSlots.contains(appointmentTime), "Booked slot should not be free");
+            assertEquals(LocalTime.of(8, 0), freeSlots.get(0));
+
+            // Every slot agrees with the per-slot check
+            for (LocalTime time : SlotGrid.DEFAULT.getTimes()) {
+                assertEquals(appointmentService.isProviderSlotTaken(testVeterinarian.getID(), appointmentDate, time, null),
+                        !freeSlots.contains(time), "Mismatch at " + time);
+            }
+        } finally {
+            ServiceResponse<Boolean> deleteResponse = appointmentService.deleteAppointment(createResponse.getData().getID());
+            assertTrue(deleteResponse.isSuccess());
+        }
+    }
+}
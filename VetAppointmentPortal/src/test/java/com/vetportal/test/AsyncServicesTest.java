@@ -0,0 +1,112 @@
+package com.vetportal.test;
+
+import com.vetportal.dto.LookupStatus;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.service.AsyncServices;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that AsyncServices delivers responses to the result executor, turns failures into DB_ERROR
+ * responses and drops the results of cancelled calls, as happens when the user leaves a page.
+ */
+public class AsyncServicesTest {
+
+    @Test
+    public void testCall_deliversResponseOnResultExecutor() throws Exception {
+        AtomicBoolean usedResultExecutor = new AtomicBoolean();
+        try (AsyncServices async = new AsyncServices(2, task -> {
+            usedResultExecutor.set(true);
+            task.run();
+        })) {
+            AtomicReference<ServiceResponse<String>> delivered = new AtomicReference<>();
+            async.call(() -> ServiceResponse.success("done"), delivered::set).get(5, TimeUnit.SECONDS);
+
+            assertTrue(usedResultExecutor.get());
+            assertTrue(delivered.get().isSuccess());
+            assertEquals("done", delivered.get().getData());
+            assertEquals(0, async.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testSupply_exceptionBecomesDbError() throws Exception {
+        try (AsyncServices async = new AsyncServices(1, Runnable::run)) {
+            ServiceResponse<String> response = async.<String>supply(() -> {
+                throw new IllegalStateException("connection lost");
+            }).get(5, TimeUnit.SECONDS);
+
+            assertEquals(LookupStatus.DB_ERROR, response.getStatus());
+            assertTrue(response.getMessage().contains("connection lost"));
+        }
+    }
+
+    @Test
+    public void testCancelPending_dropsQueuedCallAndItsCallback() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedCallRan = new AtomicBoolean();
+        AtomicBoolean callbackRan = new AtomicBoolean();
+
+        try (AsyncServices async = new AsyncServices(Executors.newSingleThreadExecutor(), Runnable::run)) {
+            // Occupies the only service thread so the next call stays queued
+            CompletableFuture<ServiceResponse<Boolean>> running = async.supply(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ServiceResponse.success(true);
+            });
+            CompletableFuture<Void> queued = async.call(() -> {
+                queuedCallRan.set(true);
+                return ServiceResponse.success(true);
+            }, response -> callbackRan.set(true));
+
+            assertTrue(async.cancelPending() > 0);
+            assertEquals(0, async.getPendingCount());
+            release.countDown();
+
+            assertTrue(queued.isCompletedExceptionally());
+            assertTrue(running.isCancelled());
+            // A marker queued behind the cancelled call shows the queue has drained
+            async.supply(() -> ServiceResponse.success(true)).get(5, TimeUnit.SECONDS);
+            assertFalse(queuedCallRan.get());
+            assertFalse(callbackRan.get());
+        }
+    }
+
+    @Test
+    public void testVirtualThreadExecutor_availableOnlyOnJava21() throws Exception {
+        if (!AsyncServices.isVirtualThreadSupported()) {
+            assertTrue(Runtime.version().feature() < 21);
+            assertThrows(UnsupportedOperationException.class, AsyncServices::newVirtualThreadExecutor);
+            return;
+        }
+
+        try (AsyncServices async = new AsyncServices(AsyncServices.newVirtualThreadExecutor(), Runnable::run)) {
+            ServiceResponse<String> response = async.supply(() -> ServiceResponse.success("virtual"))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals("virtual", response.getData());
+        }
+    }
+
+    @Test
+    public void testClose_laterCallsReportServiceUnavailable() throws Exception {
+        AsyncServices async = new AsyncServices(1, Runnable::run);
+        async.close();
+
+        ServiceResponse<String> response = async.supply(() -> ServiceResponse.success("late")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(LookupStatus.DB_ERROR, response.getStatus());
+        assertEquals(0, async.getPendingCount());
+    }
+}
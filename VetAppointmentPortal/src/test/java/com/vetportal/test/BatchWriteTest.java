@@ -0,0 +1,163 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.exception.AppointmentConflictException;
+import com.vetportal.exception.DataAccessException;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the batched createAll/updateAll path: generated IDs come back in order across batch
+ * boundaries, and a failure anywhere in the call leaves nothing behind.
+ */
+public class BatchWriteTest {
+
+    private static Connection connection;
+    private static CustomerDAO customerDAO;
+    private static AppointmentDAO appointmentDAO;
+    private static Employee vet;
+    private static Employee receptionist;
+    private static Pet pet;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        ConnectionProvider provider = ConnectionProvider.of(connection);
+        EmployeeDAO employeeDAO = new EmployeeDAO(provider);
+        customerDAO = new CustomerDAO(provider);
+        PetDAO petDAO = new PetDAO(provider, customerDAO);
+        appointmentDAO = new AppointmentDAO(provider, employeeDAO, petDAO);
+
+        // Employee 7 is a veterinarian and employee 1 a receptionist in the seed data
+        vet = employeeDAO.findByID(7).orElseThrow();
+        receptionist = employeeDAO.findByID(1).orElseThrow();
+        pet = petDAO.findByID(1).orElseThrow();
+    }
+
+    @Test
+    public void testCreateAll_idsReturnedInOrderAcrossBatches() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            customers.add(new Customer(null, "Batch" + i, "Import", "1 Bulk Rd", "555-9" + i + "00", "batch" + i + "@import.test"));
+        }
+
+        // A batch size of 3 splits the insert into batches of 3, 3 and 1
+        List<Integer> ids = customerDAO.createAll(customers, 3);
+
+        try {
+            assertEquals(7, ids.size());
+            for (int i = 0; i < customers.size(); i++) {
+                Customer customer = customers.get(i);
+                assertEquals(ids.get(i), customer.getID());
+                assertEquals("batch" + i + "@import.test", customerDAO.findByID(customer.getID()).orElseThrow().getEmail());
+            }
+
+            customers.forEach(customer -> customer.setLastName("Updated"));
+            assertEquals(7, customerDAO.updateAll(customers, 2));
+            assertEquals("Updated", customerDAO.findByID(ids.get(6)).orElseThrow().getLastName());
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM Customer WHERE email LIKE '%@import.test'");
+            }
+        }
+    }
+
+    @Test
+    public void testCreateAll_failureRollsBackEveryBatch() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            customers.add(new Customer(null, "Rollback" + i, "Import", "2 Bulk Rd", null, "rollback" + i + "@import.test"));
+        }
+        // The last customer repeats the first one's email, so the third batch fails after two have already run
+        customers.add(new Customer(null, "Rollback", "Duplicate", "2 Bulk Rd", null, "rollback0@import.test"));
+
+        assertThrows(DataAccessException.class, () -> customerDAO.createAll(customers, 2));
+
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Customer WHERE email LIKE 'rollback%@import.test'"));
+        customers.forEach(customer -> assertNull(customer.getID()));
+        assertTrue(connection.getAutoCommit());
+    }
+
+    @Test
+    public void testCreateAll_failureInCallerTransactionRollsBackOwnBatches() throws Exception {
+        Customer earlier = new Customer(null, "Earlier", "Caller", "3 Bulk Rd", null, "earlier@joined.test");
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            customers.add(new Customer(null, "Joined" + i, "Import", "3 Bulk Rd", null, "joined" + i + "@import.test"));
+        }
+        customers.add(new Customer(null, "Joined", "Duplicate", "3 Bulk Rd", null, "joined0@import.test"));
+
+        // The caller handles the failure and commits the rest of its transaction
+        connection.setAutoCommit(false);
+        try {
+            assertTrue(customerDAO.create(earlier));
+            assertThrows(DataAccessException.class, () -> customerDAO.createAll(customers, 2));
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        try {
+            assertEquals(0, countRows("SELECT COUNT(*) FROM Customer WHERE email LIKE 'joined%@import.test'"));
+            assertEquals(1, countRows("SELECT COUNT(*) FROM Customer WHERE email = 'earlier@joined.test'"));
+            customers.forEach(customer -> assertNull(customer.getID()));
+        } finally {
+            assertTrue(customerDAO.delete(earlier.getID()));
+        }
+    }
+
+    @Test
+    public void testCreateAll_appointmentChecksApplyToEveryRow() throws Exception {
+        LocalDate date = LocalDate.of(2032, 6, 1);
+        List<Appointment> appointments = List.of(
+                new Appointment(null, date, LocalTime.of(9, 0), vet, AppointmentType.CHECKUP, pet, pet.getOwner()),
+                new Appointment(null, date, LocalTime.of(9, 30), receptionist, AppointmentType.SURGERY, pet, pet.getOwner()));
+
+        assertThrows(AppointmentConflictException.class, () -> appointmentDAO.createAll(appointments));
+
+        List<Appointment> clashing = List.of(
+                new Appointment(null, date, LocalTime.of(9, 0), vet, AppointmentType.CHECKUP, pet, pet.getOwner()),
+                new Appointment(null, date, LocalTime.of(9, 0), vet, AppointmentType.DENTAL, pet, pet.getOwner()));
+
+        assertThrows(AppointmentConflictException.class, () -> appointmentDAO.createAll(clashing));
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Appointment WHERE appointment_date = '2032-06-01'"));
+    }
+
+    @Test
+    public void testCreateAll_rejectsBatchSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> customerDAO.createAll(List.of(), 0));
+        assertTrue(customerDAO.createAll(List.of()).isEmpty());
+    }
+
+    private static int countRows(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
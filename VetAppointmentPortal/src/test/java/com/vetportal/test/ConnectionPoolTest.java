@@ -0,0 +1,271 @@
+package com.vetportal.test;
+
+import com.vetportal.util.CacheStats;
+import com.vetportal.util.CheckpointScheduler;
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.PoolMetrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ConnectionPool using a throwaway SQLite file so the
+ * application database is never touched.
+ */
+public class ConnectionPoolTest {
+
+    private Path dbFile;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dbFile = Files.createTempFile("vetportal-pool-test", ".db");
+        pool = new ConnectionPool("jdbc:sqlite:" + dbFile, 2, 200);
+
+        try (Connection conn = pool.getWriteConnection();
+             Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE Item (item_id INTEGER PRIMARY KEY, name TEXT)");
+            statement.execute("INSERT INTO Item (name) VALUES ('first')");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    @Test
+    public void testReadConnection_isReadOnly() throws SQLException {
+        try (Connection conn = pool.getReadConnection();
+             Statement statement = conn.createStatement()) {
+            ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM Item");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+
+            assertThrows(SQLException.class,
+                    () -> statement.execute("INSERT INTO Item (name) VALUES ('not allowed')"));
+        }
+    }
+
+    @Test
+    public void testConnections_useProfile() throws SQLException {
+        try (Connection conn = pool.getReadConnection();
+             Statement statement = conn.createStatement()) {
+            ResultSet rs = statement.executeQuery("PRAGMA journal_mode");
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1));
+
+            rs = statement.executeQuery("PRAGMA busy_timeout");
+            assertTrue(rs.next());
+            assertEquals(pool.getProfile().getBusyTimeoutMillis(), rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testCheckpoint_copiesLogIntoDatabase() throws SQLException {
+        try (CheckpointScheduler scheduler = new CheckpointScheduler(pool, 60_000)) {
+            try (Connection conn = pool.getWriteConnection();
+                 Statement statement = conn.createStatement()) {
+                statement.execute("INSERT INTO Item (name) VALUES ('second')");
+            }
+
+            CheckpointScheduler.CheckpointResult result = scheduler.checkpoint("PASSIVE");
+            assertFalse(result.isBusy());
+            assertTrue(result.getLogFrames() > 0);
+            assertEquals(result.getLogFrames(), result.getCheckpointedFrames());
+        }
+    }
+
+    @Test
+    public void testPreparedStatements_areReusedPerConnection() throws SQLException {
+        String sql = "SELECT name FROM Item WHERE item_id = ?";
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.getReadConnection();
+                 PreparedStatement statement = conn.prepareStatement(sql)) {
+                statement.setInt(1, 1);
+                // Result set deliberately left open; returning the statement must close it
+                ResultSet rs = statement.executeQuery();
+                assertTrue(rs.next());
+                assertEquals("first", rs.getString(1));
+            }
+        }
+
+        CacheStats stats = pool.getStatementCacheStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testPreparedStatement_nestedSameSqlGetsItsOwnStatement() throws SQLException {
+        String sql = "SELECT name FROM Item WHERE item_id = ?";
+
+        try (Connection conn = pool.getReadConnection();
+             PreparedStatement outer = conn.prepareStatement(sql)) {
+            outer.setInt(1, 1);
+            ResultSet outerRows = outer.executeQuery();
+            assertTrue(outerRows.next());
+
+            try (PreparedStatement inner = conn.prepareStatement(sql)) {
+                inner.setInt(1, 2);
+                assertFalse(inner.executeQuery().next());
+            }
+
+            // The outer statement and its rows are untouched by the nested call
+            assertEquals("first", outerRows.getString(1));
+        }
+
+        assertEquals(2, pool.getStatementCacheStats().getMisses());
+    }
+
+    @Test
+    public void testPreparedStatement_closedHandleCannotBeUsed() throws SQLException {
+        PreparedStatement statement;
+        try (Connection conn = pool.getReadConnection()) {
+            statement = conn.prepareStatement("SELECT COUNT(*) FROM Item");
+            statement.close();
+        }
+
+        assertTrue(statement.isClosed());
+        assertThrows(SQLException.class, statement::executeQuery);
+    }
+
+    @Test
+    public void testNestedReadBorrow_reusesThreadConnection() throws SQLException {
+        try (Connection outer = pool.getReadConnection()) {
+            try (Connection inner = pool.getReadConnection()) {
+                // Nested borrows on one thread must not take a second reader from the pool
+                assertEquals(1, pool.getMetrics().getActiveReaders());
+                assertFalse(inner.isClosed());
+            }
+            // Closing the inner handle leaves the outer one usable
+            assertFalse(outer.isClosed());
+            assertEquals(1, pool.getMetrics().getActiveReaders());
+        }
+        assertEquals(0, pool.getMetrics().getActiveReaders());
+    }
+
+    @Test
+    public void testClosedHandle_cannotBeUsed() throws SQLException {
+        Connection conn = pool.getReadConnection();
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+    }
+
+    @Test
+    public void testReadInsideWrite_seesUncommittedChanges() throws SQLException {
+        try (Connection writer = pool.getWriteConnection()) {
+            writer.setAutoCommit(false);
+            try (Statement statement = writer.createStatement()) {
+                statement.execute("INSERT INTO Item (name) VALUES ('pending')");
+            }
+
+            // The writing thread reads through its own writer connection
+            try (Connection reader = pool.getReadConnection();
+                 Statement statement = reader.createStatement()) {
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM Item");
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+            }
+            writer.rollback();
+        }
+    }
+
+    @Test
+    public void testBorrowTimesOut_whenReadersExhausted() throws Exception {
+        CountDownLatch borrowed = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Two other threads hold both readers
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> {
+                    try (Connection conn = pool.getReadConnection()) {
+                        borrowed.countDown();
+                        done.await();
+                    }
+                    return null;
+                });
+            }
+            assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+            assertEquals(2, pool.getMetrics().getActiveReaders());
+
+            assertThrows(SQLException.class, () -> pool.getReadConnection());
+            assertEquals(1, pool.getMetrics().getTimeouts());
+        } finally {
+            done.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        // Once released, readers are reused rather than reopened
+        try (Connection conn = pool.getReadConnection()) {
+            assertFalse(conn.isClosed());
+        }
+        assertEquals(2, pool.getMetrics().getOpenReaders());
+    }
+
+    @Test
+    public void testWriter_isHeldByOneThreadAtATime() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (Connection writer = pool.getWriteConnection()) {
+            assertTrue(pool.getMetrics().isWriterActive());
+
+            // Another thread cannot get the writer while this thread holds it
+            Future<?> other = executor.submit(() -> {
+                try (Connection conn = pool.getWriteConnection()) {
+                    fail("Writer should not be handed to a second thread");
+                }
+                return null;
+            });
+            Exception e = assertThrows(Exception.class, other::get);
+            assertInstanceOf(SQLException.class, e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        PoolMetrics metrics = pool.getMetrics();
+        assertFalse(metrics.isWriterActive());
+        assertTrue(metrics.getWriteBorrows() >= 2);
+        assertTrue(metrics.getMaxWaitMillis() > 0);
+    }
+
+    @Test
+    public void testWriteReleases_countOnlyWhenWriterIsHandedBack() throws Exception {
+        long before = pool.getWriteReleases();
+
+        try (Connection writer = pool.getWriteConnection()) {
+            // A nested borrow by the same thread does not hand the writer back
+            try (Connection nested = pool.getWriteConnection()) {
+                assertFalse(nested.isClosed());
+            }
+            assertEquals(before, pool.getWriteReleases());
+        }
+
+        assertEquals(before + 1, pool.getWriteReleases());
+    }
+}
@@ -113,7 +113,15 @@ public class CustomerServiceTest {
 
     @Test
     public void testFindPetsByCustomerId_noPets() {
+        // An existing customer without pets is a successful lookup with an empty list
         ServiceResponse<List<Pet>> response = customerService.findPetsByCustomerId(15); // Owen has no pets
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().isEmpty());
+    }
+
+    @Test
+    public void testFindPetsByCustomerId_customerNotFound() {
+        ServiceResponse<List<Pet>> response = customerService.findPetsByCustomerId(9999);
         assertFalse(response.isSuccess());
         assertEquals(LookupStatus.NOT_FOUND, response.getStatus());
     }
@@ -0,0 +1,122 @@
+package com.vetportal.test;
+
+import com.vetportal.dto.DashboardSnapshot;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.service.CustomerService;
+import com.vetportal.service.DashboardService;
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.DatabaseInitializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the home page snapshot on a seeded throwaway database behind a ConnectionPool, so its
+ * parts are read on separate connections as they are in the application.
+ */
+public class DashboardServiceTest {
+
+    private static final LocalDate SEEDED_DATE = LocalDate.of(2025, 5, 10);
+
+    private Path dbFile;
+    private ConnectionPool pool;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dbFile = Files.createTempFile("vetportal-dashboard-test", ".db");
+        pool = new ConnectionPool("jdbc:sqlite:" + dbFile, 3, 1_000);
+
+        try (Connection writer = pool.getWriteConnection()) {
+            DatabaseInitializer.initializeOnExistingConnection(writer, "database/schema.sql", "database/seed.sql");
+        }
+
+        dashboardService = new DashboardService(pool, pool::getWriteReleases, DashboardService.DEFAULT_TTL_MILLIS);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        dashboardService.close();
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    @Test
+    public void testSnapshot_containsSeededData() {
+        ServiceResponse<DashboardSnapshot> response = dashboardService.getSnapshot(SEEDED_DATE);
+
+        assertTrue(response.isSuccess(), response.getMessage());
+        DashboardSnapshot snapshot = response.getData();
+        assertEquals(SEEDED_DATE, snapshot.getDate());
+        assertEquals(5, snapshot.getAppointmentCount());
+        assertEquals(5, snapshot.getAppointments().size());
+        snapshot.getAppointments().forEach(a -> assertEquals(SEEDED_DATE, a.getDate()));
+        for (int i = 1; i < snapshot.getAppointments().size(); i++) {
+            Appointment previous = snapshot.getAppointments().get(i - 1);
+            assertFalse(previous.getTime().isAfter(snapshot.getAppointments().get(i).getTime()));
+        }
+
+        assertEquals(15, snapshot.getCustomerCount());
+        assertEquals(15, snapshot.getCustomers().getItems().size());
+        assertFalse(snapshot.getCustomers().hasMore());
+        assertEquals(15, snapshot.getEmployeeCount());
+        assertEquals(15, snapshot.getEmployees().getItems().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getAppointments().clear());
+    }
+
+    @Test
+    public void testSnapshot_isReusedUntilSomethingIsWritten() {
+        DashboardSnapshot first = dashboardService.getSnapshot(SEEDED_DATE).getData();
+        assertSame(first, dashboardService.getSnapshot(SEEDED_DATE).getData());
+        assertEquals(1, dashboardService.getCacheStats().getHits());
+
+        Customer customer = new Customer(null, "Dash", "Board", "1 Snapshot Rd", "555-7777", "dash@example.com");
+        assertTrue(new CustomerService(pool).createCustomer(customer).isSuccess());
+
+        DashboardSnapshot second = dashboardService.getSnapshot(SEEDED_DATE).getData();
+        assertNotSame(first, second);
+        assertEquals(first.getCustomerCount() + 1, second.getCustomerCount());
+    }
+
+    @Test
+    public void testSnapshot_loadedDuringWriteIsNotReusedAfterIt() throws Exception {
+        int customersBefore;
+        try (Connection writer = pool.getWriteConnection()) {
+            writer.setAutoCommit(false);
+            try (Statement statement = writer.createStatement()) {
+                statement.executeUpdate("INSERT INTO Customer (first_name, last_name, address, phone, email) "
+                        + "VALUES ('Mid', 'Write', '2 Snapshot Rd', '555-7778', 'midwrite@example.com')");
+            }
+
+            // Read while the write is still open, so it cannot see the new customer
+            customersBefore = dashboardService.getSnapshot(SEEDED_DATE).getData().getCustomerCount();
+            writer.commit();
+        }
+
+        assertEquals(customersBefore + 1, dashboardService.getSnapshot(SEEDED_DATE).getData().getCustomerCount());
+    }
+
+    @Test
+    public void testSnapshot_isCachedPerDate() {
+        DashboardSnapshot seeded = dashboardService.getSnapshot(SEEDED_DATE).getData();
+        DashboardSnapshot empty = dashboardService.getSnapshot(SEEDED_DATE.plusYears(10)).getData();
+
+        assertNotSame(seeded, empty);
+        assertEquals(0, empty.getAppointmentCount());
+        assertTrue(empty.getAppointments().isEmpty());
+        assertEquals(2, dashboardService.getCacheStats().getMisses());
+    }
+}
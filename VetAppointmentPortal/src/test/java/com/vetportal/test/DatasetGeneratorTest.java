@@ -0,0 +1,166 @@
+package com.vetportal.test;
+
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DatasetGenerator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the synthetic dataset generator, at small volumes on throwaway database files.
+ */
+public class DatasetGeneratorTest {
+
+    private final List<Path> dbFiles = new ArrayList<>();
+    private final List<ConnectionPool> pools = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (ConnectionPool pool : pools) {
+            pool.close();
+        }
+        for (Path dbFile : dbFiles) {
+            Files.deleteIfExists(dbFile);
+            Files.deleteIfExists(Path.of(dbFile + "-wal"));
+            Files.deleteIfExists(Path.of(dbFile + "-shm"));
+        }
+    }
+
+    @Test
+    public void testGenerate_insertsRequestedVolumes() throws Exception {
+        ConnectionPool pool = emptyDatabase();
+
+        int booked = small(1).generate(pool);
+
+        assertEquals(5_000, booked);
+        assertEquals(40, count(pool, "SELECT COUNT(*) FROM Employee"));
+        assertEquals(300, count(pool, "SELECT COUNT(*) FROM Customer"));
+        assertEquals(500, count(pool, "SELECT COUNT(*) FROM Pet"));
+        assertEquals(5_000, count(pool, "SELECT COUNT(*) FROM Appointment"));
+        // Every customer owns at least one pet
+        assertEquals(0, count(pool, "SELECT COUNT(*) FROM Customer c WHERE NOT EXISTS "
+                + "(SELECT 1 FROM Pet p WHERE p.owner = c.customer_id)"));
+    }
+
+    @Test
+    public void testGenerate_followsSchedulingRules() throws Exception {
+        ConnectionPool pool = emptyDatabase();
+
+        small(1).generate(pool);
+
+        assertEquals(0, count(pool, "SELECT COUNT(*) FROM Appointment a JOIN Employee e ON e.employee_id = a.provider "
+                + "WHERE a.appointment_type <> 'VACCINATION' AND e.role <> 'VETERINARIAN'"));
+        assertEquals(0, count(pool, "SELECT COUNT(*) FROM Appointment a JOIN Employee e ON e.employee_id = a.provider "
+                + "WHERE e.role = 'RECEPTIONIST'"));
+        assertEquals(0, count(pool, "SELECT COUNT(*) FROM (SELECT provider, appointment_date, time FROM Appointment "
+                + "GROUP BY provider, appointment_date, time HAVING COUNT(*) > 1)"));
+    }
+
+    @Test
+    public void testGenerate_sameSeedGivesSameData() throws Exception {
+        ConnectionPool first = emptyDatabase();
+        ConnectionPool second = emptyDatabase();
+        ConnectionPool other = emptyDatabase();
+
+        small(7).generate(first);
+        small(7).generate(second);
+        small(8).generate(other);
+
+        assertEquals(fingerprint(first), fingerprint(second));
+        assertNotEquals(fingerprint(first), fingerprint(other));
+    }
+
+    @Test
+    public void testGenerate_worksOnSeededDatabase() throws Exception {
+        Path dbFile = newDbFile();
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + dbFile, 2, 1_000);
+        pools.add(pool);
+        try (Connection writer = pool.getWriteConnection()) {
+            DatabaseInitializer.initializeOnExistingConnection(writer, "database/schema.sql", "database/seed.sql");
+        }
+
+        int seededCustomers = count(pool, "SELECT COUNT(*) FROM Customer");
+        int seededAppointments = count(pool, "SELECT COUNT(*) FROM Appointment");
+
+        small(1).generate(pool);
+
+        assertEquals(seededCustomers + 300, count(pool, "SELECT COUNT(*) FROM Customer"));
+        assertEquals(seededAppointments + 5_000, count(pool, "SELECT COUNT(*) FROM Appointment"));
+    }
+
+    @Test
+    public void testGenerate_rejectsAppointmentsWithoutPets() throws Exception {
+        ConnectionPool pool = emptyDatabase();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DatasetGenerator.defaults().setEmployees(5).setCustomers(5).setPets(0).setAppointments(10)
+                        .generate(pool));
+    }
+
+    private static DatasetGenerator small(long seed) {
+        return DatasetGenerator.defaults()
+                .setEmployees(40)
+                .setCustomers(300)
+                .setPets(500)
+                .setAppointments(5_000)
+                .setSeed(seed);
+    }
+
+    private ConnectionPool emptyDatabase() throws Exception {
+        ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + newDbFile(), 2, 1_000);
+        pools.add(pool);
+        try (Connection writer = pool.getWriteConnection()) {
+            DatabaseInitializer.initializeEmptyOnExistingConnection(writer, "database/schema.sql");
+        }
+        return pool;
+    }
+
+    private Path newDbFile() throws Exception {
+        Path dbFile = Files.createTempFile("vetportal-dataset-test", ".db");
+        dbFiles.add(dbFile);
+        return dbFile;
+    }
+
+    private static int count(ConnectionPool pool, String sql) throws SQLException {
+        try (Connection connection = pool.getReadConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.getInt(1);
+        }
+    }
+
+    private static String fingerprint(ConnectionPool pool) throws SQLException {
+        StringBuilder rows = new StringBuilder();
+        try (Connection connection = pool.getReadConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : List.of(
+                    "SELECT * FROM Employee ORDER BY employee_id",
+                    "SELECT * FROM Customer ORDER BY customer_id",
+                    "SELECT * FROM Pet ORDER BY pet_id",
+                    "SELECT * FROM Appointment ORDER BY appointment_id")) {
+                try (ResultSet rs = statement.executeQuery(sql)) {
+                    int columns = rs.getMetaData().getColumnCount();
+                    while (rs.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            rows.append(rs.getString(i)).append('|');
+                        }
+                        rows.append('\n');
+                    }
+                }
+            }
+        }
+        return rows.toString();
+    }
+}
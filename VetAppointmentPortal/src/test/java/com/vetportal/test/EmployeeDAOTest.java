@@ -48,7 +48,7 @@ public class EmployeeDAOTest {
         String uniqueEmail = "john.doe." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000)); // Random 4-digit number
 
-        Employee newEmployee = new Employee(null, "John", "Doe", "123 Test St", uniqueEmail, uniquePhone, Employee.Position.VETERINARIAN);
+        Employee newEmployee = new Employee(null, "John", "Doe", "123 Test St", uniquePhone, uniqueEmail, Employee.Position.VETERINARIAN);
 
         Optional<Employee> optionalEmployee = employeeDAO.createEmployee(newEmployee);
 
@@ -74,12 +74,12 @@ public class EmployeeDAOTest {
         String uniquePhone2 = "555-" + (1000 + new Random().nextInt(9000));
 
         // First, create an employee
-        Employee firstEmployee = new Employee(null, "First", "Employee", "123 First St", uniqueEmail, uniquePhone1, Employee.Position.RECEPTIONIST);
+        Employee firstEmployee = new Employee(null, "First", "Employee", "123 First St", uniquePhone1, uniqueEmail, Employee.Position.RECEPTIONIST);
         Optional<Employee> firstResponse = employeeDAO.createEmployee(firstEmployee);
         assertTrue(firstResponse.isPresent());
 
         // Now try to create another with the same email
-        Employee duplicateEmployee = new Employee(null, "Duplicate", "User", "456 Test Ave", uniqueEmail, uniquePhone2, Employee.Position.VET_TECH);
+        Employee duplicateEmployee = new Employee(null, "Duplicate", "User", "456 Test Ave", uniquePhone2, uniqueEmail, Employee.Position.VET_TECH);
 
         assertThrows(DataAccessException.class, () -> {
             employeeDAO.createEmployee(duplicateEmployee);
@@ -97,12 +97,12 @@ public class EmployeeDAOTest {
         String uniqueEmail2 = "second." + System.currentTimeMillis() + "@example.com";
 
         // First, create an employee
-        Employee firstEmployee = new Employee(null, "First", "Employee", "123 First St", uniqueEmail1, uniquePhone, Employee.Position.RECEPTIONIST);
+        Employee firstEmployee = new Employee(null, "First", "Employee", "123 First St", uniquePhone, uniqueEmail1, Employee.Position.RECEPTIONIST);
         Optional<Employee> firstResponse = employeeDAO.createEmployee(firstEmployee);
         assertTrue(firstResponse.isPresent());
 
         // Now try to create another with the same phone
-        Employee duplicateEmployee = new Employee(null, "Duplicate", "User", "456 Test Ave", uniqueEmail2, uniquePhone, Employee.Position.VET_TECH);
+        Employee duplicateEmployee = new Employee(null, "Duplicate", "User", "456 Test Ave", uniquePhone, uniqueEmail2, Employee.Position.VET_TECH);
 
         assertThrows(DataAccessException.class, () -> {
             employeeDAO.createEmployee(duplicateEmployee);
@@ -119,7 +119,7 @@ public class EmployeeDAOTest {
         String uniqueEmail = "find." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee newEmployee = new Employee(null, "Find", "Me", "123 Search St", uniqueEmail, uniquePhone, Employee.Position.VET_TECH);
+        Employee newEmployee = new Employee(null, "Find", "Me", "123 Search St", uniquePhone, uniqueEmail, Employee.Position.VET_TECH);
         Optional<Employee> createResponse = employeeDAO.createEmployee(newEmployee);
         assertTrue(createResponse.isPresent());
 
@@ -147,7 +147,7 @@ public class EmployeeDAOTest {
         String uniqueEmail = "attribute." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee newEmployee = new Employee(null, "Attribute", "Search", "123 Attr St", uniqueEmail, uniquePhone, Employee.Position.VETERINARIAN);
+        Employee newEmployee = new Employee(null, "Attribute", "Search", "123 Attr St", uniquePhone, uniqueEmail, Employee.Position.VETERINARIAN);
         Optional<Employee> createResponse = employeeDAO.createEmployee(newEmployee);
         assertTrue(createResponse.isPresent());
 
@@ -169,7 +169,7 @@ public class EmployeeDAOTest {
         String uniqueEmail = "phone." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee newEmployee = new Employee(null, "Phone", "Search", "123 Phone St", uniqueEmail, uniquePhone, Employee.Position.RECEPTIONIST);
+        Employee newEmployee = new Employee(null, "Phone", "Search", "123 Phone St", uniquePhone, uniqueEmail, Employee.Position.RECEPTIONIST);
         Optional<Employee> createResponse = employeeDAO.createEmployee(newEmployee);
         assertTrue(createResponse.isPresent());
 
@@ -191,14 +191,14 @@ public class EmployeeDAOTest {
         String uniqueEmail = "multi." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee newEmployee = new Employee(null, "Multi", "Attribute", "123 Multi St", uniqueEmail, uniquePhone, Employee.Position.VETERINARIAN);
+        Employee newEmployee = new Employee(null, "Multi", "Attribute", "123 Multi St", uniquePhone, uniqueEmail, Employee.Position.VETERINARIAN);
         Optional<Employee> createResponse = employeeDAO.createEmployee(newEmployee);
         assertTrue(createResponse.isPresent());
 
         // Find by first name and last name
         Map<String, String> attributes = Map.of(
-                "firstName", "Multi",
-                "lastName", "Attribute"
+                "firstname", "Multi",
+                "lastname", "Attribute"
         );
         Optional<Employee> foundEmployee = employeeDAO.findByAttributes(attributes);
 
@@ -225,7 +225,7 @@ public class EmployeeDAOTest {
         String uniqueEmail = "update." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee newEmployee = new Employee(null, "Update", "Me", "123 Update St", uniqueEmail, uniquePhone, Employee.Position.VET_TECH);
+        Employee newEmployee = new Employee(null, "Update", "Me", "123 Update St", uniquePhone, uniqueEmail, Employee.Position.VET_TECH);
         Optional<Employee> createResponse = employeeDAO.createEmployee(newEmployee);
         assertTrue(createResponse.isPresent());
 
@@ -253,7 +253,7 @@ public class EmployeeDAOTest {
 
     @Test
     public void testUpdate_nonExistent() {
-        Employee nonExistentEmployee = new Employee(9999, "Nobody", "NoWhere", "123 Nowhere St", "nobody@example.com", "555-0000", Employee.Position.RECEPTIONIST);
+        Employee nonExistentEmployee = new Employee(9999, "Nobody", "NoWhere", "123 Nowhere St", "555-0000", "nobody@example.com", Employee.Position.RECEPTIONIST);
 
         boolean updateResult = employeeDAO.update(nonExistentEmployee);
         assertFalse(updateResult);
@@ -266,7 +266,7 @@ public class EmployeeDAOTest {
         String uniqueEmail = "delete." + System.currentTimeMillis() + "@example.com";
         String uniquePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee newEmployee = new Employee(null, "Delete", "Me", "123 Delete St", uniqueEmail, uniquePhone, Employee.Position.RECEPTIONIST);
+        Employee newEmployee = new Employee(null, "Delete", "Me", "123 Delete St", uniquePhone, uniqueEmail, Employee.Position.RECEPTIONIST);
         Optional<Employee> createResponse = employeeDAO.createEmployee(newEmployee);
         assertTrue(createResponse.isPresent());
 
@@ -293,8 +293,8 @@ public class EmployeeDAOTest {
         String baseEmail = "findall." + System.currentTimeMillis();
         String basePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee employee1 = new Employee(null, "FindAll1", "Test", "123 FindAll St", baseEmail + "1@example.com", basePhone + "1", Employee.Position.RECEPTIONIST);
-        Employee employee2 = new Employee(null, "FindAll2", "Test", "456 FindAll St", baseEmail + "2@example.com", basePhone + "2", Employee.Position.VETERINARIAN);
+        Employee employee1 = new Employee(null, "FindAll1", "Test", "123 FindAll St", basePhone + "1", baseEmail + "1@example.com", Employee.Position.RECEPTIONIST);
+        Employee employee2 = new Employee(null, "FindAll2", "Test", "456 FindAll St", basePhone + "2", baseEmail + "2@example.com", Employee.Position.VETERINARIAN);
 
         Optional<Employee> response1 = employeeDAO.createEmployee(employee1);
         Optional<Employee> response2 = employeeDAO.createEmployee(employee2);
@@ -325,8 +325,8 @@ public class EmployeeDAOTest {
         String baseEmail = "role." + System.currentTimeMillis();
         String basePhone = "555-" + (1000 + new Random().nextInt(9000));
 
-        Employee employee1 = new Employee(null, "Role1", "Test", "123 Role St", baseEmail + "1@example.com", basePhone + "1", Employee.Position.VETERINARIAN);
-        Employee employee2 = new Employee(null, "Role2", "Test", "456 Role St", baseEmail + "2@example.com", basePhone + "2", Employee.Position.VETERINARIAN);
+        Employee employee1 = new Employee(null, "Role1", "Test", "123 Role St", basePhone + "1", baseEmail + "1@example.com", Employee.Position.VETERINARIAN);
+        Employee employee2 = new Employee(null, "Role2", "Test", "456 Role St", basePhone + "2", baseEmail + "2@example.com", Employee.Position.VETERINARIAN);
 
         Optional<Employee> response1 = employeeDAO.createEmployee(employee1);
         Optional<Employee> response2 = employeeDAO.createEmployee(employee2);
@@ -397,6 +397,33 @@ public class EmployeeServiceTest {
         }
     }
 
+    @Test
+    public void testGetAllEmployees_cachedUntilWrite() {
+        ServiceResponse<List<Employee>> first = employeeService.getAllEmployees();
+        ServiceResponse<List<Employee>> second = employeeService.getAllEmployees();
+
+        // The second call is served from the cache
+        assertTrue(second.isSuccess());
+        assertSame(first.getData(), second.getData());
+        assertEquals(1, employeeService.getCacheStats().getMisses());
+        assertEquals(1, employeeService.getCacheStats().getHits());
+
+        // Creating an employee invalidates the cached list
+        Employee employee = new Employee(null, "Cached", "Test", "1 Cache St",
+                "555-" + (1000 + new Random().nextInt(9000)) + "9",
+                "cached." + System.currentTimeMillis() + "@example.com", Employee.Position.RECEPTIONIST);
+        ServiceResponse<Employee> created = employeeService.createEmployee(employee);
+        assertTrue(created.isSuccess());
+
+        try {
+            List<Employee> afterCreate = employeeService.getAllEmployees().getData();
+            assertEquals(first.getData().size() + 1, afterCreate.size());
+            assertEquals(2, employeeService.getCacheStats().getMisses());
+        } finally {
+            employeeService.deleteEmployee(created.getData().getID());
+        }
+    }
+
     // ---------- FIND EMPLOYEES BY ATTRIBUTES TESTS ----------
 
     @Test
@@ -0,0 +1,120 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.mapper.IdentityMap;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that entities loaded inside an IdentityMap unit of work are shared per (table, id).
+ */
+public class IdentityMapTest {
+
+    private static CustomerDAO customerDAO;
+    private static EmployeeDAO employeeDAO;
+    private static PetDAO petDAO;
+    private static AppointmentDAO appointmentDAO;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        Connection connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        customerDAO = new CustomerDAO(connection);
+        employeeDAO = new EmployeeDAO(connection);
+        petDAO = new PetDAO(connection, customerDAO);
+        appointmentDAO = new AppointmentDAO(connection, employeeDAO, petDAO);
+    }
+
+    @AfterEach
+    public void checkScopeClosed() {
+        assertFalse(IdentityMap.isActive(), "Every test must close its unit of work");
+    }
+
+    @Test
+    public void testAppointmentList_sharesProviderInstances() {
+        try (IdentityMap.Scope unitOfWork = IdentityMap.open()) {
+            List<Appointment> appointments = appointmentDAO.findAll();
+
+            Map<Integer, Employee> firstSeen = new HashMap<>();
+            for (Appointment appointment : appointments) {
+                Employee provider = appointment.getProvider();
+                assertSame(firstSeen.computeIfAbsent(provider.getID(), id -> provider), provider);
+            }
+            // The seed data books some providers more than once
+            assertTrue(firstSeen.size() < appointments.size());
+        }
+    }
+
+    @Test
+    public void testFindByID_returnsLoadedInstance() {
+        try (IdentityMap.Scope unitOfWork = IdentityMap.open()) {
+            Pet pet = petDAO.findByID(1).orElseThrow();
+            Customer owner = customerDAO.findByID(pet.getOwner().getID()).orElseThrow();
+
+            assertSame(pet, petDAO.findByID(1).orElseThrow());
+            assertSame(pet.getOwner(), owner);
+        }
+    }
+
+    @Test
+    public void testWithoutUnitOfWork_buildsNewInstances() {
+        Employee first = employeeDAO.findByID(4).orElseThrow();
+        Employee second = employeeDAO.findByID(4).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(first.getEmail(), second.getEmail());
+    }
+
+    @Test
+    public void testNestedScopes_shareOneMap() {
+        try (IdentityMap.Scope outer = IdentityMap.open()) {
+            Employee employee = employeeDAO.findByID(4).orElseThrow();
+
+            try (IdentityMap.Scope inner = IdentityMap.open()) {
+                assertSame(employee, employeeDAO.findByID(4).orElseThrow());
+            }
+
+            // Closing the inner scope keeps the outer unit of work open
+            assertTrue(IdentityMap.isActive());
+            assertSame(employee, employeeDAO.findByID(4).orElseThrow());
+        }
+    }
+
+    @Test
+    public void testWrite_clearsUnitOfWork() {
+        try (IdentityMap.Scope unitOfWork = IdentityMap.open()) {
+            Customer customer = customerDAO.findByID(2).orElseThrow();
+            String originalAddress = customer.getAddress();
+
+            Customer changed = new Customer(customer.getID(), customer.getFirstName(), customer.getLastName(),
+                    "42 Identity Ln", customer.getPhone(), customer.getEmail());
+            assertTrue(customerDAO.update(changed));
+
+            Customer reloaded = customerDAO.findByID(2).orElseThrow();
+            assertNotSame(customer, reloaded);
+            assertEquals("42 Identity Ln", reloaded.getAddress());
+
+            changed.setAddress(originalAddress);
+            assertTrue(customerDAO.update(changed));
+        }
+    }
+}
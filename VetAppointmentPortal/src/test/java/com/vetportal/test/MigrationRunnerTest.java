@@ -0,0 +1,116 @@
+package com.vetportal.test;
+
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.MigrationRunner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for migrating databases written before the migrations existed, on a throwaway database file.
+ */
+public class MigrationRunnerTest {
+
+    private Path dbFile;
+    private Connection connection;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dbFile = Files.createTempFile("vetportal-migration-test", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile);
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        connection.close();
+        Files.deleteIfExists(dbFile);
+    }
+
+    @Test
+    public void testMigrate_seedDataDisplacesNothing() throws SQLException {
+        assertEquals(0, count("SELECT COUNT(*) FROM DisplacedAppointment"));
+    }
+
+    @Test
+    public void testMigrate_keepsFirstOfSlotBookedInTwoTimeForms() throws SQLException {
+        // The scripts only add indexes and rewrite values, so a version 0 database is the same tables
+        // with user_version reset; the two rows below are distinct strings the unique index lets through
+        setSchemaVersion(0);
+        long kept = insertAppointment("2025-06-02", "14:30:00", 7, "CHECKUP", 4);
+        long displaced = insertAppointment("2025-06-02", "14:30", 7, "VACCINATION", 1);
+
+        assertEquals(MigrationRunner.getLatestVersion(), MigrationRunner.migrate(connection));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM Appointment WHERE provider = 7 "
+                + "AND appointment_date = '2025-06-02' AND time = '14:30'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM Appointment WHERE appointment_id = " + kept));
+        assertDisplaced(displaced, kept, 2);
+    }
+
+    @Test
+    public void testMigrate_keepsFirstOfSlotBookedInTwoDateForms() throws SQLException {
+        setSchemaVersion(0);
+        long kept = insertAppointment("2025-06-03", "09:00", 7, "CHECKUP", 4);
+        long displaced = insertAppointment("2025-06-03 00:00:00", "09:00", 7, "DENTAL", 1);
+
+        assertEquals(MigrationRunner.getLatestVersion(), MigrationRunner.migrate(connection));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM Appointment WHERE provider = 7 "
+                + "AND appointment_date = '2025-06-03' AND time = '09:00'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM Appointment WHERE appointment_id = " + kept));
+        assertDisplaced(displaced, kept, 1);
+    }
+
+    private void assertDisplaced(long appointmentId, long keptId, int migration) throws SQLException {
+        assertEquals(0, count("SELECT COUNT(*) FROM Appointment WHERE appointment_id = " + appointmentId));
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT kept_appointment_id, migration "
+                     + "FROM DisplacedAppointment WHERE appointment_id = " + appointmentId)) {
+            assertTrue(rs.next());
+            assertEquals(keptId, rs.getLong("kept_appointment_id"));
+            assertEquals(migration, rs.getInt("migration"));
+        }
+    }
+
+    private void setSchemaVersion(int version) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA user_version = " + version);
+        }
+    }
+
+    private long insertAppointment(String date, String time, int provider, String type, int pet) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO Appointment (appointment_date, time, provider, appointment_type, pet) "
+                        + "VALUES (?, ?, ?, ?, ?) RETURNING appointment_id")) {
+            statement.setString(1, date);
+            statement.setString(2, time);
+            statement.setInt(3, provider);
+            statement.setString(4, type);
+            statement.setInt(5, pet);
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.vetportal.test;
+
+import com.vetportal.dto.Page;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+import com.vetportal.service.AppointmentService;
+import com.vetportal.service.CustomerService;
+import com.vetportal.service.EmployeeService;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks the keyset-paginated listings page by page and checks they return every row exactly once,
+ * in the documented order.
+ */
+public class PaginationTest {
+
+    private static CustomerService customerService;
+    private static EmployeeService employeeService;
+    private static AppointmentService appointmentService;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        Connection connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        ConnectionProvider provider = ConnectionProvider.of(connection);
+        customerService = new CustomerService(provider);
+        employeeService = new EmployeeService(provider);
+        appointmentService = new AppointmentService(provider);
+    }
+
+    @Test
+    public void testCustomerPages_coverAllCustomersInNameOrder() {
+        List<Integer> expected = customerService.getAllCustomers().stream()
+                .sorted(Comparator.comparing(Customer::getLastName)
+                        .thenComparing(Customer::getFirstName)
+                        .thenComparing(Customer::getID))
+                .map(Customer::getID)
+                .collect(Collectors.toList());
+
+        List<Customer> paged = readAllPages(customerService::findCustomersPage, 4);
+
+        assertEquals(expected, paged.stream().map(Customer::getID).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testEmployeePages_coverAllEmployeesInNameOrder() {
+        List<Integer> expected = employeeService.getAllEmployees().getData().stream()
+                .sorted(Comparator.comparing(Employee::getLastName)
+                        .thenComparing(Employee::getFirstName)
+                        .thenComparing(Employee::getID))
+                .map(Employee::getID)
+                .collect(Collectors.toList());
+
+        List<Employee> paged = readAllPages(employeeService::findEmployeesPage, 5);
+
+        assertEquals(expected, paged.stream().map(Employee::getID).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testAppointmentPages_coverAllAppointmentsInScheduleOrder() {
+        List<Integer> expected = appointmentService.getAllAppointments().getData().stream()
+                .sorted(Comparator.comparing(Appointment::getDate)
+                        .thenComparing(Appointment::getTime)
+                        .thenComparing(Appointment::getID))
+                .map(Appointment::getID)
+                .collect(Collectors.toList());
+
+        List<Appointment> paged = readAllPages(appointmentService::findAppointmentsPage, 3);
+
+        assertEquals(expected, paged.stream().map(Appointment::getID).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testLastPage_reportsNoMore() {
+        int total = customerService.getAllCustomers().size();
+
+        Page<Customer> exact = customerService.findCustomersPage(null, total).getData();
+        assertEquals(total, exact.getItems().size());
+        assertFalse(exact.hasMore());
+        assertTrue(customerService.findCustomersPage(exact.getLast(), total).getData().getItems().isEmpty());
+
+        Page<Customer> partial = customerService.findCustomersPage(null, total - 1).getData();
+        assertTrue(partial.hasMore());
+    }
+
+    @Test
+    public void testPageSize_mustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> customerService.findCustomersPage(null, 0));
+    }
+
+    private static <T> List<T> readAllPages(BiFunction<T, Integer, ServiceResponse<Page<T>>> fetch, int pageSize) {
+        List<T> all = new ArrayList<>();
+        T after = null;
+        Page<T> page;
+        do {
+            ServiceResponse<Page<T>> response = fetch.apply(after, pageSize);
+            assertTrue(response.isSuccess(), response.getMessage());
+            page = response.getData();
+            assertTrue(page.getItems().size() <= pageSize);
+            all.addAll(page.getItems());
+            after = page.getLast();
+        } while (page.hasMore());
+        return all;
+    }
+}
@@ -0,0 +1,180 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+import com.vetportal.util.MigrationRunner;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression tests. Each test runs EXPLAIN QUERY PLAN on a query the DAOs issue and
+ * fails if SQLite would scan the table instead of searching one of the indexes added by the migrations.
+ */
+public class QueryPlanTest {
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+    }
+
+    @Test
+    public void testMigrations_areAppliedOnce() throws SQLException {
+        assertEquals(MigrationRunner.getLatestVersion(), MigrationRunner.getSchemaVersion(connection));
+
+        // Running again on an up-to-date database changes nothing
+        assertEquals(MigrationRunner.getLatestVersion(), MigrationRunner.migrate(connection));
+        assertTrue(countRows("SELECT COUNT(*) FROM Appointment") > 0);
+    }
+
+    @Test
+    public void testAppointmentsByDate_usesDateIndex() throws SQLException {
+        // AppointmentDAO.findAllAppointmentsByDate
+        String plan = explain("SELECT * FROM AppointmentDetailView WHERE appointment_date = ? ORDER BY time");
+
+        assertTrue(plan.contains("SEARCH a USING INDEX idx_appointment_date_time"), plan);
+        assertFalse(plan.contains("USE TEMP B-TREE FOR ORDER BY"), plan);
+    }
+
+    @Test
+    public void testAppointmentsByPet_usesPetIndex() throws SQLException {
+        // AppointmentDAO.findAppointmentsByPetId
+        String plan = explain("SELECT * FROM AppointmentDetailView WHERE pet = ?");
+
+        assertTrue(plan.contains("SEARCH a USING INDEX idx_appointment_pet"), plan);
+    }
+
+    @Test
+    public void testAppointmentsByCustomer_joinsThroughOwnerAndPetIndexes() throws SQLException {
+        // AppointmentDAO.findAppointmentsByCustomerId with both date bounds
+        String plan = explain("SELECT * FROM AppointmentDetailView WHERE owner = ? "
+                + "AND appointment_date >= ? AND appointment_date <= ? ORDER BY appointment_date, time, appointment_id");
+
+        assertTrue(plan.contains("SEARCH p USING INDEX idx_pet_owner"), plan);
+        assertTrue(plan.contains("SEARCH a USING INDEX idx_appointment_pet"), plan);
+        assertFalse(plan.contains("SCAN"), plan);
+    }
+
+    @Test
+    public void testAppointmentsByProvider_usesUniqueConstraintIndex() throws SQLException {
+        // AppointmentDAO.findAppointmentsByProviderId
+        String plan = explain("SELECT * FROM AppointmentDetailView WHERE provider = ?");
+
+        assertTrue(plan.contains("SEARCH a USING INDEX sqlite_autoindex_Appointment_1"), plan);
+    }
+
+    @Test
+    public void testProviderSlotCheck_seeksUniqueIndex() throws SQLException {
+        // AppointmentDAO.isProviderSlotTaken
+        String plan = explain("""
+                SELECT 1 FROM Appointment
+                WHERE provider = ? AND appointment_date = ? AND time = ?
+                AND appointment_id != ?
+                LIMIT 1
+                """);
+
+        assertTrue(plan.contains("SEARCH Appointment USING COVERING INDEX sqlite_autoindex_Appointment_1 "
+                + "(provider=? AND appointment_date=? AND time=?)"), plan);
+    }
+
+    @Test
+    public void testBookedTimesInRange_readsOnlyTheUniqueIndex() throws SQLException {
+        // AppointmentDAO.forEachBookedTime, as used by SlotSearchService
+        String plan = explain("SELECT provider, appointment_date, time FROM Appointment "
+                + "WHERE provider IN (?, ?, ?) AND appointment_date BETWEEN ? AND ?");
+
+        assertTrue(plan.contains("SEARCH Appointment USING COVERING INDEX sqlite_autoindex_Appointment_1 "
+                + "(provider=? AND appointment_date>? AND appointment_date<?)"), plan);
+    }
+
+    @Test
+    public void testSeededTimes_areStoredCanonically() throws SQLException {
+        // The seed data writes '14:30:00'; migration 2 rewrites it to the 'HH:MM' form the DAO compares against
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Appointment WHERE length(time) <> 5"));
+
+        AppointmentDAO appointmentDAO = new AppointmentDAO(connection, null, null);
+        assertTrue(appointmentDAO.isProviderSlotTaken(7, LocalDate.of(2025, 5, 10), LocalTime.of(14, 30), null));
+        assertFalse(appointmentDAO.isProviderSlotTaken(7, LocalDate.of(2025, 5, 10), LocalTime.of(14, 45), null));
+    }
+
+    @Test
+    public void testPetsByOwner_usesOwnerIndex() throws SQLException {
+        // PetDAO.findAllPetsByCustomerId
+        String plan = explain("""
+                SELECT p.pet_id, p.pet_name, p.species, p.breed,
+                date(p.birth_date) as birth_date, p.owner,
+                c.customer_id, c.first_name, c.last_name, c.address, c.phone, c.email
+                FROM Pet p
+                JOIN Customer c ON p.owner = c.customer_id
+                WHERE p.owner = ?
+                """);
+
+        assertTrue(plan.contains("SEARCH p USING INDEX idx_pet_owner"), plan);
+    }
+
+    @Test
+    public void testAppointmentPage_seeksDateIndexWithoutSorting() throws SQLException {
+        // AppointmentDAO.findPage after the first page
+        String plan = explain("SELECT * FROM AppointmentDetailView WHERE (appointment_date, time, appointment_id) > (?, ?, ?) "
+                + "ORDER BY appointment_date, time, appointment_id LIMIT ?");
+
+        assertTrue(plan.contains("SEARCH a USING INDEX idx_appointment_date_time"), plan);
+        assertFalse(plan.contains("USE TEMP B-TREE FOR ORDER BY"), plan);
+    }
+
+    @Test
+    public void testCustomerAndEmployeePages_seekNameIndex() throws SQLException {
+        // CustomerDAO.findPage and EmployeeDAO.findPage after the first page
+        String customerPlan = explain("SELECT * FROM Customer WHERE (last_name, first_name, customer_id) > (?, ?, ?) "
+                + "ORDER BY last_name, first_name, customer_id LIMIT ?");
+        String employeePlan = explain("SELECT * FROM Employee WHERE (last_name, first_name, employee_id) > (?, ?, ?) "
+                + "ORDER BY last_name, first_name, employee_id LIMIT ?");
+
+        assertTrue(customerPlan.contains("SEARCH Customer USING INDEX idx_customer_name"), customerPlan);
+        assertFalse(customerPlan.contains("USE TEMP B-TREE"), customerPlan);
+        assertTrue(employeePlan.contains("SEARCH Employee USING INDEX idx_employee_name"), employeePlan);
+        assertFalse(employeePlan.contains("USE TEMP B-TREE"), employeePlan);
+    }
+
+    /**
+     * Returns the detail column of every EXPLAIN QUERY PLAN row, one per line.
+     */
+    private static String explain(String sql) throws SQLException {
+        List<String> details = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            // Bind something to every placeholder so the statement can be planned
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setInt(i, 1);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    details.add(rs.getString("detail"));
+                }
+            }
+        }
+        return String.join("\n", details);
+    }
+
+    private static int countRows(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
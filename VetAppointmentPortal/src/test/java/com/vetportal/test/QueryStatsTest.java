@@ -0,0 +1,171 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.exception.DataAccessException;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.QueryInstrumentation;
+import com.vetportal.util.QueryShapeStats;
+import com.vetportal.util.QueryStats;
+import com.vetportal.util.SlowQuery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the DAO statement instrumentation and the statistics it feeds, on a seeded throwaway database.
+ */
+public class QueryStatsTest {
+
+    private static final String FIND_ALL_CUSTOMERS = "SELECT * FROM Customer";
+
+    private Path dbFile;
+    private ConnectionPool pool;
+    private CustomerDAO customerDAO;
+    private AppointmentDAO appointmentDAO;
+    private QueryStats queryStats;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dbFile = Files.createTempFile("vetportal-querystats-test", ".db");
+        pool = new ConnectionPool("jdbc:sqlite:" + dbFile, 2, 1_000);
+
+        try (Connection writer = pool.getWriteConnection()) {
+            DatabaseInitializer.initializeOnExistingConnection(writer, "database/schema.sql", "database/seed.sql");
+        }
+
+        customerDAO = new CustomerDAO(pool);
+        appointmentDAO = new AppointmentDAO(pool, new EmployeeDAO(pool), new PetDAO(pool, customerDAO));
+        queryStats = new QueryStats();
+        QueryInstrumentation.setListener(queryStats);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        QueryInstrumentation.setListener(null);
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    @Test
+    public void testQuery_countsExecutionsAndRows() {
+        List<Customer> customers = customerDAO.findAll();
+        customerDAO.findAll();
+
+        QueryShapeStats stats = queryStats.getShape(FIND_ALL_CUSTOMERS).orElseThrow();
+        assertEquals(2, stats.getCount());
+        assertEquals(2L * customers.size(), stats.getRows());
+        assertEquals(0, stats.getFailures());
+        assertTrue(stats.getTotalMillis() > 0);
+        assertTrue(stats.getP50Millis() <= stats.getMaxMillis());
+    }
+
+    @Test
+    public void testQuery_partlyReadStreamIsRecordedWhenClosed() {
+        try (Stream<Appointment> appointments = appointmentDAO.streamAll(1)) {
+            assertEquals(2, appointments.limit(2).count());
+            assertTrue(queryStats.getShapes().isEmpty());
+        }
+
+        List<QueryShapeStats> shapes = queryStats.getShapes();
+        assertEquals(1, shapes.size());
+        assertEquals(1, shapes.get(0).getCount());
+        assertTrue(shapes.get(0).getRows() >= 2);
+    }
+
+    @Test
+    public void testWrite_countsRowsChanged() {
+        Customer customer = customerDAO.findByID(1).orElseThrow();
+        assertTrue(customerDAO.update(customer));
+        customer.setID(999);
+        assertFalse(customerDAO.update(customer));
+
+        QueryShapeStats update = queryStats.getShapes().stream()
+                .filter(s -> s.getShape().startsWith("UPDATE Customer"))
+                .findFirst().orElseThrow();
+        assertEquals(2, update.getCount());
+        assertEquals(1, update.getRows());
+    }
+
+    @Test
+    public void testWrite_countsFailures() {
+        Customer existing = customerDAO.findByID(1).orElseThrow();
+        Customer duplicate = new Customer(null, "Dup", "Licate", "1 Copy Ln", existing.getPhone(), "dup@example.com");
+
+        assertThrows(DataAccessException.class, () -> customerDAO.create(duplicate));
+
+        QueryShapeStats insert = queryStats.getShapes().stream()
+                .filter(s -> s.getShape().startsWith("INSERT INTO Customer"))
+                .findFirst().orElseThrow();
+        assertEquals(1, insert.getFailures());
+    }
+
+    @Test
+    public void testNoListener_nothingRecorded() {
+        QueryInstrumentation.setListener(null);
+
+        customerDAO.findAll();
+
+        assertTrue(queryStats.getShapes().isEmpty());
+    }
+
+    @Test
+    public void testPercentiles_withinBucketPrecision() {
+        QueryStats stats = new QueryStats(Long.MAX_VALUE / 1_000_000, 10, null);
+        // 1 ms to 1000 ms, one of each
+        for (int i = 1; i <= 1000; i++) {
+            stats.queryExecuted("SELECT 1", i * 1_000_000L, 1, false);
+        }
+
+        QueryShapeStats shape = stats.getShape("SELECT 1").orElseThrow();
+        assertEquals(1000, shape.getCount());
+        assertEquals(500, shape.getP50Millis(), 500 * 0.04);
+        assertEquals(900, shape.getP90Millis(), 900 * 0.04);
+        assertEquals(990, shape.getP99Millis(), 990 * 0.04);
+        assertEquals(1000, shape.getMaxMillis(), 0.001);
+        assertEquals(500.5, shape.getAverageMillis(), 0.001);
+    }
+
+    @Test
+    public void testSlowQueries_keepsMostRecentAndNotifiesHandler() {
+        List<SlowQuery> handled = new ArrayList<>();
+        QueryStats stats = new QueryStats(10, 2, handled::add);
+
+        stats.queryExecuted("SELECT a", 20_000_000, 1, false);
+        stats.queryExecuted("SELECT fast", 1_000_000, 1, false);
+        stats.queryExecuted("SELECT b", 30_000_000, 2, false);
+        stats.queryExecuted("SELECT c", 40_000_000, 3, true);
+
+        assertEquals(3, stats.getSlowQueryCount());
+        assertEquals(3, handled.size());
+        List<SlowQuery> kept = stats.getSlowQueries();
+        assertEquals(List.of("SELECT c", "SELECT b"), kept.stream().map(SlowQuery::getSql).toList());
+        assertTrue(kept.get(0).isFailed());
+        assertEquals(40.0, kept.get(0).getElapsedMillis(), 0.001);
+    }
+
+    @Test
+    public void testShapeOf_groupsFormattingAndPlaceholderLists() {
+        assertEquals("SELECT * FROM Appointment WHERE provider IN (?, ...) AND appointment_date BETWEEN ? AND ?",
+                QueryStats.shapeOf("SELECT * FROM Appointment\n   WHERE provider IN (?, ?,?) AND appointment_date BETWEEN ? AND ?"));
+        assertEquals(QueryStats.shapeOf("SELECT * FROM Pet WHERE pet_id IN (?, ?)"),
+                QueryStats.shapeOf("SELECT * FROM Pet WHERE pet_id IN (?, ?, ?, ?)"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.vetportal.test;
+
+import com.vetportal.util.CacheStats;
+import com.vetportal.util.ReferenceCache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReferenceCacheTest {
+
+    @Test
+    public void testGet_loadsOnceThenHits() {
+        ReferenceCache<String, String> cache = new ReferenceCache<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("value", cache.get("key", () -> {
+            loads.incrementAndGet();
+            return "value";
+        }));
+        assertEquals("value", cache.get("key", () -> "reloaded"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testFullCache_evictsLeastRecentlyUsed() {
+        ReferenceCache<String, Integer> cache = new ReferenceCache<>(2, 60_000);
+        cache.get("a", () -> 1);
+        cache.get("b", () -> 2);
+        cache.get("a", () -> -1); // touch "a" so "b" is the least recently used
+        cache.get("c", () -> 3);
+
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(1, cache.get("a", () -> -1));
+        assertEquals(20, cache.get("b", () -> 20)); // "b" was evicted, so this reloads
+    }
+
+    @Test
+    public void testExpiredEntry_isReloaded() throws InterruptedException {
+        ReferenceCache<String, String> cache = new ReferenceCache<>(4, 20);
+        cache.get("key", () -> "old");
+        Thread.sleep(50);
+
+        assertEquals("new", cache.get("key", () -> "new"));
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    public void testInvalidateAll_dropsEverything() {
+        ReferenceCache<String, String> cache = new ReferenceCache<>();
+        cache.get("a", () -> "1");
+        cache.get("b", () -> "2");
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getInvalidations());
+        assertEquals("fresh", cache.get("a", () -> "fresh"));
+    }
+
+    @Test
+    public void testLoadOverlappingInvalidation_isNotStored() {
+        ReferenceCache<String, String> cache = new ReferenceCache<>();
+
+        String value = cache.get("key", () -> {
+            // A write invalidates the cache while this load is still running
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    public void testFailedLoad_isNotCached() {
+        ReferenceCache<String, String> cache = new ReferenceCache<>();
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key", () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertEquals("loaded", cache.get("key", () -> "loaded"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.dto.LookupStatus;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.model.SlotGrid;
+import com.vetportal.service.AppointmentService;
+import com.vetportal.service.CustomerService;
+import com.vetportal.service.EmployeeService;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the schedule index stays in step with the Appointment table as appointments are
+ * created, moved and deleted, and that it answers repeat lookups without loading the day again.
+ */
+public class ScheduleIndexTest {
+
+    private static Connection connection;
+    private static ScheduleIndex scheduleIndex;
+    private static AppointmentService appointmentService;
+    private static CustomerService customerService;
+
+    private static Employee vet;
+    private static Pet pet;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        ConnectionProvider provider = ConnectionProvider.of(connection);
+        scheduleIndex = new ScheduleIndex(provider);
+        appointmentService = new AppointmentService(provider, scheduleIndex);
+        customerService = new CustomerService(provider, scheduleIndex);
+
+        // Employee 7 is a veterinarian in the seed data; customer 1 owns at least one pet
+        vet = new EmployeeService(provider).findEmployeeByID(7).getData();
+        pet = customerService.findPetsByCustomerId(1).getData().get(0);
+    }
+
+    @BeforeEach
+    public void resetIndex() {
+        scheduleIndex.invalidateAll();
+    }
+
+    @Test
+    public void testDayLoadedOnceThenServedFromMemory() {
+        LocalDate date = LocalDate.of(2025, 5, 10);
+        long loads = scheduleIndex.getLoadCount();
+
+        assertTrue(appointmentService.isProviderSlotTaken(7, date, LocalTime.of(14, 30), null));
+        assertFalse(appointmentService.isProviderSlotTaken(7, date, LocalTime.of(15, 0), null));
+        assertEquals(1, scheduleIndex.getLoadCount() - loads);
+
+        List<LocalTime> free = appointmentService.findFreeSlots(7, date, SlotGrid.DEFAULT).getData();
+        assertFalse(free.contains(LocalTime.of(14, 30)));
+        assertEquals(SlotGrid.DEFAULT.getSlotCount() - 1, free.size());
+        assertEquals(1, scheduleIndex.size());
+    }
+
+    @Test
+    public void testCreateUpdateDeleteKeepIndexCurrent() {
+        LocalDate date = LocalDate.of(2031, 3, 3);
+        LocalTime nine = LocalTime.of(9, 0);
+        LocalTime eleven = LocalTime.of(11, 0);
+
+        // Load the empty day first so every later change has to be applied to a held entry
+        assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, nine, null));
+
+        Appointment appointment = new Appointment(null, date, nine, vet, AppointmentType.CHECKUP, pet, pet.getOwner());
+        assertTrue(appointmentService.createAppointment(appointment).isSuccess());
+        int id = appointment.getID();
+
+        try {
+            assertTrue(appointmentService.isProviderSlotTaken(vet.getID(), date, nine, null));
+            assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, nine, id));
+
+            // A second booking at the same time is rejected from the index
+            Appointment clash = new Appointment(null, date, nine, vet, AppointmentType.SURGERY, pet, pet.getOwner());
+            assertEquals(LookupStatus.CONFLICT, appointmentService.createAppointment(clash).getStatus());
+
+            appointment.setTime(eleven);
+            assertTrue(appointmentService.updateAppointment(appointment).isSuccess());
+            assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, nine, null));
+            assertTrue(appointmentService.isProviderSlotTaken(vet.getID(), date, eleven, null));
+
+            assertTrue(scheduleIndex.verifyAgainstDatabase().isEmpty());
+        } finally {
+            assertTrue(appointmentService.deleteAppointment(id).isSuccess());
+        }
+
+        assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, eleven, null));
+        assertTrue(scheduleIndex.verifyAgainstDatabase().isEmpty());
+    }
+
+    @Test
+    public void testVerifyDetectsWritesMadeBehindTheIndex() throws Exception {
+        LocalDate date = LocalDate.of(2031, 3, 4);
+        LocalTime ten = LocalTime.of(10, 0);
+
+        assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, ten, null));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO Appointment (appointment_date, time, provider, appointment_type, pet) "
+                    + "VALUES ('2031-03-04', '10:00', " + vet.getID() + ", 'CHECKUP', " + pet.getID() + ")");
+        }
+
+        try {
+            // Still answered from the stale day until the check drops it
+            assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, ten, null));
+
+            List<String> mismatches = scheduleIndex.verifyAgainstDatabase();
+            assertEquals(1, mismatches.size());
+            assertTrue(appointmentService.isProviderSlotTaken(vet.getID(), date, ten, null));
+            assertTrue(scheduleIndex.verifyAgainstDatabase().isEmpty());
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM Appointment WHERE appointment_date = '2031-03-04'");
+            }
+            scheduleIndex.invalidateAll();
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDayEvicted() {
+        ScheduleIndex small = new ScheduleIndex(ConnectionProvider.of(connection), 2);
+        LocalTime noon = LocalTime.of(12, 0);
+
+        small.isTaken(7, LocalDate.of(2031, 1, 1), noon, null);
+        small.isTaken(7, LocalDate.of(2031, 1, 2), noon, null);
+        small.isTaken(7, LocalDate.of(2031, 1, 1), noon, null);
+        small.isTaken(7, LocalDate.of(2031, 1, 3), noon, null);
+
+        assertEquals(2, small.size());
+        assertEquals(3, small.getLoadCount());
+
+        // Day 2 was the least recently used, so it is loaded again
+        small.isTaken(7, LocalDate.of(2031, 1, 2), noon, null);
+        assertEquals(4, small.getLoadCount());
+    }
+}
@@ -0,0 +1,121 @@
+package com.vetportal.test;
+
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.AvailableSlot;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.model.SlotGrid;
+import com.vetportal.service.AppointmentService;
+import com.vetportal.service.CustomerService;
+import com.vetportal.service.EmployeeService;
+import com.vetportal.service.SlotSearchService;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotSearchServiceTest {
+
+    // Far enough ahead that no other test books anything on these days
+    private static final LocalDate SEARCH_DAY = LocalDate.of(2032, 2, 2);
+
+    private static SlotSearchService slotSearchService;
+    private static AppointmentService appointmentService;
+    private static EmployeeService employeeService;
+    private static Pet pet;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        Connection connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        employeeService = new EmployeeService(connection);
+        appointmentService = new AppointmentService(connection);
+        slotSearchService = new SlotSearchService(ConnectionProvider.of(connection), employeeService);
+        pet = new CustomerService(connection).findPetsByCustomerId(1).getData().get(0);
+    }
+
+    @Test
+    public void testSurgery_onlyVeterinarians() {
+        ServiceResponse<List<AvailableSlot>> response =
+                slotSearchService.findNextAvailable(AppointmentType.SURGERY, SEARCH_DAY.atTime(8, 0), 50);
+
+        assertTrue(response.isSuccess());
+        assertEquals(50, response.getData().size());
+        response.getData().forEach(slot ->
+                assertEquals(Employee.Position.VETERINARIAN, slot.getProvider().getRole()));
+    }
+
+    @Test
+    public void testVaccination_includesEveryoneTheRuleAllows() {
+        ServiceResponse<List<AvailableSlot>> response =
+                slotSearchService.findNextAvailable(AppointmentType.VACCINATION, SEARCH_DAY.atTime(8, 0), 100);
+
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().stream()
+                .anyMatch(slot -> slot.getProvider().getRole() == Employee.Position.VET_TECH));
+    }
+
+    @Test
+    public void testResults_earliestFirstAndSkipBookedSlot() {
+        List<Employee> vets = employeeService.findEmployeesByRole(Employee.Position.VETERINARIAN).getData();
+        Employee firstVet = vets.stream().min((a, b) -> a.getID() - b.getID()).orElseThrow();
+
+        Appointment booked = new Appointment(null, SEARCH_DAY, LocalTime.of(8, 0), firstVet,
+                AppointmentType.CHECKUP, pet, pet.getOwner());
+        assertTrue(appointmentService.createAppointment(booked).isSuccess());
+
+        try {
+            List<AvailableSlot> slots = slotSearchService.findNextAvailable(AppointmentType.CHECKUP,
+                    SEARCH_DAY.atTime(8, 0), SEARCH_DAY, vets.size(), SlotGrid.DEFAULT).getData();
+
+            // Every other vet is free at 08:00; the booked vet's first free slot comes after them
+            assertEquals(vets.size(), slots.size());
+            for (int i = 0; i < vets.size() - 1; i++) {
+                assertEquals(LocalTime.of(8, 0), slots.get(i).getTime());
+                assertNotEquals(firstVet.getID(), slots.get(i).getProvider().getID());
+            }
+            AvailableSlot last = slots.get(vets.size() - 1);
+            assertEquals(LocalTime.of(8, 30), last.getTime());
+            assertEquals(firstVet.getID(), last.getProvider().getID());
+        } finally {
+            assertTrue(appointmentService.deleteAppointment(booked.getID()).isSuccess());
+        }
+    }
+
+    @Test
+    public void testStartTime_skipsEarlierSlotsAndRollsToNextDay() {
+        int vetCount = employeeService.findEmployeesByRole(Employee.Position.VETERINARIAN).getData().size();
+        LocalDateTime lateAfternoon = SEARCH_DAY.atTime(17, 15);
+
+        // Only the 17:30 slot is left on the first day, so every vet appears there once before the next morning
+        List<AvailableSlot> slots = slotSearchService.findNextAvailable(AppointmentType.SURGERY,
+                lateAfternoon, SEARCH_DAY.plusDays(1), vetCount + 1, SlotGrid.DEFAULT).getData();
+
+        assertEquals(vetCount + 1, slots.size());
+        assertEquals(LocalTime.of(17, 30), slots.get(0).getTime());
+        assertEquals(LocalTime.of(17, 30), slots.get(vetCount - 1).getTime());
+        assertEquals(SEARCH_DAY.plusDays(1), slots.get(vetCount).getDate());
+        assertEquals(LocalTime.of(8, 0), slots.get(vetCount).getTime());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> slotSearchService.findNextAvailable(
+                AppointmentType.CHECKUP, SEARCH_DAY.atStartOfDay(), 0));
+        assertThrows(IllegalArgumentException.class, () -> slotSearchService.findNextAvailable(
+                AppointmentType.CHECKUP, SEARCH_DAY.atStartOfDay(), SEARCH_DAY.minusDays(1), 1, SlotGrid.DEFAULT));
+    }
+}
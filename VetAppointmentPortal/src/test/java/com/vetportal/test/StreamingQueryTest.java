@@ -0,0 +1,128 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.AppointmentDAO;
+import com.vetportal.dao.CustomerDAO;
+import com.vetportal.dao.EmployeeDAO;
+import com.vetportal.dao.PetDAO;
+import com.vetportal.mapper.IdentityMap;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.Customer;
+import com.vetportal.service.AppointmentService;
+import com.vetportal.util.ConnectionPool;
+import com.vetportal.util.DatabaseInitializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming query methods on a seeded throwaway database behind a ConnectionPool,
+ * so it can be checked that a stream holds its read connection until it is closed.
+ */
+public class StreamingQueryTest {
+
+    private Path dbFile;
+    private ConnectionPool pool;
+    private CustomerDAO customerDAO;
+    private AppointmentDAO appointmentDAO;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dbFile = Files.createTempFile("vetportal-stream-test", ".db");
+        pool = new ConnectionPool("jdbc:sqlite:" + dbFile, 2, 200);
+
+        try (Connection writer = pool.getWriteConnection()) {
+            DatabaseInitializer.initializeOnExistingConnection(writer, "database/schema.sql", "database/seed.sql");
+        }
+
+        customerDAO = new CustomerDAO(pool);
+        appointmentDAO = new AppointmentDAO(pool, new EmployeeDAO(pool), new PetDAO(pool, customerDAO));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(Path.of(dbFile + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile + "-shm"));
+    }
+
+    @Test
+    public void testStreamAll_matchesFindAll() {
+        List<Integer> expected = appointmentDAO.findAll().stream().map(Appointment::getID).collect(Collectors.toList());
+
+        List<Integer> streamed;
+        try (Stream<Appointment> appointments = appointmentDAO.streamAll(2)) {
+            streamed = appointments.map(Appointment::getID).collect(Collectors.toList());
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    public void testStream_holdsReadConnectionUntilClosed() {
+        Stream<Customer> customers = customerDAO.streamAll();
+        try {
+            // Only the first row is read; the rest of the result set is still open
+            assertTrue(customers.findFirst().isPresent());
+            assertEquals(1, pool.getMetrics().getActiveReaders());
+        } finally {
+            customers.close();
+        }
+
+        assertEquals(0, pool.getMetrics().getActiveReaders());
+    }
+
+    @Test
+    public void testStreamAllByAttributes_filters() {
+        List<Customer> matches = new ArrayList<>();
+        try (Stream<Customer> customers = customerDAO.streamAllByAttributes(Map.of("phone", "555-0001"))) {
+            customers.forEach(matches::add);
+        }
+
+        assertEquals(1, matches.size());
+        assertEquals("Alice", matches.get(0).getFirstName());
+        assertEquals(0, pool.getMetrics().getActiveReaders());
+    }
+
+    @Test
+    public void testForEachAppointment_countsEveryRow() {
+        AppointmentService appointmentService = new AppointmentService(pool);
+        int total = appointmentService.getAllAppointments().getData().size();
+
+        List<Appointment> seen = new ArrayList<>();
+        assertEquals(total, appointmentService.forEachAppointment(seen::add).getData());
+        assertEquals(total, seen.size());
+        assertEquals(0, pool.getMetrics().getActiveReaders());
+    }
+
+    @Test
+    public void testForEachAppointment_keepsNoUnitOfWorkOpen() {
+        AppointmentService appointmentService = new AppointmentService(pool);
+
+        // An export must not hold every provider, pet and owner it has seen until it ends
+        List<Boolean> active = new ArrayList<>();
+        appointmentService.forEachAppointment(appointment -> active.add(IdentityMap.isActive()));
+
+        assertFalse(active.isEmpty());
+        assertFalse(active.contains(true));
+    }
+
+    @Test
+    public void testStreamAll_rejectsFetchSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> customerDAO.streamAll(0));
+        assertEquals(0, pool.getMetrics().getActiveReaders());
+    }
+}
@@ -0,0 +1,168 @@
+package com.vetportal.test;
+
+import com.vetportal.dao.ScheduleIndex;
+import com.vetportal.dto.LookupStatus;
+import com.vetportal.dto.ServiceResponse;
+import com.vetportal.model.Appointment;
+import com.vetportal.model.AppointmentType;
+import com.vetportal.model.Customer;
+import com.vetportal.model.Employee;
+import com.vetportal.model.Pet;
+import com.vetportal.service.AppointmentService;
+import com.vetportal.service.CustomerService;
+import com.vetportal.service.EmployeeService;
+import com.vetportal.service.TransactionTemplate;
+import com.vetportal.util.ConnectionProvider;
+import com.vetportal.util.DatabaseInitializer;
+import com.vetportal.util.DbManager;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that customer, pet and appointment writes grouped by a TransactionTemplate are committed
+ * together or rolled back together, the way the new appointment form saves them.
+ */
+public class TransactionTemplateTest {
+
+    private static Connection connection;
+    private static ScheduleIndex scheduleIndex;
+    private static TransactionTemplate transactionTemplate;
+    private static CustomerService customerService;
+    private static AppointmentService appointmentService;
+    private static Employee vet;
+    private static Employee receptionist;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        connection = DbManager.getConnection();
+        DatabaseInitializer.initializeOnExistingConnection(connection, "database/schema.sql", "database/seed.sql");
+
+        ConnectionProvider provider = ConnectionProvider.of(connection);
+        scheduleIndex = new ScheduleIndex(provider);
+        transactionTemplate = new TransactionTemplate(provider, scheduleIndex);
+        customerService = new CustomerService(provider, scheduleIndex);
+        appointmentService = new AppointmentService(provider, scheduleIndex);
+
+        // Employee 7 is a veterinarian and employee 1 a receptionist in the seed data
+        EmployeeService employeeService = new EmployeeService(provider);
+        vet = employeeService.findEmployeeByID(7).getData();
+        receptionist = employeeService.findEmployeeByID(1).getData();
+    }
+
+    @Test
+    public void testAllStepsCommitTogether() throws Exception {
+        LocalDate date = LocalDate.of(2033, 2, 1);
+
+        ServiceResponse<Appointment> response = transactionTemplate.executeResponse(status ->
+                bookNewCustomer("commit@tx.test", vet, AppointmentType.CHECKUP, date));
+
+        try {
+            assertTrue(response.isSuccess());
+            assertTrue(connection.getAutoCommit());
+            assertEquals(1, countRows("SELECT COUNT(*) FROM Customer WHERE email = 'commit@tx.test'"));
+            assertEquals(1, countRows("SELECT COUNT(*) FROM Appointment WHERE appointment_date = '2033-02-01'"));
+        } finally {
+            // Deleting the customer cascades to the pet and appointment
+            assertTrue(customerService.deleteCustomer(response.getData().getPet().getOwner().getID()));
+        }
+    }
+
+    @Test
+    public void testFailedLastStepRollsBackEarlierSteps() throws Exception {
+        LocalDate date = LocalDate.of(2033, 2, 2);
+
+        // A receptionist cannot perform surgery, so the appointment step fails after the customer and pet were written
+        ServiceResponse<Appointment> response = transactionTemplate.executeResponse(status ->
+                bookNewCustomer("rollback@tx.test", receptionist, AppointmentType.SURGERY, date));
+
+        assertEquals(LookupStatus.CONFLICT, response.getStatus());
+        assertTrue(connection.getAutoCommit());
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Customer WHERE email = 'rollback@tx.test'"));
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Pet WHERE pet_name = 'Rollback'"));
+    }
+
+    @Test
+    public void testExceptionRollsBackAndIsRethrown() throws Exception {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.execute(status -> {
+            customerService.createCustomer(newCustomer("thrown@tx.test"));
+            throw new IllegalStateException("step failed");
+        }));
+
+        assertTrue(connection.getAutoCommit());
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Customer WHERE email = 'thrown@tx.test'"));
+    }
+
+    @Test
+    public void testNestedCallJoinsAndRollsBackOuterTransaction() throws Exception {
+        transactionTemplate.execute(outer -> {
+            customerService.createCustomer(newCustomer("outer@tx.test"));
+            transactionTemplate.execute(inner -> {
+                customerService.createCustomer(newCustomer("inner@tx.test"));
+                inner.setRollbackOnly();
+                return null;
+            });
+            assertTrue(outer.isRollbackOnly());
+            return null;
+        });
+
+        assertEquals(0, countRows("SELECT COUNT(*) FROM Customer WHERE email LIKE '%@tx.test'"));
+    }
+
+    @Test
+    public void testRollbackClearsScheduleIndex() {
+        LocalDate date = LocalDate.of(2033, 2, 3);
+        LocalTime nine = LocalTime.of(9, 0);
+
+        transactionTemplate.execute(status -> {
+            ServiceResponse<Appointment> response = bookNewCustomer("index@tx.test", vet, AppointmentType.CHECKUP, date);
+            assertTrue(response.isSuccess());
+            assertTrue(appointmentService.isProviderSlotTaken(vet.getID(), date, nine, null));
+            status.setRollbackOnly();
+            return response;
+        });
+
+        // The index recorded the booking inside the transaction; it must not outlive the rollback
+        assertFalse(appointmentService.isProviderSlotTaken(vet.getID(), date, nine, null));
+        assertTrue(scheduleIndex.verifyAgainstDatabase().isEmpty());
+    }
+
+    // The three steps of the new appointment form: customer, then pet, then appointment
+    private static ServiceResponse<Appointment> bookNewCustomer(String email, Employee provider,
+                                                                AppointmentType type, LocalDate date) {
+        ServiceResponse<Customer> customer = customerService.createCustomer(newCustomer(email));
+        if (!customer.isSuccess()) {
+            return ServiceResponse.dbError(customer.getMessage());
+        }
+
+        String petName = email.substring(0, 1).toUpperCase() + email.substring(1, email.indexOf('@'));
+        ServiceResponse<Pet> pet = customerService.createPet(
+                new Pet(null, petName, "Dog", "Beagle", LocalDate.of(2020, 1, 1), customer.getData()));
+        if (!pet.isSuccess()) {
+            return ServiceResponse.dbError(pet.getMessage());
+        }
+
+        return appointmentService.createAppointment(new Appointment(null, date, LocalTime.of(9, 0), provider,
+                type, pet.getData(), customer.getData()));
+    }
+
+    private static Customer newCustomer(String email) {
+        return new Customer(null, "Tx", "Customer", "1 Commit St", null, email);
+    }
+
+    private static int countRows(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}